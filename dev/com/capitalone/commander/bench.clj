@@ -0,0 +1,51 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.bench
+  "Small timing helpers shared by the benchmarks in
+  com.capitalone.commander.bench.*, meant to be run from the REPL
+  against the dev supporting services."
+  (:import [java.lang.management ManagementFactory]))
+
+(set! *warn-on-reflection* true)
+
+(defn median
+  [xs]
+  (let [xs (vec (sort xs))]
+    (when (seq xs)
+      (nth xs (quot (count xs) 2)))))
+
+(defn time-ms
+  "Calls f warmup times, then runs more times, and returns a map
+  of :median, :min and :max wall-clock milliseconds per call."
+  ([f] (time-ms f 3 10))
+  ([f warmup runs]
+   (dotimes [_ warmup] (f))
+   (let [samples (vec (for [_ (range runs)]
+                        (let [start (System/nanoTime)]
+                          (f)
+                          (/ (- (System/nanoTime) start) 1e6))))]
+     {:median (median samples)
+      :min    (apply min samples)
+      :max    (apply max samples)})))
+
+(defn allocated-bytes
+  "Returns the number of bytes allocated so far by the calling thread."
+  ^long []
+  (.getThreadAllocatedBytes ^com.sun.management.ThreadMXBean (ManagementFactory/getThreadMXBean)
+                            (.getId (Thread/currentThread))))
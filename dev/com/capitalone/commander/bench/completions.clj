@@ -0,0 +1,110 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.bench.completions
+  "Compares matching completion events to waiting sync commands via a
+  core.async pub (one topic per waiter) and via the completions
+  registry, with n waiters in flight at once.  Needs no supporting
+  services:
+
+    (require '[com.capitalone.commander.bench.completions :as c])
+    (c/run)
+
+  Every waiter is registered before any event arrives, and each
+  completion event is interleaved with `unmatched` events nobody is
+  waiting for."
+  (:require [clojure.pprint :as pprint]
+            [clojure.core.async :as a]
+            [com.stuartsierra.component :as component]
+            [com.capitalone.commander.completions :as completions])
+  (:import [java.util UUID]))
+
+(set! *warn-on-reflection* true)
+
+(defn- events
+  "Returns a shuffled vector of event records: one completing each of
+  ids, and unmatched more per id with random parents."
+  [ids unmatched]
+  (shuffle (into (mapv (fn [id] {:key (UUID/randomUUID) :value {:parent id}}) ids)
+                 (repeatedly (* unmatched (count ids))
+                             (fn [] {:key (UUID/randomUUID) :value {:parent (UUID/randomUUID)}})))))
+
+(defn- elapsed-ms
+  [start]
+  (/ (- (System/nanoTime) start) 1e6))
+
+(defn- await-all
+  [chs]
+  (doseq [ch chs]
+    (a/<!! ch)))
+
+(defn- run-pub
+  [ids evs timeout-ms]
+  (let [in    (a/chan 1)
+        pub   (a/pub in (comp :parent :value))
+        start (System/nanoTime)
+        chs   (mapv (fn [id]
+                      (let [ch (a/promise-chan)]
+                        (a/sub pub id ch)
+                        ch))
+                    ids)
+        reg   (elapsed-ms start)
+        start (System/nanoTime)]
+    (a/onto-chan in evs false)
+    (await-all chs)
+    (let [done (elapsed-ms start)]
+      (doseq [[id ch] (map vector ids chs)]
+        (a/unsub pub id ch))
+      (a/close! in)
+      {:register-ms reg :complete-ms done})))
+
+(defn- run-registry
+  [ids evs timeout-ms]
+  (let [registry (component/start (completions/construct-completions))
+        in       (a/chan 1 (completions/complete-xf registry (comp :parent :value)))
+        start    (System/nanoTime)
+        chs      (mapv #(completions/register! registry % timeout-ms) ids)
+        reg      (elapsed-ms start)
+        start    (System/nanoTime)]
+    (a/go-loop []
+      (when (a/<! in) (recur)))
+    (a/onto-chan in evs)
+    (await-all chs)
+    (let [done (elapsed-ms start)]
+      (component/stop registry)
+      {:register-ms reg :complete-ms done})))
+
+(defn run
+  "Prints the time to register n waiters and to complete all of them,
+  for the pub and the registry, over runs runs each."
+  ([] (run 50000 1 3))
+  ([n unmatched runs]
+   (let [timeout-ms 60000]
+     (pprint/print-table
+      (for [[impl f] [[:pub run-pub] [:registry run-registry]]
+            run      (range runs)]
+        (let [ids (vec (repeatedly n #(UUID/randomUUID)))
+              evs (events ids unmatched)
+              {:keys [register-ms complete-ms]} (f ids evs timeout-ms)]
+          {:impl         impl
+           :run          run
+           :waiters      n
+           :events       (count evs)
+           :register-ms  register-ms
+           :complete-ms  complete-ms
+           :us-per-event (/ (* 1000 complete-ms) (count evs))}))))))
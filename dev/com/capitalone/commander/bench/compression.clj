@@ -0,0 +1,224 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.bench.compression
+  "Measures compressed size, throughput and per-batch latency of each
+  producer compression codec for command payloads.  Needs no
+  supporting services:
+
+    (require '[com.capitalone.commander.bench.compression :as c])
+    (c/run)
+
+  Synthetic commands of our payload shapes are sent through a
+  MockProducer and serialized with each of serializers: the
+  producer's default, and with key caching.  Their values are then
+  packed into record batches of batch.size bytes the
+  way the producer's accumulator does, once per codec, and the batches
+  read back the way a consumer does.
+
+  To measure real traffic instead, capture values from a topic to a
+  file and replay it:
+
+    (c/capture! \"localhost:9092\" \"commands\" 100000 \"commands.bin\")
+    (c/run-file \"commands.bin\")"
+  (:require [clojure.core.async :as a]
+            [clojure.java.io :as io]
+            [clojure.pprint :as pprint]
+            [com.stuartsierra.component :as component]
+            [com.capitalone.commander.bench :as bench]
+            [com.capitalone.commander.kafka :as k])
+  (:import [java.io DataInputStream DataOutputStream EOFException]
+           [java.nio ByteBuffer]
+           [java.util UUID]
+           [org.apache.kafka.clients.consumer ConsumerRecord KafkaConsumer]
+           [org.apache.kafka.clients.producer MockProducer ProducerRecord]
+           [org.apache.kafka.common.record CompressionType MemoryRecords]
+           [org.apache.kafka.common.serialization ByteArrayDeserializer Serializer]))
+
+(set! *warn-on-reflection* true)
+
+(def codecs ["none" "gzip" "snappy" "lz4"])
+
+(defn- customer-command
+  []
+  {:action    :create-customer
+   :data      {:customer-id (UUID/randomUUID)
+               :first-name  (rand-nth ["Ann" "Bo" "Carmen" "Dev"])
+               :last-name   (rand-nth ["Lee" "Okafor" "Smith" "Varga"])
+               :email       (str "user" (rand-int 100000) "@example.com")
+               :age         (+ 18 (rand-int 60))}
+   :timestamp (System/currentTimeMillis)})
+
+(defn- order-command
+  []
+  {:action    :create-order
+   :data      {:order-id    (UUID/randomUUID)
+               :customer-id (UUID/randomUUID)
+               :items       (vec (for [i (range (inc (rand-int 20)))]
+                                   {:sku      (str "sku-" (rand-int 5000))
+                                    :name     (str "item " i)
+                                    :quantity (inc (rand-int 5))
+                                    :price    (/ (rand-int 10000) 100.0)}))}
+   :timestamp (System/currentTimeMillis)})
+
+(def serializers
+  "The serializer configs compared by run: the producer's default, and
+  key caching (KAFKA_CACHE_KEYS)."
+  [["default"    {:cache-keys? false}]
+   ["cache-keys" {:cache-keys? true}]])
+
+(defn synthetic-records
+  "Sends n commands, a mix of our payload shapes, through a
+  MockProducer, and returns the records it was sent."
+  [n]
+  (let [producer (component/start (k/mock-producer))]
+    (try
+      (doseq [i (range n)]
+        (a/<!! (k/send! producer {:topic "commands"
+                                  :key   (UUID/randomUUID)
+                                  :value (if (even? i) (customer-command) (order-command))})))
+      (vec (.history ^MockProducer (:producer producer)))
+      (finally
+        (component/stop producer)))))
+
+(defn synthetic-payloads
+  "Returns the values of records serialized with a FressianSerializer
+  of serializer-config."
+  [records serializer-config]
+  (let [serializer (k/->FressianSerializer serializer-config)]
+    (mapv (fn [^ProducerRecord r]
+            (.serialize ^Serializer serializer (.topic r) (.value r)))
+          records)))
+
+(defn write-payloads!
+  "Writes payloads (byte arrays) to file, each prefixed with its
+  length."
+  [file payloads]
+  (with-open [out (DataOutputStream. (io/output-stream file))]
+    (doseq [^bytes p payloads]
+      (.writeInt out (alength p))
+      (.write out p))))
+
+(defn read-payloads
+  "Returns the payloads written to file by write-payloads!"
+  [file]
+  (with-open [in (DataInputStream. (io/input-stream file))]
+    (loop [payloads (transient [])]
+      (let [n (try (.readInt in) (catch EOFException _ -1))]
+        (if (neg? n)
+          (persistent! payloads)
+          (let [p (byte-array n)]
+            (.readFully in p)
+            (recur (conj! payloads p))))))))
+
+(defn capture!
+  "Copies the raw values of up to n records from topic (read from the
+  beginning) to file, for run-file."
+  [servers topic n file]
+  (with-open [consumer (let [^java.util.Map config {"bootstrap.servers"  servers
+                                                    "group.id"           (str "commander-capture-" (UUID/randomUUID))
+                                                    "auto.offset.reset"  "earliest"
+                                                    "enable.auto.commit" false}]
+                         (KafkaConsumer. config (ByteArrayDeserializer.) (ByteArrayDeserializer.)))]
+    (.subscribe consumer [topic])
+    (loop [payloads []]
+      (let [records (.poll consumer 5000)]
+        (if (or (.isEmpty records) (>= (count payloads) n))
+          (do (write-payloads! file (take n payloads))
+              (min n (count payloads)))
+          (recur (into payloads (map #(.value ^ConsumerRecord %)) records)))))))
+
+(defn- batches
+  "Packs payloads into record batches of batch-size bytes compressed
+  with codec, and returns a vector of [batch nanos-to-build]."
+  [payloads ^CompressionType codec batch-size]
+  (loop [payloads payloads
+         batches  []]
+    (if (empty? payloads)
+      batches
+      (let [start   (System/nanoTime)
+            records (MemoryRecords/emptyRecords (ByteBuffer/allocate batch-size) codec batch-size)
+            rest    (loop [[^bytes p & more :as ps] payloads
+                           offset                   0]
+                      (if (and p (or (zero? offset) (.hasRoomFor records nil p)))
+                        (do (.append records offset (System/currentTimeMillis) nil p)
+                            (recur more (inc offset)))
+                        ps))]
+        (.close records)
+        (recur rest (conj batches [records (- (System/nanoTime) start)]))))))
+
+(defn- read-batch-nanos
+  "Returns the nanoseconds taken to read back every record of batch."
+  [^MemoryRecords batch]
+  (let [start (System/nanoTime)]
+    (dorun (iterator-seq (.iterator (MemoryRecords/readableRecords (.buffer batch)))))
+    (- (System/nanoTime) start)))
+
+(defn- measure
+  [payloads codec-name batch-size]
+  (let [codec        (CompressionType/forName codec-name)
+        _            (batches payloads codec batch-size)
+        built        (batches payloads codec batch-size)
+        read-nanos   (mapv (comp read-batch-nanos first) built)
+        build-nanos  (mapv second built)
+        in-bytes     (reduce + (map #(alength ^bytes %) payloads))
+        out-bytes    (reduce + (map #(.sizeInBytes ^MemoryRecords (first %)) built))
+        total-secs   (/ (reduce + build-nanos) 1e9)]
+    {:codec              codec-name
+     :records            (count payloads)
+     :batches            (count built)
+     :payload-bytes      in-bytes
+     :batch-bytes        out-bytes
+     :ratio              (double (/ out-bytes in-bytes))
+     :records-per-second (long (/ (count payloads) total-secs))
+     :mb-per-second      (/ in-bytes total-secs 1024 1024)
+     :batch-us-median    (/ (bench/median build-nanos) 1000.0)
+     :batch-us-max       (/ (apply max build-nanos) 1000.0)
+     :read-us-median     (/ (bench/median read-nanos) 1000.0)}))
+
+(defn- print-measurements
+  [rows]
+  (pprint/print-table [:serializer :codec :records :payload-bytes :batches :batch-bytes :ratio
+                       :records-per-second :mb-per-second
+                       :batch-us-median :batch-us-max :read-us-median]
+                      rows))
+
+(defn run-payloads
+  "Prints measurements for each codec over payloads, in batches of
+  batch-size bytes (the producer's batch.size, 16384 by default)."
+  ([payloads] (run-payloads payloads 16384))
+  ([payloads batch-size]
+   (print-measurements (for [codec codecs]
+                         (measure payloads codec batch-size)))))
+
+(defn run
+  "Measures each codec over n synthetic commands, serialized with each
+  of serializers, in batches of batch-size bytes."
+  ([] (run 20000))
+  ([n] (run n 16384))
+  ([n batch-size]
+   (let [records (synthetic-records n)]
+     (print-measurements (for [[label config] serializers
+                               :let [payloads (synthetic-payloads records config)]
+                               codec codecs]
+                           (assoc (measure payloads codec batch-size) :serializer label))))))
+
+(defn run-file
+  "Measures each codec over the payloads captured in file."
+  ([file] (run-payloads (read-payloads file)))
+  ([file batch-size] (run-payloads (read-payloads file) batch-size)))
@@ -0,0 +1,80 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.bench.decoding
+  "Compares allocation and time per consumed record for eager Fressian
+  decoding and lazy, routing-only decoding of record values.  Needs no
+  supporting services:
+
+    (require '[com.capitalone.commander.bench.decoding :as d])
+    (d/run)
+
+  :eager decodes each value in full, as the FressianDeserializer does.
+  :lazy-routing reads only :action and :parent, as sync command
+  completion does; :lazy-full also reads :data, as a stream
+  subscriber does."
+  (:require [clojure.pprint :as pprint]
+            [clojure.data.fressian :as fressian]
+            [com.capitalone.commander.bench :as bench]
+            [com.capitalone.commander.codec :as codec]
+            [com.capitalone.commander.util :as util])
+  (:import [java.util UUID]))
+
+(set! *warn-on-reflection* true)
+
+(defn- synthetic-value
+  "Returns an encoded event value whose :data holds n entries."
+  [n]
+  (util/buf->bytes
+   (fressian/write {:action    :bench-event
+                    :parent    (UUID/randomUUID)
+                    :data      (into {} (map (fn [i] [(keyword (str "field-" i))
+                                                      {:n i :label (str "value " i) :ok true}]))
+                                     (range n))
+                    :timestamp (System/currentTimeMillis)}
+                   :footer? true)))
+
+(def ^:private modes
+  {:eager        (fn [bs] (let [v (fressian/read bs)] [(:action v) (:parent v)]))
+   :lazy-routing (fn [bs] (let [v (codec/lazy-value bs)] [(:action v) (:parent v)]))
+   :lazy-full    (fn [bs] (let [v (codec/lazy-value bs)] [(:action v) (:parent v) (:data v)]))})
+
+(defn- decode-all
+  [f values]
+  (run! f values))
+
+(defn run
+  "Prints bytes allocated and microseconds spent per record for each
+  mode, decoding records values of each size (number of :data
+  entries)."
+  ([] (run 10000 [1 10 100]))
+  ([records sizes]
+   (pprint/print-table
+    (for [size  sizes
+          :let  [values (vec (repeatedly records #(synthetic-value size)))]
+          [mode f] (sort-by key modes)]
+      (let [_       (decode-all f values)
+            before  (bench/allocated-bytes)
+            _       (decode-all f values)
+            alloc   (- (bench/allocated-bytes) before)
+            {:keys [median]} (bench/time-ms #(decode-all f values))]
+        {:mode             mode
+         :data-entries     size
+         :value-bytes      (quot (reduce + (map #(alength ^bytes %) values)) records)
+         :bytes-per-record (quot alloc records)
+         :us-per-record    (/ (* 1000 median) records)})))))
@@ -0,0 +1,91 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.bench.encoding
+  "Compares size, throughput and allocation per record of
+  fressian/write (plus the copy into a byte array) and codec/encode,
+  with and without key caching, for command values of typical sizes
+  and shapes.  Needs no supporting services:
+
+    (require '[com.capitalone.commander.bench.encoding :as e])
+    (e/run)"
+  (:require [clojure.pprint :as pprint]
+            [clojure.data.fressian :as fressian]
+            [com.capitalone.commander.bench :as bench]
+            [com.capitalone.commander.codec :as codec]
+            [com.capitalone.commander.util :as util])
+  (:import [java.util UUID]))
+
+(set! *warn-on-reflection* true)
+
+(defn- flat-data
+  "Returns command data of n distinct fields."
+  [n]
+  (into {} (map (fn [i] [(keyword (str "field-" i))
+                         (str "value " i " " (UUID/randomUUID))]))
+        (range n)))
+
+(defn- line-items-data
+  "Returns command data holding n line items with the same keys."
+  [n]
+  {:customer-id (UUID/randomUUID)
+   :items       (vec (for [i (range n)]
+                       {:sku      (str "sku-" i)
+                        :name     (str "item " i)
+                        :quantity i
+                        :price    9.99}))})
+
+(defn- command-value
+  "Returns a command value whose plain encoding is at least size
+  bytes, with data of the given shape (:flat or :line-items)."
+  [shape size]
+  (loop [n 1]
+    (let [v {:action    :bench-command
+             :data      ((case shape :flat flat-data :line-items line-items-data) n)
+             :timestamp (System/currentTimeMillis)}]
+      (if (< (alength (codec/encode v)) size)
+        (recur (inc n))
+        v))))
+
+(def ^:private encoders
+  {:fressian-write    (fn [v] (util/buf->bytes (fressian/write v :footer? true)))
+   :codec-encode      codec/encode
+   :codec-cached-keys #(codec/encode % {:cache-keys? true})})
+
+(defn run
+  "Prints encoded size, records per second and bytes allocated per
+  record for each encoder, encoding records values of each shape and
+  size in bytes."
+  ([] (run 10000 [200 2048 51200]))
+  ([records sizes]
+   (pprint/print-table
+    (for [shape         [:flat :line-items]
+          size          sizes
+          :let          [v (command-value shape size)]
+          [encoder f]   (sort-by key encoders)]
+      (let [encode-all #(dotimes [_ records] (f v))
+            _          (encode-all)
+            before     (bench/allocated-bytes)
+            _          (encode-all)
+            alloc      (- (bench/allocated-bytes) before)
+            {:keys [median]} (bench/time-ms encode-all)]
+        {:shape              shape
+         :encoder            encoder
+         :value-bytes        (alength ^bytes (f v))
+         :records-per-second (long (/ records (/ median 1000)))
+         :bytes-per-record   (quot alloc records)})))))
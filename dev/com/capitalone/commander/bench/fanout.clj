@@ -0,0 +1,90 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+(ns com.capitalone.commander.bench.fanout
+  "Compares the time to deliver events to many stream subscribers when
+  each subscriber converts and encodes every event itself, and when
+  each encoding is shared by all subscribers (fanout/memoized), for
+  the SSE (JSON) and gRPC (protobuf) formats.  Needs no supporting
+  services:
+
+    (require '[com.capitalone.commander.bench.fanout :as f])
+    (f/run)"
+  (:require [clojure.core.async :as a]
+            [clojure.pprint :as pprint]
+            [cheshire.core :as json]
+            [com.capitalone.commander.bench :as bench]
+            [com.capitalone.commander.api :as api]
+            [com.capitalone.commander.fanout :as fanout]
+            [com.capitalone.commander.grpc :as grpc])
+  (:import [java.util UUID]))
+
+(set! *warn-on-reflection* true)
+
+(defn- event-record
+  [i]
+  {:topic     "events"
+   :partition 0
+   :offset    i
+   :key       (UUID/randomUUID)
+   :timestamp (System/currentTimeMillis)
+   :value     {:action :customer-created
+               :parent (UUID/randomUUID)
+               :data   {:first_name "Foo"
+                        :last_name  "Bar"
+                        :address    {:street_number "1234"
+                                     :street_name   "Main St."
+                                     :city          "Anytown"
+                                     :state         "NH"
+                                     :zip           "03755"}
+                        :tags       ["new" "web" "promo"]}}})
+
+(def encoders
+  {:json-per-subscriber  #(json/generate-string (api/event-map %))
+   :json-shared          #(-> (fanout/memoized % ::map api/event-map)
+                              (fanout/memoized ::json json/generate-string))
+   :proto-per-subscriber #(grpc/event->proto (api/event-map %))
+   :proto-shared         #(-> (fanout/memoized % ::map api/event-map)
+                              (fanout/memoized ::proto grpc/event->proto))})
+
+(defn- deliver!
+  "Fans records out to n subscribers, each encoding them with encode,
+  and returns once every subscriber has taken every record."
+  [records n encode]
+  (let [src  (a/chan)
+        fo   (fanout/fanout src {:buffer-size (count records)})
+        done (mapv (fn [_]
+                     (a/reduce (fn [c _] (inc c)) 0
+                               (fanout/subscribe! fo (a/chan 64) {:xf (map encode)})))
+                   (range n))]
+    (a/<!! (a/onto-chan src records))
+    (run! a/<!! done)))
+
+(defn run
+  "Prints the median milliseconds to deliver each of record-count
+  events to each number of subscribers, per encoder."
+  ([] (run [10 100 500] 200))
+  ([subscriber-counts record-count]
+   (let [records (mapv event-record (range record-count))]
+     (pprint/print-table
+      (for [n subscriber-counts
+            [k encode] encoders]
+        (let [{:keys [median]} (bench/time-ms #(deliver! records n encode) 2 5)]
+          {:subscribers n
+           :encoder     k
+           :ms          (format "%.1f" median)
+           :us-per-send (format "%.2f" (/ (* 1000 median) (* n record-count)))}))))))
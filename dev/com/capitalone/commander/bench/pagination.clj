@@ -0,0 +1,79 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.bench.pagination
+  "Compares page latency of OFFSET and cursor (keyset) pagination as
+  page depth grows.  Run from the REPL against a migrated database:
+
+    (require '[com.capitalone.commander.bench.pagination :as p])
+    (def db (component/start (database/construct-jdbc-db (:database rest-config))))
+    (p/seed! db 1000000)
+    (p/run db)
+
+  Cursor latency should stay flat from page 1 to page 100,000 while
+  OFFSET latency grows with depth."
+  (:require [clojure.pprint :as pprint]
+            [clj-uuid :as uuid]
+            [com.capitalone.commander.bench :as bench]
+            [com.capitalone.commander.database :as d]))
+
+(set! *warn-on-reflection* true)
+
+(defn- synthetic-command
+  [n]
+  {:id        (uuid/v1)
+   :action    :bench-command
+   :data      {:n n :payload "benchmark"}
+   :timestamp n
+   :topic     "bench-commands"
+   :partition 0
+   :offset    n})
+
+(defn seed!
+  "Inserts n synthetic commands into database, batch-size at a time."
+  ([database n] (seed! database n 1000))
+  ([database n batch-size]
+   (doseq [batch (partition-all batch-size (range n))]
+     (d/insert-commands! database (mapv synthetic-command batch)))))
+
+(defn- cursor-before-page
+  "Returns the cursor that positions a page of size limit at page
+  number page (1-based), found via a single untimed OFFSET query."
+  [database limit page]
+  (when (> page 1)
+    (-> (d/fetch-commands database 1 (dec (* (dec page) limit)) nil :none)
+        :commands
+        first
+        d/encode-cursor)))
+
+(defn run
+  "Prints median/min/max latency of fetching a page of size limit at
+  each depth in pages, via OFFSET and via cursor."
+  ([database] (run database 10 [1 10 100 1000 10000 100000]))
+  ([database limit pages]
+   (pprint/print-table
+    (for [page pages]
+      (let [offset (* (dec page) limit)
+            cursor (cursor-before-page database limit page)
+            by-off (bench/time-ms #(d/fetch-commands database limit offset nil :none))
+            by-cur (bench/time-ms #(d/fetch-commands database limit 0 cursor :none))]
+        {:page          page
+         :offset-median (:median by-off)
+         :offset-max    (:max by-off)
+         :cursor-median (:median by-cur)
+         :cursor-max    (:max by-cur)})))))
@@ -0,0 +1,138 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.bench.query-plans
+  "Seeds the commander table with synthetic commands and events, then
+  records EXPLAIN ANALYZE plans and timings for the queries
+  JdbcDatabase runs.  Run from the REPL against a migrated database:
+
+    (require '[com.capitalone.commander.bench.query-plans :as qp])
+    (def db (component/start (database/construct-jdbc-db (:database rest-config))))
+    (qp/seed! db 5)                       ; 5 million rows
+    (qp/run db \"query-plans-indexed.edn\")
+
+  Roll back the index migration and run again to see whether each
+  index pays off."
+  (:require [clojure.data.fressian :as fressian]
+            [clojure.java.jdbc :as j]
+            [clojure.pprint :as pprint]
+            [clojure.string :as string]
+            [com.capitalone.commander.database :as d]
+            [com.capitalone.commander.util :as util]))
+
+(set! *warn-on-reflection* true)
+
+(def ^:private command-columns
+  "id, action, data, timestamp, topic, partition, \"offset\"")
+
+(def ^:private event-columns
+  "id, parent, action, data, timestamp, topic, partition, \"offset\"")
+
+(defn seed!
+  "Inserts millions (in millions of rows) of synthetic rows into the
+  commander table, one command for every events-per-command events,
+  spread across partitions partitions, then ANALYZEs the table.
+  Rows are generated server-side and are not counted in
+  commander_partitions."
+  ([database millions] (seed! database millions 4 8))
+  ([database millions events-per-command partitions]
+   (let [n        (long (* millions 1000000))
+         commands (quot n (inc events-per-command))
+         data     (util/buf->bytes (fressian/write {:payload "benchmark"} :footer? true))]
+     (j/execute! database
+                 ["INSERT INTO commander (id, command, action, data, timestamp, topic, partition, \"offset\")
+                   SELECT md5('bench-command-' || g)::uuid, true, 'bench-command', ?, g,
+                          'bench-commands', g % ?, g / ?
+                   FROM generate_series(1, ?) AS g"
+                  data partitions partitions commands])
+     (j/execute! database
+                 ["INSERT INTO commander (id, parent, command, action, data, timestamp, topic, partition, \"offset\")
+                   SELECT md5('bench-event-' || g)::uuid,
+                          md5('bench-command-' || (1 + (g - 1) / ?))::uuid,
+                          false, 'bench-event', ?, g,
+                          'bench-events', g % ?, g / ?
+                   FROM generate_series(1, ?) AS g"
+                  events-per-command data partitions partitions (* commands events-per-command)])
+     (j/execute! database ["ANALYZE commander"] {:transaction? false}))))
+
+(defn- middle-row
+  [database command?]
+  (first (j/query database
+                  [(str "SELECT id, parent, timestamp, topic, partition FROM commander"
+                        " WHERE command = " command?
+                        " AND timestamp >= (SELECT (min(timestamp) + max(timestamp)) / 2"
+                        " FROM commander WHERE command = " command? ")"
+                        " ORDER BY timestamp ASC, id ASC LIMIT 1")])))
+
+(defn queries
+  "Returns a map of name to query vector for every query JdbcDatabase
+  runs, with parameters drawn from the rows in the middle of the
+  seeded data."
+  [database]
+  (let [page-query (var-get #'d/page-query)
+        command    (middle-row database true)
+        event      (middle-row database false)]
+    {:commands-first-page      (page-query command-columns true 20 0 nil)
+     :commands-deep-offset     (page-query command-columns true 20 100000 nil)
+     :commands-deep-cursor     (page-query command-columns true 20 0 (d/encode-cursor command))
+     :events-first-page        (page-query event-columns false 20 0 nil)
+     :events-deep-offset       (page-query event-columns false 20 100000 nil)
+     :events-deep-cursor       (page-query event-columns false 20 0 (d/encode-cursor event))
+     :command-by-id            [(str "SELECT " command-columns " FROM commander WHERE command = true AND id = ?")
+                                (:id command)]
+     :event-by-id              [(str "SELECT " event-columns " FROM commander WHERE command = false AND id = ?")
+                                (:id event)]
+     :events-by-parent         ["SELECT id FROM commander WHERE parent = ?" (:parent event)]
+     :latest-partition-offset  ["SELECT \"offset\" FROM commander_partitions WHERE topic = ? AND partition = ?"
+                                (:topic event) (:partition event)]
+     :exact-total              ["SELECT coalesce(sum(total), 0)::bigint AS total FROM commander_partitions WHERE command = ?"
+                                false]}))
+
+(defn explain-analyze
+  "Runs query under EXPLAIN ANALYZE, returning a map of the :plan
+  lines, the top-most scan :node, and the :execution-ms."
+  [database query]
+  (let [plan (j/query database
+                      (update query 0 #(str "EXPLAIN ANALYZE " %))
+                      {:row-fn (comp first vals)})]
+    {:plan         plan
+     :node         (some->> plan
+                            (some #(re-find #"[\w ]*Scan[^(]*" %))
+                            string/trim)
+     :execution-ms (some->> plan
+                            (some #(re-find #"(?i)execution time: ([\d.]+) ms" %))
+                            second
+                            Double/parseDouble)}))
+
+(defn run
+  "Prints the plan node and median execution time (over runs
+  executions) of every query, returning the results.  If out is given,
+  also writes the results, including full plans, to that file as edn."
+  ([database] (run database nil))
+  ([database out] (run database out 5))
+  ([database out runs]
+   (let [results (for [[k query] (sort-by key (queries database))]
+                   (let [samples (repeatedly runs #(explain-analyze database query))]
+                     {:query        k
+                      :node         (:node (first samples))
+                      :execution-ms (nth (sort (map :execution-ms samples)) (quot runs 2))
+                      :plan         (:plan (first samples))}))]
+     (pprint/print-table [:query :node :execution-ms] results)
+     (when out
+       (spit out (with-out-str (pprint/pprint (vec results)))))
+     results)))
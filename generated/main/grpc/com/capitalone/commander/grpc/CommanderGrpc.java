@@ -64,6 +64,15 @@ public class CommanderGrpc {
           io.grpc.protobuf.ProtoUtils.marshaller(com.capitalone.commander.grpc.CommanderProtos.PagingInfo.getDefaultInstance()),
           io.grpc.protobuf.ProtoUtils.marshaller(com.capitalone.commander.grpc.CommanderProtos.PagedCommands.getDefaultInstance()));
   @io.grpc.ExperimentalApi("https://github.com/grpc/grpc-java/issues/1901")
+  public static final io.grpc.MethodDescriptor<com.capitalone.commander.grpc.CommanderProtos.PagingInfo,
+      com.capitalone.commander.grpc.CommanderProtos.Command> METHOD_LIST_ALL_COMMANDS =
+      io.grpc.MethodDescriptor.create(
+          io.grpc.MethodDescriptor.MethodType.SERVER_STREAMING,
+          generateFullMethodName(
+              "commander.Commander", "ListAllCommands"),
+          io.grpc.protobuf.ProtoUtils.marshaller(com.capitalone.commander.grpc.CommanderProtos.PagingInfo.getDefaultInstance()),
+          io.grpc.protobuf.ProtoUtils.marshaller(com.capitalone.commander.grpc.CommanderProtos.Command.getDefaultInstance()));
+  @io.grpc.ExperimentalApi("https://github.com/grpc/grpc-java/issues/1901")
   public static final io.grpc.MethodDescriptor<com.capitalone.commander.grpc.CommanderProtos.UUID,
       com.capitalone.commander.grpc.CommanderProtos.Command> METHOD_COMMAND_BY_ID =
       io.grpc.MethodDescriptor.create(
@@ -91,6 +100,15 @@ public class CommanderGrpc {
           io.grpc.protobuf.ProtoUtils.marshaller(com.capitalone.commander.grpc.CommanderProtos.PagingInfo.getDefaultInstance()),
           io.grpc.protobuf.ProtoUtils.marshaller(com.capitalone.commander.grpc.CommanderProtos.PagedEvents.getDefaultInstance()));
   @io.grpc.ExperimentalApi("https://github.com/grpc/grpc-java/issues/1901")
+  public static final io.grpc.MethodDescriptor<com.capitalone.commander.grpc.CommanderProtos.PagingInfo,
+      com.capitalone.commander.grpc.CommanderProtos.Event> METHOD_LIST_ALL_EVENTS =
+      io.grpc.MethodDescriptor.create(
+          io.grpc.MethodDescriptor.MethodType.SERVER_STREAMING,
+          generateFullMethodName(
+              "commander.Commander", "ListAllEvents"),
+          io.grpc.protobuf.ProtoUtils.marshaller(com.capitalone.commander.grpc.CommanderProtos.PagingInfo.getDefaultInstance()),
+          io.grpc.protobuf.ProtoUtils.marshaller(com.capitalone.commander.grpc.CommanderProtos.Event.getDefaultInstance()));
+  @io.grpc.ExperimentalApi("https://github.com/grpc/grpc-java/issues/1901")
   public static final io.grpc.MethodDescriptor<com.capitalone.commander.grpc.CommanderProtos.UUID,
       com.capitalone.commander.grpc.CommanderProtos.Event> METHOD_EVENT_BY_ID =
       io.grpc.MethodDescriptor.create(
@@ -150,6 +168,13 @@ public class CommanderGrpc {
       asyncUnimplementedUnaryCall(METHOD_LIST_COMMANDS, responseObserver);
     }
 
+    /**
+     */
+    public void listAllCommands(com.capitalone.commander.grpc.CommanderProtos.PagingInfo request,
+        io.grpc.stub.StreamObserver<com.capitalone.commander.grpc.CommanderProtos.Command> responseObserver) {
+      asyncUnimplementedUnaryCall(METHOD_LIST_ALL_COMMANDS, responseObserver);
+    }
+
     /**
      */
     public void commandById(com.capitalone.commander.grpc.CommanderProtos.UUID request,
@@ -171,6 +196,13 @@ public class CommanderGrpc {
       asyncUnimplementedUnaryCall(METHOD_LIST_EVENTS, responseObserver);
     }
 
+    /**
+     */
+    public void listAllEvents(com.capitalone.commander.grpc.CommanderProtos.PagingInfo request,
+        io.grpc.stub.StreamObserver<com.capitalone.commander.grpc.CommanderProtos.Event> responseObserver) {
+      asyncUnimplementedUnaryCall(METHOD_LIST_ALL_EVENTS, responseObserver);
+    }
+
     /**
      */
     public void eventById(com.capitalone.commander.grpc.CommanderProtos.UUID request,
@@ -201,6 +233,13 @@ public class CommanderGrpc {
                 com.capitalone.commander.grpc.CommanderProtos.PagingInfo,
                 com.capitalone.commander.grpc.CommanderProtos.PagedCommands>(
                   this, METHODID_LIST_COMMANDS)))
+          .addMethod(
+            METHOD_LIST_ALL_COMMANDS,
+            asyncServerStreamingCall(
+              new MethodHandlers<
+                com.capitalone.commander.grpc.CommanderProtos.PagingInfo,
+                com.capitalone.commander.grpc.CommanderProtos.Command>(
+                  this, METHODID_LIST_ALL_COMMANDS)))
           .addMethod(
             METHOD_COMMAND_BY_ID,
             asyncUnaryCall(
@@ -222,6 +261,13 @@ public class CommanderGrpc {
                 com.capitalone.commander.grpc.CommanderProtos.PagingInfo,
                 com.capitalone.commander.grpc.CommanderProtos.PagedEvents>(
                   this, METHODID_LIST_EVENTS)))
+          .addMethod(
+            METHOD_LIST_ALL_EVENTS,
+            asyncServerStreamingCall(
+              new MethodHandlers<
+                com.capitalone.commander.grpc.CommanderProtos.PagingInfo,
+                com.capitalone.commander.grpc.CommanderProtos.Event>(
+                  this, METHODID_LIST_ALL_EVENTS)))
           .addMethod(
             METHOD_EVENT_BY_ID,
             asyncUnaryCall(
@@ -274,6 +320,14 @@ public class CommanderGrpc {
           getChannel().newCall(METHOD_LIST_COMMANDS, getCallOptions()), request, responseObserver);
     }
 
+    /**
+     */
+    public void listAllCommands(com.capitalone.commander.grpc.CommanderProtos.PagingInfo request,
+        io.grpc.stub.StreamObserver<com.capitalone.commander.grpc.CommanderProtos.Command> responseObserver) {
+      asyncServerStreamingCall(
+          getChannel().newCall(METHOD_LIST_ALL_COMMANDS, getCallOptions()), request, responseObserver);
+    }
+
     /**
      */
     public void commandById(com.capitalone.commander.grpc.CommanderProtos.UUID request,
@@ -298,6 +352,14 @@ public class CommanderGrpc {
           getChannel().newCall(METHOD_LIST_EVENTS, getCallOptions()), request, responseObserver);
     }
 
+    /**
+     */
+    public void listAllEvents(com.capitalone.commander.grpc.CommanderProtos.PagingInfo request,
+        io.grpc.stub.StreamObserver<com.capitalone.commander.grpc.CommanderProtos.Event> responseObserver) {
+      asyncServerStreamingCall(
+          getChannel().newCall(METHOD_LIST_ALL_EVENTS, getCallOptions()), request, responseObserver);
+    }
+
     /**
      */
     public void eventById(com.capitalone.commander.grpc.CommanderProtos.UUID request,
@@ -347,6 +409,14 @@ public class CommanderGrpc {
           getChannel(), METHOD_LIST_COMMANDS, getCallOptions(), request);
     }
 
+    /**
+     */
+    public java.util.Iterator<com.capitalone.commander.grpc.CommanderProtos.Command> listAllCommands(
+        com.capitalone.commander.grpc.CommanderProtos.PagingInfo request) {
+      return blockingServerStreamingCall(
+          getChannel(), METHOD_LIST_ALL_COMMANDS, getCallOptions(), request);
+    }
+
     /**
      */
     public com.capitalone.commander.grpc.CommanderProtos.Command commandById(com.capitalone.commander.grpc.CommanderProtos.UUID request) {
@@ -369,6 +439,14 @@ public class CommanderGrpc {
           getChannel(), METHOD_LIST_EVENTS, getCallOptions(), request);
     }
 
+    /**
+     */
+    public java.util.Iterator<com.capitalone.commander.grpc.CommanderProtos.Event> listAllEvents(
+        com.capitalone.commander.grpc.CommanderProtos.PagingInfo request) {
+      return blockingServerStreamingCall(
+          getChannel(), METHOD_LIST_ALL_EVENTS, getCallOptions(), request);
+    }
+
     /**
      */
     public com.capitalone.commander.grpc.CommanderProtos.Event eventById(com.capitalone.commander.grpc.CommanderProtos.UUID request) {
@@ -446,11 +524,13 @@ public class CommanderGrpc {
 
   private static final int METHODID_CREATE_COMMAND = 0;
   private static final int METHODID_LIST_COMMANDS = 1;
-  private static final int METHODID_COMMAND_BY_ID = 2;
-  private static final int METHODID_COMMAND_STREAM = 3;
-  private static final int METHODID_LIST_EVENTS = 4;
-  private static final int METHODID_EVENT_BY_ID = 5;
-  private static final int METHODID_EVENT_STREAM = 6;
+  private static final int METHODID_LIST_ALL_COMMANDS = 2;
+  private static final int METHODID_COMMAND_BY_ID = 3;
+  private static final int METHODID_COMMAND_STREAM = 4;
+  private static final int METHODID_LIST_EVENTS = 5;
+  private static final int METHODID_LIST_ALL_EVENTS = 6;
+  private static final int METHODID_EVENT_BY_ID = 7;
+  private static final int METHODID_EVENT_STREAM = 8;
 
   private static class MethodHandlers<Req, Resp> implements
       io.grpc.stub.ServerCalls.UnaryMethod<Req, Resp>,
@@ -477,6 +557,10 @@ public class CommanderGrpc {
           serviceImpl.listCommands((com.capitalone.commander.grpc.CommanderProtos.PagingInfo) request,
               (io.grpc.stub.StreamObserver<com.capitalone.commander.grpc.CommanderProtos.PagedCommands>) responseObserver);
           break;
+        case METHODID_LIST_ALL_COMMANDS:
+          serviceImpl.listAllCommands((com.capitalone.commander.grpc.CommanderProtos.PagingInfo) request,
+              (io.grpc.stub.StreamObserver<com.capitalone.commander.grpc.CommanderProtos.Command>) responseObserver);
+          break;
         case METHODID_COMMAND_BY_ID:
           serviceImpl.commandById((com.capitalone.commander.grpc.CommanderProtos.UUID) request,
               (io.grpc.stub.StreamObserver<com.capitalone.commander.grpc.CommanderProtos.Command>) responseObserver);
@@ -489,6 +573,10 @@ public class CommanderGrpc {
           serviceImpl.listEvents((com.capitalone.commander.grpc.CommanderProtos.PagingInfo) request,
               (io.grpc.stub.StreamObserver<com.capitalone.commander.grpc.CommanderProtos.PagedEvents>) responseObserver);
           break;
+        case METHODID_LIST_ALL_EVENTS:
+          serviceImpl.listAllEvents((com.capitalone.commander.grpc.CommanderProtos.PagingInfo) request,
+              (io.grpc.stub.StreamObserver<com.capitalone.commander.grpc.CommanderProtos.Event>) responseObserver);
+          break;
         case METHODID_EVENT_BY_ID:
           serviceImpl.eventById((com.capitalone.commander.grpc.CommanderProtos.UUID) request,
               (io.grpc.stub.StreamObserver<com.capitalone.commander.grpc.CommanderProtos.Event>) responseObserver);
@@ -517,9 +605,11 @@ public class CommanderGrpc {
     return new io.grpc.ServiceDescriptor(SERVICE_NAME,
         METHOD_CREATE_COMMAND,
         METHOD_LIST_COMMANDS,
+        METHOD_LIST_ALL_COMMANDS,
         METHOD_COMMAND_BY_ID,
         METHOD_COMMAND_STREAM,
         METHOD_LIST_EVENTS,
+        METHOD_LIST_ALL_EVENTS,
         METHOD_EVENT_BY_ID,
         METHOD_EVENT_STREAM);
   }
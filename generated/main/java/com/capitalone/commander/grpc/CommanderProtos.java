@@ -32,6 +32,113 @@ public final class CommanderProtos {
     registerAllExtensions(
         (com.google.protobuf.ExtensionRegistryLite) registry);
   }
+  /**
+   * Protobuf enum {@code commander.TotalMode}
+   */
+  public enum TotalMode
+      implements com.google.protobuf.ProtocolMessageEnum {
+    /**
+     * <code>EXACT = 0;</code>
+     */
+    EXACT(0),
+    /**
+     * <code>APPROXIMATE = 1;</code>
+     */
+    APPROXIMATE(1),
+    /**
+     * <code>NONE = 2;</code>
+     */
+    NONE(2),
+    UNRECOGNIZED(-1),
+    ;
+
+    /**
+     * <code>EXACT = 0;</code>
+     */
+    public static final int EXACT_VALUE = 0;
+    /**
+     * <code>APPROXIMATE = 1;</code>
+     */
+    public static final int APPROXIMATE_VALUE = 1;
+    /**
+     * <code>NONE = 2;</code>
+     */
+    public static final int NONE_VALUE = 2;
+
+
+    public final int getNumber() {
+      if (this == UNRECOGNIZED) {
+        throw new java.lang.IllegalArgumentException(
+            "Can't get the number of an unknown enum value.");
+      }
+      return value;
+    }
+
+    /**
+     * @deprecated Use {@link #forNumber(int)} instead.
+     */
+    @java.lang.Deprecated
+    public static TotalMode valueOf(int value) {
+      return forNumber(value);
+    }
+
+    public static TotalMode forNumber(int value) {
+      switch (value) {
+        case 0: return EXACT;
+        case 1: return APPROXIMATE;
+        case 2: return NONE;
+        default: return null;
+      }
+    }
+
+    public static com.google.protobuf.Internal.EnumLiteMap<TotalMode>
+        internalGetValueMap() {
+      return internalValueMap;
+    }
+    private static final com.google.protobuf.Internal.EnumLiteMap<
+        TotalMode> internalValueMap =
+          new com.google.protobuf.Internal.EnumLiteMap<TotalMode>() {
+            public TotalMode findValueByNumber(int number) {
+              return TotalMode.forNumber(number);
+            }
+          };
+
+    public final com.google.protobuf.Descriptors.EnumValueDescriptor
+        getValueDescriptor() {
+      return getDescriptor().getValues().get(ordinal());
+    }
+    public final com.google.protobuf.Descriptors.EnumDescriptor
+        getDescriptorForType() {
+      return getDescriptor();
+    }
+    public static final com.google.protobuf.Descriptors.EnumDescriptor
+        getDescriptor() {
+      return com.capitalone.commander.grpc.CommanderProtos.getDescriptor().getEnumTypes().get(0);
+    }
+
+    private static final TotalMode[] VALUES = values();
+
+    public static TotalMode valueOf(
+        com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+      if (desc.getType() != getDescriptor()) {
+        throw new java.lang.IllegalArgumentException(
+          "EnumValueDescriptor is not for this type.");
+      }
+      if (desc.getIndex() == -1) {
+        return UNRECOGNIZED;
+      }
+      return VALUES[desc.getIndex()];
+    }
+
+    private final int value;
+
+    private TotalMode(int value) {
+      this.value = value;
+    }
+
+    // @@protoc_insertion_point(enum_scope:commander.TotalMode)
+  }
+
   public interface UUIDOrBuilder extends
       // @@protoc_insertion_point(interface_extends:commander.UUID)
       com.google.protobuf.MessageOrBuilder {
@@ -2902,6 +3009,10 @@ public final class CommanderProtos {
     long getOffset();
 
     /**
+     * <pre>
+     * per total_mode; -1 if total_mode is NONE
+     * </pre>
+     *
      * <code>optional int64 total = 3;</code>
      */
     long getTotal();
@@ -2929,6 +3040,16 @@ public final class CommanderProtos {
      */
     com.capitalone.commander.grpc.CommanderProtos.CommandOrBuilder getCommandsOrBuilder(
         int index);
+
+    /**
+     * <code>optional string cursor = 5;</code>
+     */
+    java.lang.String getCursor();
+    /**
+     * <code>optional string cursor = 5;</code>
+     */
+    com.google.protobuf.ByteString
+        getCursorBytes();
   }
   /**
    * Protobuf type {@code commander.PagedCommands}
@@ -2946,6 +3067,7 @@ public final class CommanderProtos {
       offset_ = 0L;
       total_ = 0L;
       commands_ = java.util.Collections.emptyList();
+      cursor_ = "";
     }
 
     @java.lang.Override
@@ -2997,6 +3119,12 @@ public final class CommanderProtos {
                   input.readMessage(com.capitalone.commander.grpc.CommanderProtos.Command.parser(), extensionRegistry));
               break;
             }
+            case 42: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              cursor_ = s;
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -3045,6 +3173,10 @@ public final class CommanderProtos {
     public static final int TOTAL_FIELD_NUMBER = 3;
     private long total_;
     /**
+     * <pre>
+     * per total_mode; -1 if total_mode is NONE
+     * </pre>
+     *
      * <code>optional int64 total = 3;</code>
      */
     public long getTotal() {
@@ -3086,6 +3218,40 @@ public final class CommanderProtos {
       return commands_.get(index);
     }
 
+    public static final int CURSOR_FIELD_NUMBER = 5;
+    private volatile java.lang.Object cursor_;
+    /**
+     * <code>optional string cursor = 5;</code>
+     */
+    public java.lang.String getCursor() {
+      java.lang.Object ref = cursor_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        cursor_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string cursor = 5;</code>
+     */
+    public com.google.protobuf.ByteString
+        getCursorBytes() {
+      java.lang.Object ref = cursor_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        cursor_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
@@ -3110,6 +3276,9 @@ public final class CommanderProtos {
       for (int i = 0; i < commands_.size(); i++) {
         output.writeMessage(4, commands_.get(i));
       }
+      if (!getCursorBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 5, cursor_);
+      }
     }
 
     public int getSerializedSize() {
@@ -3133,6 +3302,9 @@ public final class CommanderProtos {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(4, commands_.get(i));
       }
+      if (!getCursorBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(5, cursor_);
+      }
       memoizedSize = size;
       return size;
     }
@@ -3157,6 +3329,8 @@ public final class CommanderProtos {
           == other.getTotal());
       result = result && getCommandsList()
           .equals(other.getCommandsList());
+      result = result && getCursor()
+          .equals(other.getCursor());
       return result;
     }
 
@@ -3180,6 +3354,8 @@ public final class CommanderProtos {
         hash = (37 * hash) + COMMANDS_FIELD_NUMBER;
         hash = (53 * hash) + getCommandsList().hashCode();
       }
+      hash = (37 * hash) + CURSOR_FIELD_NUMBER;
+      hash = (53 * hash) + getCursor().hashCode();
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -3311,6 +3487,8 @@ public final class CommanderProtos {
         } else {
           commandsBuilder_.clear();
         }
+        cursor_ = "";
+
         return this;
       }
 
@@ -3347,6 +3525,7 @@ public final class CommanderProtos {
         } else {
           result.commands_ = commandsBuilder_.build();
         }
+        result.cursor_ = cursor_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -3424,6 +3603,10 @@ public final class CommanderProtos {
             }
           }
         }
+        if (!other.getCursor().isEmpty()) {
+          cursor_ = other.cursor_;
+          onChanged();
+        }
         onChanged();
         return this;
       }
@@ -3505,12 +3688,20 @@ public final class CommanderProtos {
 
       private long total_ ;
       /**
+       * <pre>
+       * per total_mode; -1 if total_mode is NONE
+       * </pre>
+       *
        * <code>optional int64 total = 3;</code>
        */
       public long getTotal() {
         return total_;
       }
       /**
+       * <pre>
+       * per total_mode; -1 if total_mode is NONE
+       * </pre>
+       *
        * <code>optional int64 total = 3;</code>
        */
       public Builder setTotal(long value) {
@@ -3520,6 +3711,10 @@ public final class CommanderProtos {
         return this;
       }
       /**
+       * <pre>
+       * per total_mode; -1 if total_mode is NONE
+       * </pre>
+       *
        * <code>optional int64 total = 3;</code>
        */
       public Builder clearTotal() {
@@ -3768,6 +3963,75 @@ public final class CommanderProtos {
         }
         return commandsBuilder_;
       }
+
+      private java.lang.Object cursor_ = "";
+      /**
+       * <code>optional string cursor = 5;</code>
+       */
+      public java.lang.String getCursor() {
+        java.lang.Object ref = cursor_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          cursor_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string cursor = 5;</code>
+       */
+      public com.google.protobuf.ByteString
+          getCursorBytes() {
+        java.lang.Object ref = cursor_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          cursor_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string cursor = 5;</code>
+       */
+      public Builder setCursor(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        cursor_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string cursor = 5;</code>
+       */
+      public Builder clearCursor() {
+        
+        cursor_ = getDefaultInstance().getCursor();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string cursor = 5;</code>
+       */
+      public Builder setCursorBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        cursor_ = value;
+        onChanged();
+        return this;
+      }
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return this;
@@ -5245,6 +5509,10 @@ public final class CommanderProtos {
     long getOffset();
 
     /**
+     * <pre>
+     * per total_mode; -1 if total_mode is NONE
+     * </pre>
+     *
      * <code>optional int64 total = 3;</code>
      */
     long getTotal();
@@ -5272,6 +5540,16 @@ public final class CommanderProtos {
      */
     com.capitalone.commander.grpc.CommanderProtos.EventOrBuilder getEventsOrBuilder(
         int index);
+
+    /**
+     * <code>optional string cursor = 5;</code>
+     */
+    java.lang.String getCursor();
+    /**
+     * <code>optional string cursor = 5;</code>
+     */
+    com.google.protobuf.ByteString
+        getCursorBytes();
   }
   /**
    * Protobuf type {@code commander.PagedEvents}
@@ -5289,6 +5567,7 @@ public final class CommanderProtos {
       offset_ = 0L;
       total_ = 0L;
       events_ = java.util.Collections.emptyList();
+      cursor_ = "";
     }
 
     @java.lang.Override
@@ -5340,6 +5619,12 @@ public final class CommanderProtos {
                   input.readMessage(com.capitalone.commander.grpc.CommanderProtos.Event.parser(), extensionRegistry));
               break;
             }
+            case 42: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              cursor_ = s;
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -5388,6 +5673,10 @@ public final class CommanderProtos {
     public static final int TOTAL_FIELD_NUMBER = 3;
     private long total_;
     /**
+     * <pre>
+     * per total_mode; -1 if total_mode is NONE
+     * </pre>
+     *
      * <code>optional int64 total = 3;</code>
      */
     public long getTotal() {
@@ -5429,6 +5718,40 @@ public final class CommanderProtos {
       return events_.get(index);
     }
 
+    public static final int CURSOR_FIELD_NUMBER = 5;
+    private volatile java.lang.Object cursor_;
+    /**
+     * <code>optional string cursor = 5;</code>
+     */
+    public java.lang.String getCursor() {
+      java.lang.Object ref = cursor_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        cursor_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string cursor = 5;</code>
+     */
+    public com.google.protobuf.ByteString
+        getCursorBytes() {
+      java.lang.Object ref = cursor_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        cursor_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
@@ -5453,6 +5776,9 @@ public final class CommanderProtos {
       for (int i = 0; i < events_.size(); i++) {
         output.writeMessage(4, events_.get(i));
       }
+      if (!getCursorBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 5, cursor_);
+      }
     }
 
     public int getSerializedSize() {
@@ -5476,6 +5802,9 @@ public final class CommanderProtos {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(4, events_.get(i));
       }
+      if (!getCursorBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(5, cursor_);
+      }
       memoizedSize = size;
       return size;
     }
@@ -5500,6 +5829,8 @@ public final class CommanderProtos {
           == other.getTotal());
       result = result && getEventsList()
           .equals(other.getEventsList());
+      result = result && getCursor()
+          .equals(other.getCursor());
       return result;
     }
 
@@ -5523,6 +5854,8 @@ public final class CommanderProtos {
         hash = (37 * hash) + EVENTS_FIELD_NUMBER;
         hash = (53 * hash) + getEventsList().hashCode();
       }
+      hash = (37 * hash) + CURSOR_FIELD_NUMBER;
+      hash = (53 * hash) + getCursor().hashCode();
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -5654,6 +5987,8 @@ public final class CommanderProtos {
         } else {
           eventsBuilder_.clear();
         }
+        cursor_ = "";
+
         return this;
       }
 
@@ -5690,6 +6025,7 @@ public final class CommanderProtos {
         } else {
           result.events_ = eventsBuilder_.build();
         }
+        result.cursor_ = cursor_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -5767,6 +6103,10 @@ public final class CommanderProtos {
             }
           }
         }
+        if (!other.getCursor().isEmpty()) {
+          cursor_ = other.cursor_;
+          onChanged();
+        }
         onChanged();
         return this;
       }
@@ -5848,12 +6188,20 @@ public final class CommanderProtos {
 
       private long total_ ;
       /**
+       * <pre>
+       * per total_mode; -1 if total_mode is NONE
+       * </pre>
+       *
        * <code>optional int64 total = 3;</code>
        */
       public long getTotal() {
         return total_;
       }
       /**
+       * <pre>
+       * per total_mode; -1 if total_mode is NONE
+       * </pre>
+       *
        * <code>optional int64 total = 3;</code>
        */
       public Builder setTotal(long value) {
@@ -5863,6 +6211,10 @@ public final class CommanderProtos {
         return this;
       }
       /**
+       * <pre>
+       * per total_mode; -1 if total_mode is NONE
+       * </pre>
+       *
        * <code>optional int64 total = 3;</code>
        */
       public Builder clearTotal() {
@@ -6111,6 +6463,75 @@ public final class CommanderProtos {
         }
         return eventsBuilder_;
       }
+
+      private java.lang.Object cursor_ = "";
+      /**
+       * <code>optional string cursor = 5;</code>
+       */
+      public java.lang.String getCursor() {
+        java.lang.Object ref = cursor_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          cursor_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string cursor = 5;</code>
+       */
+      public com.google.protobuf.ByteString
+          getCursorBytes() {
+        java.lang.Object ref = cursor_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          cursor_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string cursor = 5;</code>
+       */
+      public Builder setCursor(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        cursor_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string cursor = 5;</code>
+       */
+      public Builder clearCursor() {
+        
+        cursor_ = getDefaultInstance().getCursor();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string cursor = 5;</code>
+       */
+      public Builder setCursorBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        cursor_ = value;
+        onChanged();
+        return this;
+      }
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return this;
@@ -6173,6 +6594,25 @@ public final class CommanderProtos {
      * <code>optional int64 offset = 2;</code>
      */
     long getOffset();
+
+    /**
+     * <code>optional string cursor = 3;</code>
+     */
+    java.lang.String getCursor();
+    /**
+     * <code>optional string cursor = 3;</code>
+     */
+    com.google.protobuf.ByteString
+        getCursorBytes();
+
+    /**
+     * <code>optional .commander.TotalMode total_mode = 4;</code>
+     */
+    int getTotalModeValue();
+    /**
+     * <code>optional .commander.TotalMode total_mode = 4;</code>
+     */
+    com.capitalone.commander.grpc.CommanderProtos.TotalMode getTotalMode();
   }
   /**
    * Protobuf type {@code commander.PagingInfo}
@@ -6188,6 +6628,8 @@ public final class CommanderProtos {
     private PagingInfo() {
       limit_ = 0L;
       offset_ = 0L;
+      cursor_ = "";
+      totalMode_ = 0;
     }
 
     @java.lang.Override
@@ -6225,6 +6667,18 @@ public final class CommanderProtos {
               offset_ = input.readInt64();
               break;
             }
+            case 26: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              cursor_ = s;
+              break;
+            }
+            case 32: {
+              int rawValue = input.readEnum();
+
+              totalMode_ = rawValue;
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -6266,15 +6720,65 @@ public final class CommanderProtos {
       return offset_;
     }
 
-    private byte memoizedIsInitialized = -1;
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
-      if (isInitialized == 1) return true;
-      if (isInitialized == 0) return false;
-
-      memoizedIsInitialized = 1;
-      return true;
-    }
+    public static final int CURSOR_FIELD_NUMBER = 3;
+    private volatile java.lang.Object cursor_;
+    /**
+     * <code>optional string cursor = 3;</code>
+     */
+    public java.lang.String getCursor() {
+      java.lang.Object ref = cursor_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        cursor_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string cursor = 3;</code>
+     */
+    public com.google.protobuf.ByteString
+        getCursorBytes() {
+      java.lang.Object ref = cursor_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        cursor_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int TOTAL_MODE_FIELD_NUMBER = 4;
+    private int totalMode_;
+    /**
+     * <code>optional .commander.TotalMode total_mode = 4;</code>
+     */
+    public int getTotalModeValue() {
+      return totalMode_;
+    }
+    /**
+     * <code>optional .commander.TotalMode total_mode = 4;</code>
+     */
+    public com.capitalone.commander.grpc.CommanderProtos.TotalMode getTotalMode() {
+      com.capitalone.commander.grpc.CommanderProtos.TotalMode result = com.capitalone.commander.grpc.CommanderProtos.TotalMode.valueOf(totalMode_);
+      return result == null ? com.capitalone.commander.grpc.CommanderProtos.TotalMode.UNRECOGNIZED : result;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
 
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
@@ -6284,6 +6788,12 @@ public final class CommanderProtos {
       if (offset_ != 0L) {
         output.writeInt64(2, offset_);
       }
+      if (!getCursorBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, cursor_);
+      }
+      if (totalMode_ != com.capitalone.commander.grpc.CommanderProtos.TotalMode.EXACT.getNumber()) {
+        output.writeEnum(4, totalMode_);
+      }
     }
 
     public int getSerializedSize() {
@@ -6299,6 +6809,13 @@ public final class CommanderProtos {
         size += com.google.protobuf.CodedOutputStream
           .computeInt64Size(2, offset_);
       }
+      if (!getCursorBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, cursor_);
+      }
+      if (totalMode_ != com.capitalone.commander.grpc.CommanderProtos.TotalMode.EXACT.getNumber()) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(4, totalMode_);
+      }
       memoizedSize = size;
       return size;
     }
@@ -6319,6 +6836,9 @@ public final class CommanderProtos {
           == other.getLimit());
       result = result && (getOffset()
           == other.getOffset());
+      result = result && getCursor()
+          .equals(other.getCursor());
+      result = result && totalMode_ == other.totalMode_;
       return result;
     }
 
@@ -6335,6 +6855,10 @@ public final class CommanderProtos {
       hash = (37 * hash) + OFFSET_FIELD_NUMBER;
       hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
           getOffset());
+      hash = (37 * hash) + CURSOR_FIELD_NUMBER;
+      hash = (53 * hash) + getCursor().hashCode();
+      hash = (37 * hash) + TOTAL_MODE_FIELD_NUMBER;
+      hash = (53 * hash) + totalMode_;
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -6457,6 +6981,10 @@ public final class CommanderProtos {
 
         offset_ = 0L;
 
+        cursor_ = "";
+
+        totalMode_ = 0;
+
         return this;
       }
 
@@ -6481,6 +7009,8 @@ public final class CommanderProtos {
         com.capitalone.commander.grpc.CommanderProtos.PagingInfo result = new com.capitalone.commander.grpc.CommanderProtos.PagingInfo(this);
         result.limit_ = limit_;
         result.offset_ = offset_;
+        result.cursor_ = cursor_;
+        result.totalMode_ = totalMode_;
         onBuilt();
         return result;
       }
@@ -6528,6 +7058,13 @@ public final class CommanderProtos {
         if (other.getOffset() != 0L) {
           setOffset(other.getOffset());
         }
+        if (!other.getCursor().isEmpty()) {
+          cursor_ = other.cursor_;
+          onChanged();
+        }
+        if (other.totalMode_ != 0) {
+          setTotalModeValue(other.getTotalModeValue());
+        }
         onChanged();
         return this;
       }
@@ -6605,6 +7142,119 @@ public final class CommanderProtos {
         onChanged();
         return this;
       }
+
+      private java.lang.Object cursor_ = "";
+      /**
+       * <code>optional string cursor = 3;</code>
+       */
+      public java.lang.String getCursor() {
+        java.lang.Object ref = cursor_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          cursor_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string cursor = 3;</code>
+       */
+      public com.google.protobuf.ByteString
+          getCursorBytes() {
+        java.lang.Object ref = cursor_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          cursor_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string cursor = 3;</code>
+       */
+      public Builder setCursor(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        cursor_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string cursor = 3;</code>
+       */
+      public Builder clearCursor() {
+        
+        cursor_ = getDefaultInstance().getCursor();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string cursor = 3;</code>
+       */
+      public Builder setCursorBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        cursor_ = value;
+        onChanged();
+        return this;
+      }
+
+      private int totalMode_ = 0;
+      /**
+       * <code>optional .commander.TotalMode total_mode = 4;</code>
+       */
+      public int getTotalModeValue() {
+        return totalMode_;
+      }
+      /**
+       * <code>optional .commander.TotalMode total_mode = 4;</code>
+       */
+      public Builder setTotalModeValue(int value) {
+        totalMode_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional .commander.TotalMode total_mode = 4;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.TotalMode getTotalMode() {
+        com.capitalone.commander.grpc.CommanderProtos.TotalMode result = com.capitalone.commander.grpc.CommanderProtos.TotalMode.valueOf(totalMode_);
+        return result == null ? com.capitalone.commander.grpc.CommanderProtos.TotalMode.UNRECOGNIZED : result;
+      }
+      /**
+       * <code>optional .commander.TotalMode total_mode = 4;</code>
+       */
+      public Builder setTotalMode(com.capitalone.commander.grpc.CommanderProtos.TotalMode value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        
+        totalMode_ = value.getNumber();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional .commander.TotalMode total_mode = 4;</code>
+       */
+      public Builder clearTotalMode() {
+        
+        totalMode_ = 0;
+        onChanged();
+        return this;
+      }
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return this;
@@ -6657,8 +7307,180 @@ public final class CommanderProtos {
   public interface StreamRequestOrBuilder extends
       // @@protoc_insertion_point(interface_extends:commander.StreamRequest)
       com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <pre>
+     * exact action
+     * </pre>
+     *
+     * <code>optional string action = 1;</code>
+     */
+    java.lang.String getAction();
+    /**
+     * <pre>
+     * exact action
+     * </pre>
+     *
+     * <code>optional string action = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getActionBytes();
+
+    /**
+     * <pre>
+     * action starts with this
+     * </pre>
+     *
+     * <code>optional string action_prefix = 2;</code>
+     */
+    java.lang.String getActionPrefix();
+    /**
+     * <pre>
+     * action starts with this
+     * </pre>
+     *
+     * <code>optional string action_prefix = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getActionPrefixBytes();
+
+    /**
+     * <pre>
+     * events of this command
+     * </pre>
+     *
+     * <code>optional .commander.UUID parent = 3;</code>
+     */
+    boolean hasParent();
+    /**
+     * <pre>
+     * events of this command
+     * </pre>
+     *
+     * <code>optional .commander.UUID parent = 3;</code>
+     */
+    com.capitalone.commander.grpc.CommanderProtos.UUID getParent();
+    /**
+     * <pre>
+     * events of this command
+     * </pre>
+     *
+     * <code>optional .commander.UUID parent = 3;</code>
+     */
+    com.capitalone.commander.grpc.CommanderProtos.UUIDOrBuilder getParentOrBuilder();
+
+    /**
+     * <code>optional string topic = 4;</code>
+     */
+    java.lang.String getTopic();
+    /**
+     * <code>optional string topic = 4;</code>
+     */
+    com.google.protobuf.ByteString
+        getTopicBytes();
+
+    /**
+     * <pre>
+     * any of these partitions
+     * </pre>
+     *
+     * <code>repeated int32 partitions = 5;</code>
+     */
+    java.util.List<java.lang.Integer> getPartitionsList();
+    /**
+     * <pre>
+     * any of these partitions
+     * </pre>
+     *
+     * <code>repeated int32 partitions = 5;</code>
+     */
+    int getPartitionsCount();
+    /**
+     * <pre>
+     * any of these partitions
+     * </pre>
+     *
+     * <code>repeated int32 partitions = 5;</code>
+     */
+    int getPartitions(int index);
+
+    /**
+     * <code>repeated .commander.FieldMatch fields = 6;</code>
+     */
+    java.util.List<com.capitalone.commander.grpc.CommanderProtos.FieldMatch> 
+        getFieldsList();
+    /**
+     * <code>repeated .commander.FieldMatch fields = 6;</code>
+     */
+    com.capitalone.commander.grpc.CommanderProtos.FieldMatch getFields(int index);
+    /**
+     * <code>repeated .commander.FieldMatch fields = 6;</code>
+     */
+    int getFieldsCount();
+    /**
+     * <code>repeated .commander.FieldMatch fields = 6;</code>
+     */
+    java.util.List<? extends com.capitalone.commander.grpc.CommanderProtos.FieldMatchOrBuilder> 
+        getFieldsOrBuilderList();
+    /**
+     * <code>repeated .commander.FieldMatch fields = 6;</code>
+     */
+    com.capitalone.commander.grpc.CommanderProtos.FieldMatchOrBuilder getFieldsOrBuilder(
+        int index);
+
+    /**
+     * <pre>
+     * after the last-seen offset of each partition
+     * </pre>
+     *
+     * <code>optional .commander.Offsets after_offsets = 7;</code>
+     */
+    com.capitalone.commander.grpc.CommanderProtos.Offsets getAfterOffsets();
+    /**
+     * <pre>
+     * after the last-seen offset of each partition
+     * </pre>
+     *
+     * <code>optional .commander.Offsets after_offsets = 7;</code>
+     */
+    com.capitalone.commander.grpc.CommanderProtos.OffsetsOrBuilder getAfterOffsetsOrBuilder();
+
+    /**
+     * <pre>
+     * from this timestamp (ms) onward
+     * </pre>
+     *
+     * <code>optional int64 since_timestamp = 8;</code>
+     */
+    long getSinceTimestamp();
+
+    /**
+     * <pre>
+     * after the last-seen record
+     * </pre>
+     *
+     * <code>optional .commander.UUID after_id = 9;</code>
+     */
+    com.capitalone.commander.grpc.CommanderProtos.UUID getAfterId();
+    /**
+     * <pre>
+     * after the last-seen record
+     * </pre>
+     *
+     * <code>optional .commander.UUID after_id = 9;</code>
+     */
+    com.capitalone.commander.grpc.CommanderProtos.UUIDOrBuilder getAfterIdOrBuilder();
+
+    public com.capitalone.commander.grpc.CommanderProtos.StreamRequest.FromCase getFromCase();
   }
   /**
+   * <pre>
+   * Selects the records a stream conveys.  Every predicate given must
+   * hold; an empty request conveys everything.  If a from position is
+   * given, the stream first replays the indexed records after it, then
+   * continues with live records, without gaps or duplicates.
+   * </pre>
+   *
    * Protobuf type {@code commander.StreamRequest}
    */
   public  static final class StreamRequest extends
@@ -6670,6 +7492,11 @@ public final class CommanderProtos {
       super(builder);
     }
     private StreamRequest() {
+      action_ = "";
+      actionPrefix_ = "";
+      topic_ = "";
+      partitions_ = java.util.Collections.emptyList();
+      fields_ = java.util.Collections.emptyList();
     }
 
     @java.lang.Override
@@ -6682,6 +7509,7 @@ public final class CommanderProtos {
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       this();
+      int mutable_bitField0_ = 0;
       try {
         boolean done = false;
         while (!done) {
@@ -6696,6 +7524,100 @@ public final class CommanderProtos {
               }
               break;
             }
+            case 10: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              action_ = s;
+              break;
+            }
+            case 18: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              actionPrefix_ = s;
+              break;
+            }
+            case 26: {
+              com.capitalone.commander.grpc.CommanderProtos.UUID.Builder subBuilder = null;
+              if (parent_ != null) {
+                subBuilder = parent_.toBuilder();
+              }
+              parent_ = input.readMessage(com.capitalone.commander.grpc.CommanderProtos.UUID.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(parent_);
+                parent_ = subBuilder.buildPartial();
+              }
+
+              break;
+            }
+            case 34: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              topic_ = s;
+              break;
+            }
+            case 40: {
+              if (!((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+                partitions_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000010;
+              }
+              partitions_.add(input.readInt32());
+              break;
+            }
+            case 42: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000010) == 0x00000010) && input.getBytesUntilLimit() > 0) {
+                partitions_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000010;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                partitions_.add(input.readInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 50: {
+              if (!((mutable_bitField0_ & 0x00000020) == 0x00000020)) {
+                fields_ = new java.util.ArrayList<com.capitalone.commander.grpc.CommanderProtos.FieldMatch>();
+                mutable_bitField0_ |= 0x00000020;
+              }
+              fields_.add(
+                  input.readMessage(com.capitalone.commander.grpc.CommanderProtos.FieldMatch.parser(), extensionRegistry));
+              break;
+            }
+            case 58: {
+              com.capitalone.commander.grpc.CommanderProtos.Offsets.Builder subBuilder = null;
+              if (fromCase_ == 7) {
+                subBuilder = ((com.capitalone.commander.grpc.CommanderProtos.Offsets) from_).toBuilder();
+              }
+              from_ =
+                  input.readMessage(com.capitalone.commander.grpc.CommanderProtos.Offsets.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom((com.capitalone.commander.grpc.CommanderProtos.Offsets) from_);
+                from_ = subBuilder.buildPartial();
+              }
+              fromCase_ = 7;
+              break;
+            }
+            case 64: {
+              fromCase_ = 8;
+              from_ = input.readInt64();
+              break;
+            }
+            case 74: {
+              com.capitalone.commander.grpc.CommanderProtos.UUID.Builder subBuilder = null;
+              if (fromCase_ == 9) {
+                subBuilder = ((com.capitalone.commander.grpc.CommanderProtos.UUID) from_).toBuilder();
+              }
+              from_ =
+                  input.readMessage(com.capitalone.commander.grpc.CommanderProtos.UUID.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom((com.capitalone.commander.grpc.CommanderProtos.UUID) from_);
+                from_ = subBuilder.buildPartial();
+              }
+              fromCase_ = 9;
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -6704,6 +7626,12 @@ public final class CommanderProtos {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+          partitions_ = java.util.Collections.unmodifiableList(partitions_);
+        }
+        if (((mutable_bitField0_ & 0x00000020) == 0x00000020)) {
+          fields_ = java.util.Collections.unmodifiableList(fields_);
+        }
         makeExtensionsImmutable();
       }
     }
@@ -6719,9 +7647,3614 @@ public final class CommanderProtos {
               com.capitalone.commander.grpc.CommanderProtos.StreamRequest.class, com.capitalone.commander.grpc.CommanderProtos.StreamRequest.Builder.class);
     }
 
-    private byte memoizedIsInitialized = -1;
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
+    private int bitField0_;
+    private int fromCase_ = 0;
+    private java.lang.Object from_;
+    public enum FromCase
+        implements com.google.protobuf.Internal.EnumLite {
+      AFTER_OFFSETS(7),
+      SINCE_TIMESTAMP(8),
+      AFTER_ID(9),
+      FROM_NOT_SET(0);
+      private final int value;
+      private FromCase(int value) {
+        this.value = value;
+      }
+      /**
+       * @deprecated Use {@link #forNumber(int)} instead.
+       */
+      @java.lang.Deprecated
+      public static FromCase valueOf(int value) {
+        return forNumber(value);
+      }
+
+      public static FromCase forNumber(int value) {
+        switch (value) {
+          case 7: return AFTER_OFFSETS;
+          case 8: return SINCE_TIMESTAMP;
+          case 9: return AFTER_ID;
+          case 0: return FROM_NOT_SET;
+          default: return null;
+        }
+      }
+      public int getNumber() {
+        return this.value;
+      }
+    };
+
+    public FromCase
+    getFromCase() {
+      return FromCase.forNumber(
+          fromCase_);
+    }
+
+    public static final int ACTION_FIELD_NUMBER = 1;
+    private volatile java.lang.Object action_;
+    /**
+     * <pre>
+     * exact action
+     * </pre>
+     *
+     * <code>optional string action = 1;</code>
+     */
+    public java.lang.String getAction() {
+      java.lang.Object ref = action_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        action_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     * exact action
+     * </pre>
+     *
+     * <code>optional string action = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getActionBytes() {
+      java.lang.Object ref = action_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        action_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int ACTION_PREFIX_FIELD_NUMBER = 2;
+    private volatile java.lang.Object actionPrefix_;
+    /**
+     * <pre>
+     * action starts with this
+     * </pre>
+     *
+     * <code>optional string action_prefix = 2;</code>
+     */
+    public java.lang.String getActionPrefix() {
+      java.lang.Object ref = actionPrefix_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        actionPrefix_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     * action starts with this
+     * </pre>
+     *
+     * <code>optional string action_prefix = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getActionPrefixBytes() {
+      java.lang.Object ref = actionPrefix_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        actionPrefix_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int PARENT_FIELD_NUMBER = 3;
+    private com.capitalone.commander.grpc.CommanderProtos.UUID parent_;
+    /**
+     * <pre>
+     * events of this command
+     * </pre>
+     *
+     * <code>optional .commander.UUID parent = 3;</code>
+     */
+    public boolean hasParent() {
+      return parent_ != null;
+    }
+    /**
+     * <pre>
+     * events of this command
+     * </pre>
+     *
+     * <code>optional .commander.UUID parent = 3;</code>
+     */
+    public com.capitalone.commander.grpc.CommanderProtos.UUID getParent() {
+      return parent_ == null ? com.capitalone.commander.grpc.CommanderProtos.UUID.getDefaultInstance() : parent_;
+    }
+    /**
+     * <pre>
+     * events of this command
+     * </pre>
+     *
+     * <code>optional .commander.UUID parent = 3;</code>
+     */
+    public com.capitalone.commander.grpc.CommanderProtos.UUIDOrBuilder getParentOrBuilder() {
+      return getParent();
+    }
+
+    public static final int TOPIC_FIELD_NUMBER = 4;
+    private volatile java.lang.Object topic_;
+    /**
+     * <code>optional string topic = 4;</code>
+     */
+    public java.lang.String getTopic() {
+      java.lang.Object ref = topic_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        topic_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string topic = 4;</code>
+     */
+    public com.google.protobuf.ByteString
+        getTopicBytes() {
+      java.lang.Object ref = topic_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        topic_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int PARTITIONS_FIELD_NUMBER = 5;
+    private java.util.List<java.lang.Integer> partitions_;
+    /**
+     * <pre>
+     * any of these partitions
+     * </pre>
+     *
+     * <code>repeated int32 partitions = 5;</code>
+     */
+    public java.util.List<java.lang.Integer>
+        getPartitionsList() {
+      return partitions_;
+    }
+    /**
+     * <pre>
+     * any of these partitions
+     * </pre>
+     *
+     * <code>repeated int32 partitions = 5;</code>
+     */
+    public int getPartitionsCount() {
+      return partitions_.size();
+    }
+    /**
+     * <pre>
+     * any of these partitions
+     * </pre>
+     *
+     * <code>repeated int32 partitions = 5;</code>
+     */
+    public int getPartitions(int index) {
+      return partitions_.get(index);
+    }
+    private int partitionsMemoizedSerializedSize = -1;
+
+    public static final int FIELDS_FIELD_NUMBER = 6;
+    private java.util.List<com.capitalone.commander.grpc.CommanderProtos.FieldMatch> fields_;
+    /**
+     * <code>repeated .commander.FieldMatch fields = 6;</code>
+     */
+    public java.util.List<com.capitalone.commander.grpc.CommanderProtos.FieldMatch> getFieldsList() {
+      return fields_;
+    }
+    /**
+     * <code>repeated .commander.FieldMatch fields = 6;</code>
+     */
+    public java.util.List<? extends com.capitalone.commander.grpc.CommanderProtos.FieldMatchOrBuilder> 
+        getFieldsOrBuilderList() {
+      return fields_;
+    }
+    /**
+     * <code>repeated .commander.FieldMatch fields = 6;</code>
+     */
+    public int getFieldsCount() {
+      return fields_.size();
+    }
+    /**
+     * <code>repeated .commander.FieldMatch fields = 6;</code>
+     */
+    public com.capitalone.commander.grpc.CommanderProtos.FieldMatch getFields(int index) {
+      return fields_.get(index);
+    }
+    /**
+     * <code>repeated .commander.FieldMatch fields = 6;</code>
+     */
+    public com.capitalone.commander.grpc.CommanderProtos.FieldMatchOrBuilder getFieldsOrBuilder(
+        int index) {
+      return fields_.get(index);
+    }
+
+    public static final int AFTER_OFFSETS_FIELD_NUMBER = 7;
+    /**
+     * <pre>
+     * after the last-seen offset of each partition
+     * </pre>
+     *
+     * <code>optional .commander.Offsets after_offsets = 7;</code>
+     */
+    public com.capitalone.commander.grpc.CommanderProtos.Offsets getAfterOffsets() {
+      if (fromCase_ == 7) {
+         return (com.capitalone.commander.grpc.CommanderProtos.Offsets) from_;
+      }
+      return com.capitalone.commander.grpc.CommanderProtos.Offsets.getDefaultInstance();
+    }
+    /**
+     * <pre>
+     * after the last-seen offset of each partition
+     * </pre>
+     *
+     * <code>optional .commander.Offsets after_offsets = 7;</code>
+     */
+    public com.capitalone.commander.grpc.CommanderProtos.OffsetsOrBuilder getAfterOffsetsOrBuilder() {
+      if (fromCase_ == 7) {
+         return (com.capitalone.commander.grpc.CommanderProtos.Offsets) from_;
+      }
+      return com.capitalone.commander.grpc.CommanderProtos.Offsets.getDefaultInstance();
+    }
+
+    public static final int SINCE_TIMESTAMP_FIELD_NUMBER = 8;
+    /**
+     * <pre>
+     * from this timestamp (ms) onward
+     * </pre>
+     *
+     * <code>optional int64 since_timestamp = 8;</code>
+     */
+    public long getSinceTimestamp() {
+      if (fromCase_ == 8) {
+        return (java.lang.Long) from_;
+      }
+      return 0L;
+    }
+
+    public static final int AFTER_ID_FIELD_NUMBER = 9;
+    /**
+     * <pre>
+     * after the last-seen record
+     * </pre>
+     *
+     * <code>optional .commander.UUID after_id = 9;</code>
+     */
+    public com.capitalone.commander.grpc.CommanderProtos.UUID getAfterId() {
+      if (fromCase_ == 9) {
+         return (com.capitalone.commander.grpc.CommanderProtos.UUID) from_;
+      }
+      return com.capitalone.commander.grpc.CommanderProtos.UUID.getDefaultInstance();
+    }
+    /**
+     * <pre>
+     * after the last-seen record
+     * </pre>
+     *
+     * <code>optional .commander.UUID after_id = 9;</code>
+     */
+    public com.capitalone.commander.grpc.CommanderProtos.UUIDOrBuilder getAfterIdOrBuilder() {
+      if (fromCase_ == 9) {
+         return (com.capitalone.commander.grpc.CommanderProtos.UUID) from_;
+      }
+      return com.capitalone.commander.grpc.CommanderProtos.UUID.getDefaultInstance();
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (!getActionBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, action_);
+      }
+      if (!getActionPrefixBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, actionPrefix_);
+      }
+      if (parent_ != null) {
+        output.writeMessage(3, getParent());
+      }
+      if (!getTopicBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 4, topic_);
+      }
+      if (getPartitionsList().size() > 0) {
+        output.writeUInt32NoTag(42);
+        output.writeUInt32NoTag(partitionsMemoizedSerializedSize);
+      }
+      for (int i = 0; i < partitions_.size(); i++) {
+        output.writeInt32NoTag(partitions_.get(i));
+      }
+      for (int i = 0; i < fields_.size(); i++) {
+        output.writeMessage(6, fields_.get(i));
+      }
+      if (fromCase_ == 7) {
+        output.writeMessage(7, (com.capitalone.commander.grpc.CommanderProtos.Offsets) from_);
+      }
+      if (fromCase_ == 8) {
+        output.writeInt64(
+            8, (long)((java.lang.Long) from_));
+      }
+      if (fromCase_ == 9) {
+        output.writeMessage(9, (com.capitalone.commander.grpc.CommanderProtos.UUID) from_);
+      }
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (!getActionBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, action_);
+      }
+      if (!getActionPrefixBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, actionPrefix_);
+      }
+      if (parent_ != null) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, getParent());
+      }
+      if (!getTopicBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(4, topic_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < partitions_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(partitions_.get(i));
+        }
+        size += dataSize;
+        if (!getPartitionsList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        partitionsMemoizedSerializedSize = dataSize;
+      }
+      for (int i = 0; i < fields_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(6, fields_.get(i));
+      }
+      if (fromCase_ == 7) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(7, (com.capitalone.commander.grpc.CommanderProtos.Offsets) from_);
+      }
+      if (fromCase_ == 8) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(
+              8, (long)((java.lang.Long) from_));
+      }
+      if (fromCase_ == 9) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(9, (com.capitalone.commander.grpc.CommanderProtos.UUID) from_);
+      }
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.capitalone.commander.grpc.CommanderProtos.StreamRequest)) {
+        return super.equals(obj);
+      }
+      com.capitalone.commander.grpc.CommanderProtos.StreamRequest other = (com.capitalone.commander.grpc.CommanderProtos.StreamRequest) obj;
+
+      boolean result = true;
+      result = result && getAction()
+          .equals(other.getAction());
+      result = result && getActionPrefix()
+          .equals(other.getActionPrefix());
+      result = result && (hasParent() == other.hasParent());
+      if (hasParent()) {
+        result = result && getParent()
+            .equals(other.getParent());
+      }
+      result = result && getTopic()
+          .equals(other.getTopic());
+      result = result && getPartitionsList()
+          .equals(other.getPartitionsList());
+      result = result && getFieldsList()
+          .equals(other.getFieldsList());
+      result = result && getFromCase().equals(
+          other.getFromCase());
+      if (!result) return false;
+      switch (fromCase_) {
+        case 7:
+          result = result && getAfterOffsets()
+              .equals(other.getAfterOffsets());
+          break;
+        case 8:
+          result = result && (getSinceTimestamp()
+              == other.getSinceTimestamp());
+          break;
+        case 9:
+          result = result && getAfterId()
+              .equals(other.getAfterId());
+          break;
+        case 0:
+        default:
+      }
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      hash = (37 * hash) + ACTION_FIELD_NUMBER;
+      hash = (53 * hash) + getAction().hashCode();
+      hash = (37 * hash) + ACTION_PREFIX_FIELD_NUMBER;
+      hash = (53 * hash) + getActionPrefix().hashCode();
+      if (hasParent()) {
+        hash = (37 * hash) + PARENT_FIELD_NUMBER;
+        hash = (53 * hash) + getParent().hashCode();
+      }
+      hash = (37 * hash) + TOPIC_FIELD_NUMBER;
+      hash = (53 * hash) + getTopic().hashCode();
+      if (getPartitionsCount() > 0) {
+        hash = (37 * hash) + PARTITIONS_FIELD_NUMBER;
+        hash = (53 * hash) + getPartitionsList().hashCode();
+      }
+      if (getFieldsCount() > 0) {
+        hash = (37 * hash) + FIELDS_FIELD_NUMBER;
+        hash = (53 * hash) + getFieldsList().hashCode();
+      }
+      switch (fromCase_) {
+        case 7:
+          hash = (37 * hash) + AFTER_OFFSETS_FIELD_NUMBER;
+          hash = (53 * hash) + getAfterOffsets().hashCode();
+          break;
+        case 8:
+          hash = (37 * hash) + SINCE_TIMESTAMP_FIELD_NUMBER;
+          hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+              getSinceTimestamp());
+          break;
+        case 9:
+          hash = (37 * hash) + AFTER_ID_FIELD_NUMBER;
+          hash = (53 * hash) + getAfterId().hashCode();
+          break;
+        case 0:
+        default:
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.capitalone.commander.grpc.CommanderProtos.StreamRequest prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     * Selects the records a stream conveys.  Every predicate given must
+     * hold; an empty request conveys everything.  If a from position is
+     * given, the stream first replays the indexed records after it, then
+     * continues with live records, without gaps or duplicates.
+     * </pre>
+     *
+     * Protobuf type {@code commander.StreamRequest}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:commander.StreamRequest)
+        com.capitalone.commander.grpc.CommanderProtos.StreamRequestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_StreamRequest_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_StreamRequest_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.capitalone.commander.grpc.CommanderProtos.StreamRequest.class, com.capitalone.commander.grpc.CommanderProtos.StreamRequest.Builder.class);
+      }
+
+      // Construct using com.capitalone.commander.grpc.CommanderProtos.StreamRequest.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+          getFieldsFieldBuilder();
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        action_ = "";
+
+        actionPrefix_ = "";
+
+        if (parentBuilder_ == null) {
+          parent_ = null;
+        } else {
+          parent_ = null;
+          parentBuilder_ = null;
+        }
+        topic_ = "";
+
+        partitions_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000010);
+        if (fieldsBuilder_ == null) {
+          fields_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000020);
+        } else {
+          fieldsBuilder_.clear();
+        }
+        fromCase_ = 0;
+        from_ = null;
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_StreamRequest_descriptor;
+      }
+
+      public com.capitalone.commander.grpc.CommanderProtos.StreamRequest getDefaultInstanceForType() {
+        return com.capitalone.commander.grpc.CommanderProtos.StreamRequest.getDefaultInstance();
+      }
+
+      public com.capitalone.commander.grpc.CommanderProtos.StreamRequest build() {
+        com.capitalone.commander.grpc.CommanderProtos.StreamRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.capitalone.commander.grpc.CommanderProtos.StreamRequest buildPartial() {
+        com.capitalone.commander.grpc.CommanderProtos.StreamRequest result = new com.capitalone.commander.grpc.CommanderProtos.StreamRequest(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        result.action_ = action_;
+        result.actionPrefix_ = actionPrefix_;
+        if (parentBuilder_ == null) {
+          result.parent_ = parent_;
+        } else {
+          result.parent_ = parentBuilder_.build();
+        }
+        result.topic_ = topic_;
+        if (((bitField0_ & 0x00000010) == 0x00000010)) {
+          partitions_ = java.util.Collections.unmodifiableList(partitions_);
+          bitField0_ = (bitField0_ & ~0x00000010);
+        }
+        result.partitions_ = partitions_;
+        if (fieldsBuilder_ == null) {
+          if (((bitField0_ & 0x00000020) == 0x00000020)) {
+            fields_ = java.util.Collections.unmodifiableList(fields_);
+            bitField0_ = (bitField0_ & ~0x00000020);
+          }
+          result.fields_ = fields_;
+        } else {
+          result.fields_ = fieldsBuilder_.build();
+        }
+        if (fromCase_ == 7) {
+          if (afterOffsetsBuilder_ == null) {
+            result.from_ = from_;
+          } else {
+            result.from_ = afterOffsetsBuilder_.build();
+          }
+        }
+        if (fromCase_ == 8) {
+          result.from_ = from_;
+        }
+        if (fromCase_ == 9) {
+          if (afterIdBuilder_ == null) {
+            result.from_ = from_;
+          } else {
+            result.from_ = afterIdBuilder_.build();
+          }
+        }
+        result.bitField0_ = to_bitField0_;
+        result.fromCase_ = fromCase_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.capitalone.commander.grpc.CommanderProtos.StreamRequest) {
+          return mergeFrom((com.capitalone.commander.grpc.CommanderProtos.StreamRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.capitalone.commander.grpc.CommanderProtos.StreamRequest other) {
+        if (other == com.capitalone.commander.grpc.CommanderProtos.StreamRequest.getDefaultInstance()) return this;
+        if (!other.getAction().isEmpty()) {
+          action_ = other.action_;
+          onChanged();
+        }
+        if (!other.getActionPrefix().isEmpty()) {
+          actionPrefix_ = other.actionPrefix_;
+          onChanged();
+        }
+        if (other.hasParent()) {
+          mergeParent(other.getParent());
+        }
+        if (!other.getTopic().isEmpty()) {
+          topic_ = other.topic_;
+          onChanged();
+        }
+        if (!other.partitions_.isEmpty()) {
+          if (partitions_.isEmpty()) {
+            partitions_ = other.partitions_;
+            bitField0_ = (bitField0_ & ~0x00000010);
+          } else {
+            ensurePartitionsIsMutable();
+            partitions_.addAll(other.partitions_);
+          }
+          onChanged();
+        }
+        if (fieldsBuilder_ == null) {
+          if (!other.fields_.isEmpty()) {
+            if (fields_.isEmpty()) {
+              fields_ = other.fields_;
+              bitField0_ = (bitField0_ & ~0x00000020);
+            } else {
+              ensureFieldsIsMutable();
+              fields_.addAll(other.fields_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.fields_.isEmpty()) {
+            if (fieldsBuilder_.isEmpty()) {
+              fieldsBuilder_.dispose();
+              fieldsBuilder_ = null;
+              fields_ = other.fields_;
+              bitField0_ = (bitField0_ & ~0x00000020);
+              fieldsBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getFieldsFieldBuilder() : null;
+            } else {
+              fieldsBuilder_.addAllMessages(other.fields_);
+            }
+          }
+        }
+        switch (other.getFromCase()) {
+          case AFTER_OFFSETS: {
+            mergeAfterOffsets(other.getAfterOffsets());
+            break;
+          }
+          case SINCE_TIMESTAMP: {
+            setSinceTimestamp(other.getSinceTimestamp());
+            break;
+          }
+          case AFTER_ID: {
+            mergeAfterId(other.getAfterId());
+            break;
+          }
+          case FROM_NOT_SET: {
+            break;
+          }
+        }
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.capitalone.commander.grpc.CommanderProtos.StreamRequest parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.capitalone.commander.grpc.CommanderProtos.StreamRequest) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int fromCase_ = 0;
+      private java.lang.Object from_;
+      public FromCase
+          getFromCase() {
+        return FromCase.forNumber(
+            fromCase_);
+      }
+
+      public Builder clearFrom() {
+        fromCase_ = 0;
+        from_ = null;
+        onChanged();
+        return this;
+      }
+
+      private int bitField0_;
+
+      private java.lang.Object action_ = "";
+      /**
+       * <pre>
+       * exact action
+       * </pre>
+       *
+       * <code>optional string action = 1;</code>
+       */
+      public java.lang.String getAction() {
+        java.lang.Object ref = action_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          action_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       * exact action
+       * </pre>
+       *
+       * <code>optional string action = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getActionBytes() {
+        java.lang.Object ref = action_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          action_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       * exact action
+       * </pre>
+       *
+       * <code>optional string action = 1;</code>
+       */
+      public Builder setAction(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        action_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * exact action
+       * </pre>
+       *
+       * <code>optional string action = 1;</code>
+       */
+      public Builder clearAction() {
+        
+        action_ = getDefaultInstance().getAction();
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * exact action
+       * </pre>
+       *
+       * <code>optional string action = 1;</code>
+       */
+      public Builder setActionBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        action_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object actionPrefix_ = "";
+      /**
+       * <pre>
+       * action starts with this
+       * </pre>
+       *
+       * <code>optional string action_prefix = 2;</code>
+       */
+      public java.lang.String getActionPrefix() {
+        java.lang.Object ref = actionPrefix_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          actionPrefix_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       * action starts with this
+       * </pre>
+       *
+       * <code>optional string action_prefix = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getActionPrefixBytes() {
+        java.lang.Object ref = actionPrefix_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          actionPrefix_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       * action starts with this
+       * </pre>
+       *
+       * <code>optional string action_prefix = 2;</code>
+       */
+      public Builder setActionPrefix(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        actionPrefix_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * action starts with this
+       * </pre>
+       *
+       * <code>optional string action_prefix = 2;</code>
+       */
+      public Builder clearActionPrefix() {
+        
+        actionPrefix_ = getDefaultInstance().getActionPrefix();
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * action starts with this
+       * </pre>
+       *
+       * <code>optional string action_prefix = 2;</code>
+       */
+      public Builder setActionPrefixBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        actionPrefix_ = value;
+        onChanged();
+        return this;
+      }
+
+      private com.capitalone.commander.grpc.CommanderProtos.UUID parent_ = null;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.capitalone.commander.grpc.CommanderProtos.UUID, com.capitalone.commander.grpc.CommanderProtos.UUID.Builder, com.capitalone.commander.grpc.CommanderProtos.UUIDOrBuilder> parentBuilder_;
+      /**
+       * <pre>
+       * events of this command
+       * </pre>
+       *
+       * <code>optional .commander.UUID parent = 3;</code>
+       */
+      public boolean hasParent() {
+        return parentBuilder_ != null || parent_ != null;
+      }
+      /**
+       * <pre>
+       * events of this command
+       * </pre>
+       *
+       * <code>optional .commander.UUID parent = 3;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.UUID getParent() {
+        if (parentBuilder_ == null) {
+          return parent_ == null ? com.capitalone.commander.grpc.CommanderProtos.UUID.getDefaultInstance() : parent_;
+        } else {
+          return parentBuilder_.getMessage();
+        }
+      }
+      /**
+       * <pre>
+       * events of this command
+       * </pre>
+       *
+       * <code>optional .commander.UUID parent = 3;</code>
+       */
+      public Builder setParent(com.capitalone.commander.grpc.CommanderProtos.UUID value) {
+        if (parentBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          parent_ = value;
+          onChanged();
+        } else {
+          parentBuilder_.setMessage(value);
+        }
+
+        return this;
+      }
+      /**
+       * <pre>
+       * events of this command
+       * </pre>
+       *
+       * <code>optional .commander.UUID parent = 3;</code>
+       */
+      public Builder setParent(
+          com.capitalone.commander.grpc.CommanderProtos.UUID.Builder builderForValue) {
+        if (parentBuilder_ == null) {
+          parent_ = builderForValue.build();
+          onChanged();
+        } else {
+          parentBuilder_.setMessage(builderForValue.build());
+        }
+
+        return this;
+      }
+      /**
+       * <pre>
+       * events of this command
+       * </pre>
+       *
+       * <code>optional .commander.UUID parent = 3;</code>
+       */
+      public Builder mergeParent(com.capitalone.commander.grpc.CommanderProtos.UUID value) {
+        if (parentBuilder_ == null) {
+          if (parent_ != null) {
+            parent_ =
+              com.capitalone.commander.grpc.CommanderProtos.UUID.newBuilder(parent_).mergeFrom(value).buildPartial();
+          } else {
+            parent_ = value;
+          }
+          onChanged();
+        } else {
+          parentBuilder_.mergeFrom(value);
+        }
+
+        return this;
+      }
+      /**
+       * <pre>
+       * events of this command
+       * </pre>
+       *
+       * <code>optional .commander.UUID parent = 3;</code>
+       */
+      public Builder clearParent() {
+        if (parentBuilder_ == null) {
+          parent_ = null;
+          onChanged();
+        } else {
+          parent_ = null;
+          parentBuilder_ = null;
+        }
+
+        return this;
+      }
+      /**
+       * <pre>
+       * events of this command
+       * </pre>
+       *
+       * <code>optional .commander.UUID parent = 3;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.UUID.Builder getParentBuilder() {
+        
+        onChanged();
+        return getParentFieldBuilder().getBuilder();
+      }
+      /**
+       * <pre>
+       * events of this command
+       * </pre>
+       *
+       * <code>optional .commander.UUID parent = 3;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.UUIDOrBuilder getParentOrBuilder() {
+        if (parentBuilder_ != null) {
+          return parentBuilder_.getMessageOrBuilder();
+        } else {
+          return parent_ == null ?
+              com.capitalone.commander.grpc.CommanderProtos.UUID.getDefaultInstance() : parent_;
+        }
+      }
+      /**
+       * <pre>
+       * events of this command
+       * </pre>
+       *
+       * <code>optional .commander.UUID parent = 3;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.capitalone.commander.grpc.CommanderProtos.UUID, com.capitalone.commander.grpc.CommanderProtos.UUID.Builder, com.capitalone.commander.grpc.CommanderProtos.UUIDOrBuilder> 
+          getParentFieldBuilder() {
+        if (parentBuilder_ == null) {
+          parentBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              com.capitalone.commander.grpc.CommanderProtos.UUID, com.capitalone.commander.grpc.CommanderProtos.UUID.Builder, com.capitalone.commander.grpc.CommanderProtos.UUIDOrBuilder>(
+                  getParent(),
+                  getParentForChildren(),
+                  isClean());
+          parent_ = null;
+        }
+        return parentBuilder_;
+      }
+
+      private java.lang.Object topic_ = "";
+      /**
+       * <code>optional string topic = 4;</code>
+       */
+      public java.lang.String getTopic() {
+        java.lang.Object ref = topic_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          topic_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string topic = 4;</code>
+       */
+      public com.google.protobuf.ByteString
+          getTopicBytes() {
+        java.lang.Object ref = topic_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          topic_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string topic = 4;</code>
+       */
+      public Builder setTopic(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        topic_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string topic = 4;</code>
+       */
+      public Builder clearTopic() {
+        
+        topic_ = getDefaultInstance().getTopic();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string topic = 4;</code>
+       */
+      public Builder setTopicBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        topic_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<java.lang.Integer> partitions_ = java.util.Collections.emptyList();
+      private void ensurePartitionsIsMutable() {
+        if (!((bitField0_ & 0x00000010) == 0x00000010)) {
+          partitions_ = new java.util.ArrayList<java.lang.Integer>(partitions_);
+          bitField0_ |= 0x00000010;
+         }
+      }
+      /**
+       * <pre>
+       * any of these partitions
+       * </pre>
+       *
+       * <code>repeated int32 partitions = 5;</code>
+       */
+      public java.util.List<java.lang.Integer>
+          getPartitionsList() {
+        return java.util.Collections.unmodifiableList(partitions_);
+      }
+      /**
+       * <pre>
+       * any of these partitions
+       * </pre>
+       *
+       * <code>repeated int32 partitions = 5;</code>
+       */
+      public int getPartitionsCount() {
+        return partitions_.size();
+      }
+      /**
+       * <pre>
+       * any of these partitions
+       * </pre>
+       *
+       * <code>repeated int32 partitions = 5;</code>
+       */
+      public int getPartitions(int index) {
+        return partitions_.get(index);
+      }
+      /**
+       * <pre>
+       * any of these partitions
+       * </pre>
+       *
+       * <code>repeated int32 partitions = 5;</code>
+       */
+      public Builder setPartitions(
+          int index, int value) {
+        ensurePartitionsIsMutable();
+        partitions_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * any of these partitions
+       * </pre>
+       *
+       * <code>repeated int32 partitions = 5;</code>
+       */
+      public Builder addPartitions(int value) {
+        ensurePartitionsIsMutable();
+        partitions_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * any of these partitions
+       * </pre>
+       *
+       * <code>repeated int32 partitions = 5;</code>
+       */
+      public Builder addAllPartitions(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensurePartitionsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, partitions_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * any of these partitions
+       * </pre>
+       *
+       * <code>repeated int32 partitions = 5;</code>
+       */
+      public Builder clearPartitions() {
+        partitions_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000010);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<com.capitalone.commander.grpc.CommanderProtos.FieldMatch> fields_ =
+        java.util.Collections.emptyList();
+      private void ensureFieldsIsMutable() {
+        if (!((bitField0_ & 0x00000020) == 0x00000020)) {
+          fields_ = new java.util.ArrayList<com.capitalone.commander.grpc.CommanderProtos.FieldMatch>(fields_);
+          bitField0_ |= 0x00000020;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.capitalone.commander.grpc.CommanderProtos.FieldMatch, com.capitalone.commander.grpc.CommanderProtos.FieldMatch.Builder, com.capitalone.commander.grpc.CommanderProtos.FieldMatchOrBuilder> fieldsBuilder_;
+
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public java.util.List<com.capitalone.commander.grpc.CommanderProtos.FieldMatch> getFieldsList() {
+        if (fieldsBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(fields_);
+        } else {
+          return fieldsBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public int getFieldsCount() {
+        if (fieldsBuilder_ == null) {
+          return fields_.size();
+        } else {
+          return fieldsBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.FieldMatch getFields(int index) {
+        if (fieldsBuilder_ == null) {
+          return fields_.get(index);
+        } else {
+          return fieldsBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public Builder setFields(
+          int index, com.capitalone.commander.grpc.CommanderProtos.FieldMatch value) {
+        if (fieldsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureFieldsIsMutable();
+          fields_.set(index, value);
+          onChanged();
+        } else {
+          fieldsBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public Builder setFields(
+          int index, com.capitalone.commander.grpc.CommanderProtos.FieldMatch.Builder builderForValue) {
+        if (fieldsBuilder_ == null) {
+          ensureFieldsIsMutable();
+          fields_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          fieldsBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public Builder addFields(com.capitalone.commander.grpc.CommanderProtos.FieldMatch value) {
+        if (fieldsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureFieldsIsMutable();
+          fields_.add(value);
+          onChanged();
+        } else {
+          fieldsBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public Builder addFields(
+          int index, com.capitalone.commander.grpc.CommanderProtos.FieldMatch value) {
+        if (fieldsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureFieldsIsMutable();
+          fields_.add(index, value);
+          onChanged();
+        } else {
+          fieldsBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public Builder addFields(
+          com.capitalone.commander.grpc.CommanderProtos.FieldMatch.Builder builderForValue) {
+        if (fieldsBuilder_ == null) {
+          ensureFieldsIsMutable();
+          fields_.add(builderForValue.build());
+          onChanged();
+        } else {
+          fieldsBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public Builder addFields(
+          int index, com.capitalone.commander.grpc.CommanderProtos.FieldMatch.Builder builderForValue) {
+        if (fieldsBuilder_ == null) {
+          ensureFieldsIsMutable();
+          fields_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          fieldsBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public Builder addAllFields(
+          java.lang.Iterable<? extends com.capitalone.commander.grpc.CommanderProtos.FieldMatch> values) {
+        if (fieldsBuilder_ == null) {
+          ensureFieldsIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, fields_);
+          onChanged();
+        } else {
+          fieldsBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public Builder clearFields() {
+        if (fieldsBuilder_ == null) {
+          fields_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000020);
+          onChanged();
+        } else {
+          fieldsBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public Builder removeFields(int index) {
+        if (fieldsBuilder_ == null) {
+          ensureFieldsIsMutable();
+          fields_.remove(index);
+          onChanged();
+        } else {
+          fieldsBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.FieldMatch.Builder getFieldsBuilder(
+          int index) {
+        return getFieldsFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.FieldMatchOrBuilder getFieldsOrBuilder(
+          int index) {
+        if (fieldsBuilder_ == null) {
+          return fields_.get(index);  } else {
+          return fieldsBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public java.util.List<? extends com.capitalone.commander.grpc.CommanderProtos.FieldMatchOrBuilder> 
+           getFieldsOrBuilderList() {
+        if (fieldsBuilder_ != null) {
+          return fieldsBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(fields_);
+        }
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.FieldMatch.Builder addFieldsBuilder() {
+        return getFieldsFieldBuilder().addBuilder(
+            com.capitalone.commander.grpc.CommanderProtos.FieldMatch.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.FieldMatch.Builder addFieldsBuilder(
+          int index) {
+        return getFieldsFieldBuilder().addBuilder(
+            index, com.capitalone.commander.grpc.CommanderProtos.FieldMatch.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .commander.FieldMatch fields = 6;</code>
+       */
+      public java.util.List<com.capitalone.commander.grpc.CommanderProtos.FieldMatch.Builder> 
+           getFieldsBuilderList() {
+        return getFieldsFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.capitalone.commander.grpc.CommanderProtos.FieldMatch, com.capitalone.commander.grpc.CommanderProtos.FieldMatch.Builder, com.capitalone.commander.grpc.CommanderProtos.FieldMatchOrBuilder> 
+          getFieldsFieldBuilder() {
+        if (fieldsBuilder_ == null) {
+          fieldsBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              com.capitalone.commander.grpc.CommanderProtos.FieldMatch, com.capitalone.commander.grpc.CommanderProtos.FieldMatch.Builder, com.capitalone.commander.grpc.CommanderProtos.FieldMatchOrBuilder>(
+                  fields_,
+                  ((bitField0_ & 0x00000020) == 0x00000020),
+                  getParentForChildren(),
+                  isClean());
+          fields_ = null;
+        }
+        return fieldsBuilder_;
+      }
+
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.capitalone.commander.grpc.CommanderProtos.Offsets, com.capitalone.commander.grpc.CommanderProtos.Offsets.Builder, com.capitalone.commander.grpc.CommanderProtos.OffsetsOrBuilder> afterOffsetsBuilder_;
+      /**
+       * <pre>
+       * after the last-seen offset of each partition
+       * </pre>
+       *
+       * <code>optional .commander.Offsets after_offsets = 7;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.Offsets getAfterOffsets() {
+        if (afterOffsetsBuilder_ == null) {
+          if (fromCase_ == 7) {
+            return (com.capitalone.commander.grpc.CommanderProtos.Offsets) from_;
+          }
+          return com.capitalone.commander.grpc.CommanderProtos.Offsets.getDefaultInstance();
+        } else {
+          if (fromCase_ == 7) {
+            return afterOffsetsBuilder_.getMessage();
+          }
+          return com.capitalone.commander.grpc.CommanderProtos.Offsets.getDefaultInstance();
+        }
+      }
+      /**
+       * <pre>
+       * after the last-seen offset of each partition
+       * </pre>
+       *
+       * <code>optional .commander.Offsets after_offsets = 7;</code>
+       */
+      public Builder setAfterOffsets(com.capitalone.commander.grpc.CommanderProtos.Offsets value) {
+        if (afterOffsetsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          from_ = value;
+          onChanged();
+        } else {
+          afterOffsetsBuilder_.setMessage(value);
+        }
+        fromCase_ = 7;
+        return this;
+      }
+      /**
+       * <pre>
+       * after the last-seen offset of each partition
+       * </pre>
+       *
+       * <code>optional .commander.Offsets after_offsets = 7;</code>
+       */
+      public Builder setAfterOffsets(
+          com.capitalone.commander.grpc.CommanderProtos.Offsets.Builder builderForValue) {
+        if (afterOffsetsBuilder_ == null) {
+          from_ = builderForValue.build();
+          onChanged();
+        } else {
+          afterOffsetsBuilder_.setMessage(builderForValue.build());
+        }
+        fromCase_ = 7;
+        return this;
+      }
+      /**
+       * <pre>
+       * after the last-seen offset of each partition
+       * </pre>
+       *
+       * <code>optional .commander.Offsets after_offsets = 7;</code>
+       */
+      public Builder mergeAfterOffsets(com.capitalone.commander.grpc.CommanderProtos.Offsets value) {
+        if (afterOffsetsBuilder_ == null) {
+          if (fromCase_ == 7 &&
+              from_ != com.capitalone.commander.grpc.CommanderProtos.Offsets.getDefaultInstance()) {
+            from_ = com.capitalone.commander.grpc.CommanderProtos.Offsets.newBuilder((com.capitalone.commander.grpc.CommanderProtos.Offsets) from_)
+                .mergeFrom(value).buildPartial();
+          } else {
+            from_ = value;
+          }
+          onChanged();
+        } else {
+          if (fromCase_ == 7) {
+            afterOffsetsBuilder_.mergeFrom(value);
+          }
+          afterOffsetsBuilder_.setMessage(value);
+        }
+        fromCase_ = 7;
+        return this;
+      }
+      /**
+       * <pre>
+       * after the last-seen offset of each partition
+       * </pre>
+       *
+       * <code>optional .commander.Offsets after_offsets = 7;</code>
+       */
+      public Builder clearAfterOffsets() {
+        if (afterOffsetsBuilder_ == null) {
+          if (fromCase_ == 7) {
+            fromCase_ = 0;
+            from_ = null;
+            onChanged();
+          }
+        } else {
+          if (fromCase_ == 7) {
+            fromCase_ = 0;
+            from_ = null;
+          }
+          afterOffsetsBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * after the last-seen offset of each partition
+       * </pre>
+       *
+       * <code>optional .commander.Offsets after_offsets = 7;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.Offsets.Builder getAfterOffsetsBuilder() {
+        return getAfterOffsetsFieldBuilder().getBuilder();
+      }
+      /**
+       * <pre>
+       * after the last-seen offset of each partition
+       * </pre>
+       *
+       * <code>optional .commander.Offsets after_offsets = 7;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.OffsetsOrBuilder getAfterOffsetsOrBuilder() {
+        if ((fromCase_ == 7) && (afterOffsetsBuilder_ != null)) {
+          return afterOffsetsBuilder_.getMessageOrBuilder();
+        } else {
+          if (fromCase_ == 7) {
+            return (com.capitalone.commander.grpc.CommanderProtos.Offsets) from_;
+          }
+          return com.capitalone.commander.grpc.CommanderProtos.Offsets.getDefaultInstance();
+        }
+      }
+      /**
+       * <pre>
+       * after the last-seen offset of each partition
+       * </pre>
+       *
+       * <code>optional .commander.Offsets after_offsets = 7;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.capitalone.commander.grpc.CommanderProtos.Offsets, com.capitalone.commander.grpc.CommanderProtos.Offsets.Builder, com.capitalone.commander.grpc.CommanderProtos.OffsetsOrBuilder> 
+          getAfterOffsetsFieldBuilder() {
+        if (afterOffsetsBuilder_ == null) {
+          if (!(fromCase_ == 7)) {
+            from_ = com.capitalone.commander.grpc.CommanderProtos.Offsets.getDefaultInstance();
+          }
+          afterOffsetsBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              com.capitalone.commander.grpc.CommanderProtos.Offsets, com.capitalone.commander.grpc.CommanderProtos.Offsets.Builder, com.capitalone.commander.grpc.CommanderProtos.OffsetsOrBuilder>(
+                  (com.capitalone.commander.grpc.CommanderProtos.Offsets) from_,
+                  getParentForChildren(),
+                  isClean());
+          from_ = null;
+        }
+        fromCase_ = 7;
+        onChanged();;
+        return afterOffsetsBuilder_;
+      }
+
+      /**
+       * <pre>
+       * from this timestamp (ms) onward
+       * </pre>
+       *
+       * <code>optional int64 since_timestamp = 8;</code>
+       */
+      public long getSinceTimestamp() {
+        if (fromCase_ == 8) {
+          return (java.lang.Long) from_;
+        }
+        return 0L;
+      }
+      /**
+       * <pre>
+       * from this timestamp (ms) onward
+       * </pre>
+       *
+       * <code>optional int64 since_timestamp = 8;</code>
+       */
+      public Builder setSinceTimestamp(long value) {
+        fromCase_ = 8;
+        from_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * from this timestamp (ms) onward
+       * </pre>
+       *
+       * <code>optional int64 since_timestamp = 8;</code>
+       */
+      public Builder clearSinceTimestamp() {
+        if (fromCase_ == 8) {
+          fromCase_ = 0;
+          from_ = null;
+          onChanged();
+        }
+        return this;
+      }
+
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.capitalone.commander.grpc.CommanderProtos.UUID, com.capitalone.commander.grpc.CommanderProtos.UUID.Builder, com.capitalone.commander.grpc.CommanderProtos.UUIDOrBuilder> afterIdBuilder_;
+      /**
+       * <pre>
+       * after the last-seen record
+       * </pre>
+       *
+       * <code>optional .commander.UUID after_id = 9;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.UUID getAfterId() {
+        if (afterIdBuilder_ == null) {
+          if (fromCase_ == 9) {
+            return (com.capitalone.commander.grpc.CommanderProtos.UUID) from_;
+          }
+          return com.capitalone.commander.grpc.CommanderProtos.UUID.getDefaultInstance();
+        } else {
+          if (fromCase_ == 9) {
+            return afterIdBuilder_.getMessage();
+          }
+          return com.capitalone.commander.grpc.CommanderProtos.UUID.getDefaultInstance();
+        }
+      }
+      /**
+       * <pre>
+       * after the last-seen record
+       * </pre>
+       *
+       * <code>optional .commander.UUID after_id = 9;</code>
+       */
+      public Builder setAfterId(com.capitalone.commander.grpc.CommanderProtos.UUID value) {
+        if (afterIdBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          from_ = value;
+          onChanged();
+        } else {
+          afterIdBuilder_.setMessage(value);
+        }
+        fromCase_ = 9;
+        return this;
+      }
+      /**
+       * <pre>
+       * after the last-seen record
+       * </pre>
+       *
+       * <code>optional .commander.UUID after_id = 9;</code>
+       */
+      public Builder setAfterId(
+          com.capitalone.commander.grpc.CommanderProtos.UUID.Builder builderForValue) {
+        if (afterIdBuilder_ == null) {
+          from_ = builderForValue.build();
+          onChanged();
+        } else {
+          afterIdBuilder_.setMessage(builderForValue.build());
+        }
+        fromCase_ = 9;
+        return this;
+      }
+      /**
+       * <pre>
+       * after the last-seen record
+       * </pre>
+       *
+       * <code>optional .commander.UUID after_id = 9;</code>
+       */
+      public Builder mergeAfterId(com.capitalone.commander.grpc.CommanderProtos.UUID value) {
+        if (afterIdBuilder_ == null) {
+          if (fromCase_ == 9 &&
+              from_ != com.capitalone.commander.grpc.CommanderProtos.UUID.getDefaultInstance()) {
+            from_ = com.capitalone.commander.grpc.CommanderProtos.UUID.newBuilder((com.capitalone.commander.grpc.CommanderProtos.UUID) from_)
+                .mergeFrom(value).buildPartial();
+          } else {
+            from_ = value;
+          }
+          onChanged();
+        } else {
+          if (fromCase_ == 9) {
+            afterIdBuilder_.mergeFrom(value);
+          }
+          afterIdBuilder_.setMessage(value);
+        }
+        fromCase_ = 9;
+        return this;
+      }
+      /**
+       * <pre>
+       * after the last-seen record
+       * </pre>
+       *
+       * <code>optional .commander.UUID after_id = 9;</code>
+       */
+      public Builder clearAfterId() {
+        if (afterIdBuilder_ == null) {
+          if (fromCase_ == 9) {
+            fromCase_ = 0;
+            from_ = null;
+            onChanged();
+          }
+        } else {
+          if (fromCase_ == 9) {
+            fromCase_ = 0;
+            from_ = null;
+          }
+          afterIdBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * after the last-seen record
+       * </pre>
+       *
+       * <code>optional .commander.UUID after_id = 9;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.UUID.Builder getAfterIdBuilder() {
+        return getAfterIdFieldBuilder().getBuilder();
+      }
+      /**
+       * <pre>
+       * after the last-seen record
+       * </pre>
+       *
+       * <code>optional .commander.UUID after_id = 9;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.UUIDOrBuilder getAfterIdOrBuilder() {
+        if ((fromCase_ == 9) && (afterIdBuilder_ != null)) {
+          return afterIdBuilder_.getMessageOrBuilder();
+        } else {
+          if (fromCase_ == 9) {
+            return (com.capitalone.commander.grpc.CommanderProtos.UUID) from_;
+          }
+          return com.capitalone.commander.grpc.CommanderProtos.UUID.getDefaultInstance();
+        }
+      }
+      /**
+       * <pre>
+       * after the last-seen record
+       * </pre>
+       *
+       * <code>optional .commander.UUID after_id = 9;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.capitalone.commander.grpc.CommanderProtos.UUID, com.capitalone.commander.grpc.CommanderProtos.UUID.Builder, com.capitalone.commander.grpc.CommanderProtos.UUIDOrBuilder> 
+          getAfterIdFieldBuilder() {
+        if (afterIdBuilder_ == null) {
+          if (!(fromCase_ == 9)) {
+            from_ = com.capitalone.commander.grpc.CommanderProtos.UUID.getDefaultInstance();
+          }
+          afterIdBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              com.capitalone.commander.grpc.CommanderProtos.UUID, com.capitalone.commander.grpc.CommanderProtos.UUID.Builder, com.capitalone.commander.grpc.CommanderProtos.UUIDOrBuilder>(
+                  (com.capitalone.commander.grpc.CommanderProtos.UUID) from_,
+                  getParentForChildren(),
+                  isClean());
+          from_ = null;
+        }
+        fromCase_ = 9;
+        onChanged();;
+        return afterIdBuilder_;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:commander.StreamRequest)
+    }
+
+    // @@protoc_insertion_point(class_scope:commander.StreamRequest)
+    private static final com.capitalone.commander.grpc.CommanderProtos.StreamRequest DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.capitalone.commander.grpc.CommanderProtos.StreamRequest();
+    }
+
+    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<StreamRequest>
+        PARSER = new com.google.protobuf.AbstractParser<StreamRequest>() {
+      public StreamRequest parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new StreamRequest(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<StreamRequest> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<StreamRequest> getParserForType() {
+      return PARSER;
+    }
+
+    public com.capitalone.commander.grpc.CommanderProtos.StreamRequest getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface OffsetsOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:commander.Offsets)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+     */
+    java.util.List<com.capitalone.commander.grpc.CommanderProtos.PartitionOffset> 
+        getOffsetsList();
+    /**
+     * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+     */
+    com.capitalone.commander.grpc.CommanderProtos.PartitionOffset getOffsets(int index);
+    /**
+     * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+     */
+    int getOffsetsCount();
+    /**
+     * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+     */
+    java.util.List<? extends com.capitalone.commander.grpc.CommanderProtos.PartitionOffsetOrBuilder> 
+        getOffsetsOrBuilderList();
+    /**
+     * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+     */
+    com.capitalone.commander.grpc.CommanderProtos.PartitionOffsetOrBuilder getOffsetsOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code commander.Offsets}
+   */
+  public  static final class Offsets extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:commander.Offsets)
+      OffsetsOrBuilder {
+    // Use Offsets.newBuilder() to construct.
+    private Offsets(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private Offsets() {
+      offsets_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return com.google.protobuf.UnknownFieldSet.getDefaultInstance();
+    }
+    private Offsets(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!input.skipField(tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+                offsets_ = new java.util.ArrayList<com.capitalone.commander.grpc.CommanderProtos.PartitionOffset>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              offsets_.add(
+                  input.readMessage(com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.parser(), extensionRegistry));
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+          offsets_ = java.util.Collections.unmodifiableList(offsets_);
+        }
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_Offsets_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_Offsets_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.capitalone.commander.grpc.CommanderProtos.Offsets.class, com.capitalone.commander.grpc.CommanderProtos.Offsets.Builder.class);
+    }
+
+    public static final int OFFSETS_FIELD_NUMBER = 1;
+    private java.util.List<com.capitalone.commander.grpc.CommanderProtos.PartitionOffset> offsets_;
+    /**
+     * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+     */
+    public java.util.List<com.capitalone.commander.grpc.CommanderProtos.PartitionOffset> getOffsetsList() {
+      return offsets_;
+    }
+    /**
+     * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+     */
+    public java.util.List<? extends com.capitalone.commander.grpc.CommanderProtos.PartitionOffsetOrBuilder> 
+        getOffsetsOrBuilderList() {
+      return offsets_;
+    }
+    /**
+     * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+     */
+    public int getOffsetsCount() {
+      return offsets_.size();
+    }
+    /**
+     * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+     */
+    public com.capitalone.commander.grpc.CommanderProtos.PartitionOffset getOffsets(int index) {
+      return offsets_.get(index);
+    }
+    /**
+     * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+     */
+    public com.capitalone.commander.grpc.CommanderProtos.PartitionOffsetOrBuilder getOffsetsOrBuilder(
+        int index) {
+      return offsets_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      for (int i = 0; i < offsets_.size(); i++) {
+        output.writeMessage(1, offsets_.get(i));
+      }
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < offsets_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, offsets_.get(i));
+      }
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.capitalone.commander.grpc.CommanderProtos.Offsets)) {
+        return super.equals(obj);
+      }
+      com.capitalone.commander.grpc.CommanderProtos.Offsets other = (com.capitalone.commander.grpc.CommanderProtos.Offsets) obj;
+
+      boolean result = true;
+      result = result && getOffsetsList()
+          .equals(other.getOffsetsList());
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (getOffsetsCount() > 0) {
+        hash = (37 * hash) + OFFSETS_FIELD_NUMBER;
+        hash = (53 * hash) + getOffsetsList().hashCode();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.capitalone.commander.grpc.CommanderProtos.Offsets parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.Offsets parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.Offsets parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.Offsets parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.Offsets parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.Offsets parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.Offsets parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.Offsets parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.Offsets parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.Offsets parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.capitalone.commander.grpc.CommanderProtos.Offsets prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code commander.Offsets}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:commander.Offsets)
+        com.capitalone.commander.grpc.CommanderProtos.OffsetsOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_Offsets_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_Offsets_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.capitalone.commander.grpc.CommanderProtos.Offsets.class, com.capitalone.commander.grpc.CommanderProtos.Offsets.Builder.class);
+      }
+
+      // Construct using com.capitalone.commander.grpc.CommanderProtos.Offsets.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+          getOffsetsFieldBuilder();
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        if (offsetsBuilder_ == null) {
+          offsets_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          offsetsBuilder_.clear();
+        }
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_Offsets_descriptor;
+      }
+
+      public com.capitalone.commander.grpc.CommanderProtos.Offsets getDefaultInstanceForType() {
+        return com.capitalone.commander.grpc.CommanderProtos.Offsets.getDefaultInstance();
+      }
+
+      public com.capitalone.commander.grpc.CommanderProtos.Offsets build() {
+        com.capitalone.commander.grpc.CommanderProtos.Offsets result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.capitalone.commander.grpc.CommanderProtos.Offsets buildPartial() {
+        com.capitalone.commander.grpc.CommanderProtos.Offsets result = new com.capitalone.commander.grpc.CommanderProtos.Offsets(this);
+        int from_bitField0_ = bitField0_;
+        if (offsetsBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001)) {
+            offsets_ = java.util.Collections.unmodifiableList(offsets_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.offsets_ = offsets_;
+        } else {
+          result.offsets_ = offsetsBuilder_.build();
+        }
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.capitalone.commander.grpc.CommanderProtos.Offsets) {
+          return mergeFrom((com.capitalone.commander.grpc.CommanderProtos.Offsets)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.capitalone.commander.grpc.CommanderProtos.Offsets other) {
+        if (other == com.capitalone.commander.grpc.CommanderProtos.Offsets.getDefaultInstance()) return this;
+        if (offsetsBuilder_ == null) {
+          if (!other.offsets_.isEmpty()) {
+            if (offsets_.isEmpty()) {
+              offsets_ = other.offsets_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureOffsetsIsMutable();
+              offsets_.addAll(other.offsets_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.offsets_.isEmpty()) {
+            if (offsetsBuilder_.isEmpty()) {
+              offsetsBuilder_.dispose();
+              offsetsBuilder_ = null;
+              offsets_ = other.offsets_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              offsetsBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getOffsetsFieldBuilder() : null;
+            } else {
+              offsetsBuilder_.addAllMessages(other.offsets_);
+            }
+          }
+        }
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.capitalone.commander.grpc.CommanderProtos.Offsets parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.capitalone.commander.grpc.CommanderProtos.Offsets) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.util.List<com.capitalone.commander.grpc.CommanderProtos.PartitionOffset> offsets_ =
+        java.util.Collections.emptyList();
+      private void ensureOffsetsIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          offsets_ = new java.util.ArrayList<com.capitalone.commander.grpc.CommanderProtos.PartitionOffset>(offsets_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.capitalone.commander.grpc.CommanderProtos.PartitionOffset, com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.Builder, com.capitalone.commander.grpc.CommanderProtos.PartitionOffsetOrBuilder> offsetsBuilder_;
+
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public java.util.List<com.capitalone.commander.grpc.CommanderProtos.PartitionOffset> getOffsetsList() {
+        if (offsetsBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(offsets_);
+        } else {
+          return offsetsBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public int getOffsetsCount() {
+        if (offsetsBuilder_ == null) {
+          return offsets_.size();
+        } else {
+          return offsetsBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.PartitionOffset getOffsets(int index) {
+        if (offsetsBuilder_ == null) {
+          return offsets_.get(index);
+        } else {
+          return offsetsBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public Builder setOffsets(
+          int index, com.capitalone.commander.grpc.CommanderProtos.PartitionOffset value) {
+        if (offsetsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureOffsetsIsMutable();
+          offsets_.set(index, value);
+          onChanged();
+        } else {
+          offsetsBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public Builder setOffsets(
+          int index, com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.Builder builderForValue) {
+        if (offsetsBuilder_ == null) {
+          ensureOffsetsIsMutable();
+          offsets_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          offsetsBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public Builder addOffsets(com.capitalone.commander.grpc.CommanderProtos.PartitionOffset value) {
+        if (offsetsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureOffsetsIsMutable();
+          offsets_.add(value);
+          onChanged();
+        } else {
+          offsetsBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public Builder addOffsets(
+          int index, com.capitalone.commander.grpc.CommanderProtos.PartitionOffset value) {
+        if (offsetsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureOffsetsIsMutable();
+          offsets_.add(index, value);
+          onChanged();
+        } else {
+          offsetsBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public Builder addOffsets(
+          com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.Builder builderForValue) {
+        if (offsetsBuilder_ == null) {
+          ensureOffsetsIsMutable();
+          offsets_.add(builderForValue.build());
+          onChanged();
+        } else {
+          offsetsBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public Builder addOffsets(
+          int index, com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.Builder builderForValue) {
+        if (offsetsBuilder_ == null) {
+          ensureOffsetsIsMutable();
+          offsets_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          offsetsBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public Builder addAllOffsets(
+          java.lang.Iterable<? extends com.capitalone.commander.grpc.CommanderProtos.PartitionOffset> values) {
+        if (offsetsBuilder_ == null) {
+          ensureOffsetsIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, offsets_);
+          onChanged();
+        } else {
+          offsetsBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public Builder clearOffsets() {
+        if (offsetsBuilder_ == null) {
+          offsets_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          offsetsBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public Builder removeOffsets(int index) {
+        if (offsetsBuilder_ == null) {
+          ensureOffsetsIsMutable();
+          offsets_.remove(index);
+          onChanged();
+        } else {
+          offsetsBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.Builder getOffsetsBuilder(
+          int index) {
+        return getOffsetsFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.PartitionOffsetOrBuilder getOffsetsOrBuilder(
+          int index) {
+        if (offsetsBuilder_ == null) {
+          return offsets_.get(index);  } else {
+          return offsetsBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public java.util.List<? extends com.capitalone.commander.grpc.CommanderProtos.PartitionOffsetOrBuilder> 
+           getOffsetsOrBuilderList() {
+        if (offsetsBuilder_ != null) {
+          return offsetsBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(offsets_);
+        }
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.Builder addOffsetsBuilder() {
+        return getOffsetsFieldBuilder().addBuilder(
+            com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.Builder addOffsetsBuilder(
+          int index) {
+        return getOffsetsFieldBuilder().addBuilder(
+            index, com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .commander.PartitionOffset offsets = 1;</code>
+       */
+      public java.util.List<com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.Builder> 
+           getOffsetsBuilderList() {
+        return getOffsetsFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.capitalone.commander.grpc.CommanderProtos.PartitionOffset, com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.Builder, com.capitalone.commander.grpc.CommanderProtos.PartitionOffsetOrBuilder> 
+          getOffsetsFieldBuilder() {
+        if (offsetsBuilder_ == null) {
+          offsetsBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              com.capitalone.commander.grpc.CommanderProtos.PartitionOffset, com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.Builder, com.capitalone.commander.grpc.CommanderProtos.PartitionOffsetOrBuilder>(
+                  offsets_,
+                  ((bitField0_ & 0x00000001) == 0x00000001),
+                  getParentForChildren(),
+                  isClean());
+          offsets_ = null;
+        }
+        return offsetsBuilder_;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:commander.Offsets)
+    }
+
+    // @@protoc_insertion_point(class_scope:commander.Offsets)
+    private static final com.capitalone.commander.grpc.CommanderProtos.Offsets DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.capitalone.commander.grpc.CommanderProtos.Offsets();
+    }
+
+    public static com.capitalone.commander.grpc.CommanderProtos.Offsets getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<Offsets>
+        PARSER = new com.google.protobuf.AbstractParser<Offsets>() {
+      public Offsets parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new Offsets(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<Offsets> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<Offsets> getParserForType() {
+      return PARSER;
+    }
+
+    public com.capitalone.commander.grpc.CommanderProtos.Offsets getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface PartitionOffsetOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:commander.PartitionOffset)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string topic = 1;</code>
+     */
+    java.lang.String getTopic();
+    /**
+     * <code>optional string topic = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getTopicBytes();
+
+    /**
+     * <code>optional int32 partition = 2;</code>
+     */
+    int getPartition();
+
+    /**
+     * <code>optional int64 offset = 3;</code>
+     */
+    long getOffset();
+  }
+  /**
+   * Protobuf type {@code commander.PartitionOffset}
+   */
+  public  static final class PartitionOffset extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:commander.PartitionOffset)
+      PartitionOffsetOrBuilder {
+    // Use PartitionOffset.newBuilder() to construct.
+    private PartitionOffset(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private PartitionOffset() {
+      topic_ = "";
+      partition_ = 0;
+      offset_ = 0L;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return com.google.protobuf.UnknownFieldSet.getDefaultInstance();
+    }
+    private PartitionOffset(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!input.skipField(tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              topic_ = s;
+              break;
+            }
+            case 16: {
+
+              partition_ = input.readInt32();
+              break;
+            }
+            case 24: {
+
+              offset_ = input.readInt64();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_PartitionOffset_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_PartitionOffset_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.class, com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.Builder.class);
+    }
+
+    public static final int TOPIC_FIELD_NUMBER = 1;
+    private volatile java.lang.Object topic_;
+    /**
+     * <code>optional string topic = 1;</code>
+     */
+    public java.lang.String getTopic() {
+      java.lang.Object ref = topic_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        topic_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string topic = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getTopicBytes() {
+      java.lang.Object ref = topic_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        topic_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int PARTITION_FIELD_NUMBER = 2;
+    private int partition_;
+    /**
+     * <code>optional int32 partition = 2;</code>
+     */
+    public int getPartition() {
+      return partition_;
+    }
+
+    public static final int OFFSET_FIELD_NUMBER = 3;
+    private long offset_;
+    /**
+     * <code>optional int64 offset = 3;</code>
+     */
+    public long getOffset() {
+      return offset_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (!getTopicBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, topic_);
+      }
+      if (partition_ != 0) {
+        output.writeInt32(2, partition_);
+      }
+      if (offset_ != 0L) {
+        output.writeInt64(3, offset_);
+      }
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (!getTopicBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, topic_);
+      }
+      if (partition_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(2, partition_);
+      }
+      if (offset_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(3, offset_);
+      }
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.capitalone.commander.grpc.CommanderProtos.PartitionOffset)) {
+        return super.equals(obj);
+      }
+      com.capitalone.commander.grpc.CommanderProtos.PartitionOffset other = (com.capitalone.commander.grpc.CommanderProtos.PartitionOffset) obj;
+
+      boolean result = true;
+      result = result && getTopic()
+          .equals(other.getTopic());
+      result = result && (getPartition()
+          == other.getPartition());
+      result = result && (getOffset()
+          == other.getOffset());
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      hash = (37 * hash) + TOPIC_FIELD_NUMBER;
+      hash = (53 * hash) + getTopic().hashCode();
+      hash = (37 * hash) + PARTITION_FIELD_NUMBER;
+      hash = (53 * hash) + getPartition();
+      hash = (37 * hash) + OFFSET_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getOffset());
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.capitalone.commander.grpc.CommanderProtos.PartitionOffset parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.PartitionOffset parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.PartitionOffset parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.PartitionOffset parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.PartitionOffset parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.PartitionOffset parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.PartitionOffset parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.PartitionOffset parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.PartitionOffset parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.capitalone.commander.grpc.CommanderProtos.PartitionOffset parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.capitalone.commander.grpc.CommanderProtos.PartitionOffset prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code commander.PartitionOffset}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:commander.PartitionOffset)
+        com.capitalone.commander.grpc.CommanderProtos.PartitionOffsetOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_PartitionOffset_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_PartitionOffset_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.class, com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.Builder.class);
+      }
+
+      // Construct using com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        topic_ = "";
+
+        partition_ = 0;
+
+        offset_ = 0L;
+
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_PartitionOffset_descriptor;
+      }
+
+      public com.capitalone.commander.grpc.CommanderProtos.PartitionOffset getDefaultInstanceForType() {
+        return com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.getDefaultInstance();
+      }
+
+      public com.capitalone.commander.grpc.CommanderProtos.PartitionOffset build() {
+        com.capitalone.commander.grpc.CommanderProtos.PartitionOffset result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.capitalone.commander.grpc.CommanderProtos.PartitionOffset buildPartial() {
+        com.capitalone.commander.grpc.CommanderProtos.PartitionOffset result = new com.capitalone.commander.grpc.CommanderProtos.PartitionOffset(this);
+        result.topic_ = topic_;
+        result.partition_ = partition_;
+        result.offset_ = offset_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.capitalone.commander.grpc.CommanderProtos.PartitionOffset) {
+          return mergeFrom((com.capitalone.commander.grpc.CommanderProtos.PartitionOffset)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.capitalone.commander.grpc.CommanderProtos.PartitionOffset other) {
+        if (other == com.capitalone.commander.grpc.CommanderProtos.PartitionOffset.getDefaultInstance()) return this;
+        if (!other.getTopic().isEmpty()) {
+          topic_ = other.topic_;
+          onChanged();
+        }
+        if (other.getPartition() != 0) {
+          setPartition(other.getPartition());
+        }
+        if (other.getOffset() != 0L) {
+          setOffset(other.getOffset());
+        }
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.capitalone.commander.grpc.CommanderProtos.PartitionOffset parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.capitalone.commander.grpc.CommanderProtos.PartitionOffset) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private java.lang.Object topic_ = "";
+      /**
+       * <code>optional string topic = 1;</code>
+       */
+      public java.lang.String getTopic() {
+        java.lang.Object ref = topic_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          topic_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string topic = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getTopicBytes() {
+        java.lang.Object ref = topic_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          topic_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string topic = 1;</code>
+       */
+      public Builder setTopic(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        topic_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string topic = 1;</code>
+       */
+      public Builder clearTopic() {
+        
+        topic_ = getDefaultInstance().getTopic();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string topic = 1;</code>
+       */
+      public Builder setTopicBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        topic_ = value;
+        onChanged();
+        return this;
+      }
+
+      private int partition_ ;
+      /**
+       * <code>optional int32 partition = 2;</code>
+       */
+      public int getPartition() {
+        return partition_;
+      }
+      /**
+       * <code>optional int32 partition = 2;</code>
+       */
+      public Builder setPartition(int value) {
+        
+        partition_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 partition = 2;</code>
+       */
+      public Builder clearPartition() {
+        
+        partition_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private long offset_ ;
+      /**
+       * <code>optional int64 offset = 3;</code>
+       */
+      public long getOffset() {
+        return offset_;
+      }
+      /**
+       * <code>optional int64 offset = 3;</code>
+       */
+      public Builder setOffset(long value) {
+        
+        offset_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 offset = 3;</code>
+       */
+      public Builder clearOffset() {
+        
+        offset_ = 0L;
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:commander.PartitionOffset)
+    }
+
+    // @@protoc_insertion_point(class_scope:commander.PartitionOffset)
+    private static final com.capitalone.commander.grpc.CommanderProtos.PartitionOffset DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.capitalone.commander.grpc.CommanderProtos.PartitionOffset();
+    }
+
+    public static com.capitalone.commander.grpc.CommanderProtos.PartitionOffset getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<PartitionOffset>
+        PARSER = new com.google.protobuf.AbstractParser<PartitionOffset>() {
+      public PartitionOffset parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new PartitionOffset(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<PartitionOffset> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<PartitionOffset> getParserForType() {
+      return PARSER;
+    }
+
+    public com.capitalone.commander.grpc.CommanderProtos.PartitionOffset getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface FieldMatchOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:commander.FieldMatch)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <pre>
+     * dot-separated path into data, e.g. "address.city"
+     * </pre>
+     *
+     * <code>optional string path = 1;</code>
+     */
+    java.lang.String getPath();
+    /**
+     * <pre>
+     * dot-separated path into data, e.g. "address.city"
+     * </pre>
+     *
+     * <code>optional string path = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getPathBytes();
+
+    /**
+     * <pre>
+     * value held at path
+     * </pre>
+     *
+     * <code>optional .google.protobuf.Value value = 2;</code>
+     */
+    boolean hasValue();
+    /**
+     * <pre>
+     * value held at path
+     * </pre>
+     *
+     * <code>optional .google.protobuf.Value value = 2;</code>
+     */
+    com.google.protobuf.Value getValue();
+    /**
+     * <pre>
+     * value held at path
+     * </pre>
+     *
+     * <code>optional .google.protobuf.Value value = 2;</code>
+     */
+    com.google.protobuf.ValueOrBuilder getValueOrBuilder();
+  }
+  /**
+   * Protobuf type {@code commander.FieldMatch}
+   */
+  public  static final class FieldMatch extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:commander.FieldMatch)
+      FieldMatchOrBuilder {
+    // Use FieldMatch.newBuilder() to construct.
+    private FieldMatch(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private FieldMatch() {
+      path_ = "";
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return com.google.protobuf.UnknownFieldSet.getDefaultInstance();
+    }
+    private FieldMatch(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!input.skipField(tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              path_ = s;
+              break;
+            }
+            case 18: {
+              com.google.protobuf.Value.Builder subBuilder = null;
+              if (value_ != null) {
+                subBuilder = value_.toBuilder();
+              }
+              value_ = input.readMessage(com.google.protobuf.Value.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(value_);
+                value_ = subBuilder.buildPartial();
+              }
+
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_FieldMatch_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_FieldMatch_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.capitalone.commander.grpc.CommanderProtos.FieldMatch.class, com.capitalone.commander.grpc.CommanderProtos.FieldMatch.Builder.class);
+    }
+
+    public static final int PATH_FIELD_NUMBER = 1;
+    private volatile java.lang.Object path_;
+    /**
+     * <pre>
+     * dot-separated path into data, e.g. "address.city"
+     * </pre>
+     *
+     * <code>optional string path = 1;</code>
+     */
+    public java.lang.String getPath() {
+      java.lang.Object ref = path_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        path_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     * dot-separated path into data, e.g. "address.city"
+     * </pre>
+     *
+     * <code>optional string path = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getPathBytes() {
+      java.lang.Object ref = path_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        path_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int VALUE_FIELD_NUMBER = 2;
+    private com.google.protobuf.Value value_;
+    /**
+     * <pre>
+     * value held at path
+     * </pre>
+     *
+     * <code>optional .google.protobuf.Value value = 2;</code>
+     */
+    public boolean hasValue() {
+      return value_ != null;
+    }
+    /**
+     * <pre>
+     * value held at path
+     * </pre>
+     *
+     * <code>optional .google.protobuf.Value value = 2;</code>
+     */
+    public com.google.protobuf.Value getValue() {
+      return value_ == null ? com.google.protobuf.Value.getDefaultInstance() : value_;
+    }
+    /**
+     * <pre>
+     * value held at path
+     * </pre>
+     *
+     * <code>optional .google.protobuf.Value value = 2;</code>
+     */
+    public com.google.protobuf.ValueOrBuilder getValueOrBuilder() {
+      return getValue();
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
       if (isInitialized == 1) return true;
       if (isInitialized == 0) return false;
 
@@ -6731,6 +11264,12 @@ public final class CommanderProtos {
 
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
+      if (!getPathBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, path_);
+      }
+      if (value_ != null) {
+        output.writeMessage(2, getValue());
+      }
     }
 
     public int getSerializedSize() {
@@ -6738,6 +11277,13 @@ public final class CommanderProtos {
       if (size != -1) return size;
 
       size = 0;
+      if (!getPathBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, path_);
+      }
+      if (value_ != null) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, getValue());
+      }
       memoizedSize = size;
       return size;
     }
@@ -6748,12 +11294,19 @@ public final class CommanderProtos {
       if (obj == this) {
        return true;
       }
-      if (!(obj instanceof com.capitalone.commander.grpc.CommanderProtos.StreamRequest)) {
+      if (!(obj instanceof com.capitalone.commander.grpc.CommanderProtos.FieldMatch)) {
         return super.equals(obj);
       }
-      com.capitalone.commander.grpc.CommanderProtos.StreamRequest other = (com.capitalone.commander.grpc.CommanderProtos.StreamRequest) obj;
+      com.capitalone.commander.grpc.CommanderProtos.FieldMatch other = (com.capitalone.commander.grpc.CommanderProtos.FieldMatch) obj;
 
       boolean result = true;
+      result = result && getPath()
+          .equals(other.getPath());
+      result = result && (hasValue() == other.hasValue());
+      if (hasValue()) {
+        result = result && getValue()
+            .equals(other.getValue());
+      }
       return result;
     }
 
@@ -6764,63 +11317,69 @@ public final class CommanderProtos {
       }
       int hash = 41;
       hash = (19 * hash) + getDescriptorForType().hashCode();
+      hash = (37 * hash) + PATH_FIELD_NUMBER;
+      hash = (53 * hash) + getPath().hashCode();
+      if (hasValue()) {
+        hash = (37 * hash) + VALUE_FIELD_NUMBER;
+        hash = (53 * hash) + getValue().hashCode();
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
     }
 
-    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(
+    public static com.capitalone.commander.grpc.CommanderProtos.FieldMatch parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(
+    public static com.capitalone.commander.grpc.CommanderProtos.FieldMatch parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(byte[] data)
+    public static com.capitalone.commander.grpc.CommanderProtos.FieldMatch parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(
+    public static com.capitalone.commander.grpc.CommanderProtos.FieldMatch parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(java.io.InputStream input)
+    public static com.capitalone.commander.grpc.CommanderProtos.FieldMatch parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseWithIOException(PARSER, input);
     }
-    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(
+    public static com.capitalone.commander.grpc.CommanderProtos.FieldMatch parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseWithIOException(PARSER, input, extensionRegistry);
     }
-    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseDelimitedFrom(java.io.InputStream input)
+    public static com.capitalone.commander.grpc.CommanderProtos.FieldMatch parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseDelimitedWithIOException(PARSER, input);
     }
-    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseDelimitedFrom(
+    public static com.capitalone.commander.grpc.CommanderProtos.FieldMatch parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
     }
-    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(
+    public static com.capitalone.commander.grpc.CommanderProtos.FieldMatch parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseWithIOException(PARSER, input);
     }
-    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest parseFrom(
+    public static com.capitalone.commander.grpc.CommanderProtos.FieldMatch parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -6832,7 +11391,7 @@ public final class CommanderProtos {
     public static Builder newBuilder() {
       return DEFAULT_INSTANCE.toBuilder();
     }
-    public static Builder newBuilder(com.capitalone.commander.grpc.CommanderProtos.StreamRequest prototype) {
+    public static Builder newBuilder(com.capitalone.commander.grpc.CommanderProtos.FieldMatch prototype) {
       return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() {
@@ -6847,25 +11406,25 @@ public final class CommanderProtos {
       return builder;
     }
     /**
-     * Protobuf type {@code commander.StreamRequest}
+     * Protobuf type {@code commander.FieldMatch}
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:commander.StreamRequest)
-        com.capitalone.commander.grpc.CommanderProtos.StreamRequestOrBuilder {
+        // @@protoc_insertion_point(builder_implements:commander.FieldMatch)
+        com.capitalone.commander.grpc.CommanderProtos.FieldMatchOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_StreamRequest_descriptor;
+        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_FieldMatch_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_StreamRequest_fieldAccessorTable
+        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_FieldMatch_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                com.capitalone.commander.grpc.CommanderProtos.StreamRequest.class, com.capitalone.commander.grpc.CommanderProtos.StreamRequest.Builder.class);
+                com.capitalone.commander.grpc.CommanderProtos.FieldMatch.class, com.capitalone.commander.grpc.CommanderProtos.FieldMatch.Builder.class);
       }
 
-      // Construct using com.capitalone.commander.grpc.CommanderProtos.StreamRequest.newBuilder()
+      // Construct using com.capitalone.commander.grpc.CommanderProtos.FieldMatch.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -6882,28 +11441,42 @@ public final class CommanderProtos {
       }
       public Builder clear() {
         super.clear();
+        path_ = "";
+
+        if (valueBuilder_ == null) {
+          value_ = null;
+        } else {
+          value_ = null;
+          valueBuilder_ = null;
+        }
         return this;
       }
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_StreamRequest_descriptor;
+        return com.capitalone.commander.grpc.CommanderProtos.internal_static_commander_FieldMatch_descriptor;
       }
 
-      public com.capitalone.commander.grpc.CommanderProtos.StreamRequest getDefaultInstanceForType() {
-        return com.capitalone.commander.grpc.CommanderProtos.StreamRequest.getDefaultInstance();
+      public com.capitalone.commander.grpc.CommanderProtos.FieldMatch getDefaultInstanceForType() {
+        return com.capitalone.commander.grpc.CommanderProtos.FieldMatch.getDefaultInstance();
       }
 
-      public com.capitalone.commander.grpc.CommanderProtos.StreamRequest build() {
-        com.capitalone.commander.grpc.CommanderProtos.StreamRequest result = buildPartial();
+      public com.capitalone.commander.grpc.CommanderProtos.FieldMatch build() {
+        com.capitalone.commander.grpc.CommanderProtos.FieldMatch result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public com.capitalone.commander.grpc.CommanderProtos.StreamRequest buildPartial() {
-        com.capitalone.commander.grpc.CommanderProtos.StreamRequest result = new com.capitalone.commander.grpc.CommanderProtos.StreamRequest(this);
+      public com.capitalone.commander.grpc.CommanderProtos.FieldMatch buildPartial() {
+        com.capitalone.commander.grpc.CommanderProtos.FieldMatch result = new com.capitalone.commander.grpc.CommanderProtos.FieldMatch(this);
+        result.path_ = path_;
+        if (valueBuilder_ == null) {
+          result.value_ = value_;
+        } else {
+          result.value_ = valueBuilder_.build();
+        }
         onBuilt();
         return result;
       }
@@ -6935,16 +11508,23 @@ public final class CommanderProtos {
         return (Builder) super.addRepeatedField(field, value);
       }
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.capitalone.commander.grpc.CommanderProtos.StreamRequest) {
-          return mergeFrom((com.capitalone.commander.grpc.CommanderProtos.StreamRequest)other);
+        if (other instanceof com.capitalone.commander.grpc.CommanderProtos.FieldMatch) {
+          return mergeFrom((com.capitalone.commander.grpc.CommanderProtos.FieldMatch)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(com.capitalone.commander.grpc.CommanderProtos.StreamRequest other) {
-        if (other == com.capitalone.commander.grpc.CommanderProtos.StreamRequest.getDefaultInstance()) return this;
+      public Builder mergeFrom(com.capitalone.commander.grpc.CommanderProtos.FieldMatch other) {
+        if (other == com.capitalone.commander.grpc.CommanderProtos.FieldMatch.getDefaultInstance()) return this;
+        if (!other.getPath().isEmpty()) {
+          path_ = other.path_;
+          onChanged();
+        }
+        if (other.hasValue()) {
+          mergeValue(other.getValue());
+        }
         onChanged();
         return this;
       }
@@ -6957,11 +11537,11 @@ public final class CommanderProtos {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        com.capitalone.commander.grpc.CommanderProtos.StreamRequest parsedMessage = null;
+        com.capitalone.commander.grpc.CommanderProtos.FieldMatch parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (com.capitalone.commander.grpc.CommanderProtos.StreamRequest) e.getUnfinishedMessage();
+          parsedMessage = (com.capitalone.commander.grpc.CommanderProtos.FieldMatch) e.getUnfinishedMessage();
           throw e.unwrapIOException();
         } finally {
           if (parsedMessage != null) {
@@ -6970,6 +11550,248 @@ public final class CommanderProtos {
         }
         return this;
       }
+
+      private java.lang.Object path_ = "";
+      /**
+       * <pre>
+       * dot-separated path into data, e.g. "address.city"
+       * </pre>
+       *
+       * <code>optional string path = 1;</code>
+       */
+      public java.lang.String getPath() {
+        java.lang.Object ref = path_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          path_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       * dot-separated path into data, e.g. "address.city"
+       * </pre>
+       *
+       * <code>optional string path = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getPathBytes() {
+        java.lang.Object ref = path_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          path_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       * dot-separated path into data, e.g. "address.city"
+       * </pre>
+       *
+       * <code>optional string path = 1;</code>
+       */
+      public Builder setPath(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        path_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * dot-separated path into data, e.g. "address.city"
+       * </pre>
+       *
+       * <code>optional string path = 1;</code>
+       */
+      public Builder clearPath() {
+        
+        path_ = getDefaultInstance().getPath();
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * dot-separated path into data, e.g. "address.city"
+       * </pre>
+       *
+       * <code>optional string path = 1;</code>
+       */
+      public Builder setPathBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        path_ = value;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.Value value_ = null;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.google.protobuf.Value, com.google.protobuf.Value.Builder, com.google.protobuf.ValueOrBuilder> valueBuilder_;
+      /**
+       * <pre>
+       * value held at path
+       * </pre>
+       *
+       * <code>optional .google.protobuf.Value value = 2;</code>
+       */
+      public boolean hasValue() {
+        return valueBuilder_ != null || value_ != null;
+      }
+      /**
+       * <pre>
+       * value held at path
+       * </pre>
+       *
+       * <code>optional .google.protobuf.Value value = 2;</code>
+       */
+      public com.google.protobuf.Value getValue() {
+        if (valueBuilder_ == null) {
+          return value_ == null ? com.google.protobuf.Value.getDefaultInstance() : value_;
+        } else {
+          return valueBuilder_.getMessage();
+        }
+      }
+      /**
+       * <pre>
+       * value held at path
+       * </pre>
+       *
+       * <code>optional .google.protobuf.Value value = 2;</code>
+       */
+      public Builder setValue(com.google.protobuf.Value value) {
+        if (valueBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          value_ = value;
+          onChanged();
+        } else {
+          valueBuilder_.setMessage(value);
+        }
+
+        return this;
+      }
+      /**
+       * <pre>
+       * value held at path
+       * </pre>
+       *
+       * <code>optional .google.protobuf.Value value = 2;</code>
+       */
+      public Builder setValue(
+          com.google.protobuf.Value.Builder builderForValue) {
+        if (valueBuilder_ == null) {
+          value_ = builderForValue.build();
+          onChanged();
+        } else {
+          valueBuilder_.setMessage(builderForValue.build());
+        }
+
+        return this;
+      }
+      /**
+       * <pre>
+       * value held at path
+       * </pre>
+       *
+       * <code>optional .google.protobuf.Value value = 2;</code>
+       */
+      public Builder mergeValue(com.google.protobuf.Value value) {
+        if (valueBuilder_ == null) {
+          if (value_ != null) {
+            value_ =
+              com.google.protobuf.Value.newBuilder(value_).mergeFrom(value).buildPartial();
+          } else {
+            value_ = value;
+          }
+          onChanged();
+        } else {
+          valueBuilder_.mergeFrom(value);
+        }
+
+        return this;
+      }
+      /**
+       * <pre>
+       * value held at path
+       * </pre>
+       *
+       * <code>optional .google.protobuf.Value value = 2;</code>
+       */
+      public Builder clearValue() {
+        if (valueBuilder_ == null) {
+          value_ = null;
+          onChanged();
+        } else {
+          value_ = null;
+          valueBuilder_ = null;
+        }
+
+        return this;
+      }
+      /**
+       * <pre>
+       * value held at path
+       * </pre>
+       *
+       * <code>optional .google.protobuf.Value value = 2;</code>
+       */
+      public com.google.protobuf.Value.Builder getValueBuilder() {
+        
+        onChanged();
+        return getValueFieldBuilder().getBuilder();
+      }
+      /**
+       * <pre>
+       * value held at path
+       * </pre>
+       *
+       * <code>optional .google.protobuf.Value value = 2;</code>
+       */
+      public com.google.protobuf.ValueOrBuilder getValueOrBuilder() {
+        if (valueBuilder_ != null) {
+          return valueBuilder_.getMessageOrBuilder();
+        } else {
+          return value_ == null ?
+              com.google.protobuf.Value.getDefaultInstance() : value_;
+        }
+      }
+      /**
+       * <pre>
+       * value held at path
+       * </pre>
+       *
+       * <code>optional .google.protobuf.Value value = 2;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.google.protobuf.Value, com.google.protobuf.Value.Builder, com.google.protobuf.ValueOrBuilder> 
+          getValueFieldBuilder() {
+        if (valueBuilder_ == null) {
+          valueBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              com.google.protobuf.Value, com.google.protobuf.Value.Builder, com.google.protobuf.ValueOrBuilder>(
+                  getValue(),
+                  getParentForChildren(),
+                  isClean());
+          value_ = null;
+        }
+        return valueBuilder_;
+      }
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return this;
@@ -6981,39 +11803,39 @@ public final class CommanderProtos {
       }
 
 
-      // @@protoc_insertion_point(builder_scope:commander.StreamRequest)
+      // @@protoc_insertion_point(builder_scope:commander.FieldMatch)
     }
 
-    // @@protoc_insertion_point(class_scope:commander.StreamRequest)
-    private static final com.capitalone.commander.grpc.CommanderProtos.StreamRequest DEFAULT_INSTANCE;
+    // @@protoc_insertion_point(class_scope:commander.FieldMatch)
+    private static final com.capitalone.commander.grpc.CommanderProtos.FieldMatch DEFAULT_INSTANCE;
     static {
-      DEFAULT_INSTANCE = new com.capitalone.commander.grpc.CommanderProtos.StreamRequest();
+      DEFAULT_INSTANCE = new com.capitalone.commander.grpc.CommanderProtos.FieldMatch();
     }
 
-    public static com.capitalone.commander.grpc.CommanderProtos.StreamRequest getDefaultInstance() {
+    public static com.capitalone.commander.grpc.CommanderProtos.FieldMatch getDefaultInstance() {
       return DEFAULT_INSTANCE;
     }
 
-    private static final com.google.protobuf.Parser<StreamRequest>
-        PARSER = new com.google.protobuf.AbstractParser<StreamRequest>() {
-      public StreamRequest parsePartialFrom(
+    private static final com.google.protobuf.Parser<FieldMatch>
+        PARSER = new com.google.protobuf.AbstractParser<FieldMatch>() {
+      public FieldMatch parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-          return new StreamRequest(input, extensionRegistry);
+          return new FieldMatch(input, extensionRegistry);
       }
     };
 
-    public static com.google.protobuf.Parser<StreamRequest> parser() {
+    public static com.google.protobuf.Parser<FieldMatch> parser() {
       return PARSER;
     }
 
     @java.lang.Override
-    public com.google.protobuf.Parser<StreamRequest> getParserForType() {
+    public com.google.protobuf.Parser<FieldMatch> getParserForType() {
       return PARSER;
     }
 
-    public com.capitalone.commander.grpc.CommanderProtos.StreamRequest getDefaultInstanceForType() {
+    public com.capitalone.commander.grpc.CommanderProtos.FieldMatch getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
 
@@ -7059,6 +11881,21 @@ public final class CommanderProtos {
   private static final 
     com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
       internal_static_commander_StreamRequest_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_commander_Offsets_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_commander_Offsets_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_commander_PartitionOffset_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_commander_PartitionOffset_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_commander_FieldMatch_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_commander_FieldMatch_fieldAccessorTable;
 
   public static com.google.protobuf.Descriptors.FileDescriptor
       getDescriptor() {
@@ -7077,31 +11914,49 @@ public final class CommanderProtos {
       ".google.protobuf.Struct\022\021\n\ttimestamp\030\004 \001" +
       "(\003\022\r\n\005topic\030\005 \001(\t\022\021\n\tpartition\030\006 \001(\005\022\016\n\006" +
       "offset\030\007 \001(\003\022!\n\010children\030\010 \003(\0132\017.command" +
-      "er.UUID\"c\n\rPagedCommands\022\r\n\005limit\030\001 \001(\003\022",
+      "er.UUID\"s\n\rPagedCommands\022\r\n\005limit\030\001 \001(\003\022",
       "\016\n\006offset\030\002 \001(\003\022\r\n\005total\030\003 \001(\003\022$\n\010comman" +
-      "ds\030\004 \003(\0132\022.commander.Command\"\301\001\n\005Event\022\033" +
-      "\n\002id\030\001 \001(\0132\017.commander.UUID\022\016\n\006action\030\002 " +
-      "\001(\t\022%\n\004data\030\003 \001(\0132\027.google.protobuf.Stru" +
-      "ct\022\021\n\ttimestamp\030\004 \001(\003\022\r\n\005topic\030\005 \001(\t\022\021\n\t" +
-      "partition\030\006 \001(\005\022\016\n\006offset\030\007 \001(\003\022\037\n\006paren" +
-      "t\030\010 \001(\0132\017.commander.UUID\"]\n\013PagedEvents\022" +
-      "\r\n\005limit\030\001 \001(\003\022\016\n\006offset\030\002 \001(\003\022\r\n\005total\030" +
-      "\003 \001(\003\022 \n\006events\030\004 \003(\0132\020.commander.Event\"" +
-      "+\n\nPagingInfo\022\r\n\005limit\030\001 \001(\003\022\016\n\006offset\030\002",
-      " \001(\003\"\017\n\rStreamRequest2\270\003\n\tCommander\022?\n\rC" +
-      "reateCommand\022\030.commander.CommandParams\032\022" +
-      ".commander.Command\"\000\022A\n\014ListCommands\022\025.c" +
-      "ommander.PagingInfo\032\030.commander.PagedCom" +
-      "mands\"\000\0224\n\013CommandById\022\017.commander.UUID\032" +
-      "\022.commander.Command\"\000\022A\n\rCommandStream\022\030" +
-      ".commander.StreamRequest\032\022.commander.Com" +
-      "mand\"\0000\001\022=\n\nListEvents\022\025.commander.Pagin" +
-      "gInfo\032\026.commander.PagedEvents\"\000\0220\n\tEvent" +
-      "ById\022\017.commander.UUID\032\020.commander.Event\"",
-      "\000\022=\n\013EventStream\022\030.commander.StreamReque" +
-      "st\032\020.commander.Event\"\0000\001B0\n\035com.capitalo" +
-      "ne.commander.grpcB\017CommanderProtosb\006prot" +
-      "o3"
+      "ds\030\004 \003(\0132\022.commander.Command\022\016\n\006cursor\030\005" +
+      " \001(\t\"\301\001\n\005Event\022\033\n\002id\030\001 \001(\0132\017.commander.U" +
+      "UID\022\016\n\006action\030\002 \001(\t\022%\n\004data\030\003 \001(\0132\027.goog" +
+      "le.protobuf.Struct\022\021\n\ttimestamp\030\004 \001(\003\022\r\n" +
+      "\005topic\030\005 \001(\t\022\021\n\tpartition\030\006 \001(\005\022\016\n\006offse" +
+      "t\030\007 \001(\003\022\037\n\006parent\030\010 \001(\0132\017.commander.UUID" +
+      "\"m\n\013PagedEvents\022\r\n\005limit\030\001 \001(\003\022\016\n\006offset" +
+      "\030\002 \001(\003\022\r\n\005total\030\003 \001(\003\022 \n\006events\030\004 \003(\0132\020." +
+      "commander.Event\022\016\n\006cursor\030\005 \001(\t\"e\n\nPagin",
+      "gInfo\022\r\n\005limit\030\001 \001(\003\022\016\n\006offset\030\002 \001(\003\022\016\n\006" +
+      "cursor\030\003 \001(\t\022(\n\ntotal_mode\030\004 \001(\0162\024.comma" +
+      "nder.TotalMode\"\226\002\n\rStreamRequest\022\016\n\006acti" +
+      "on\030\001 \001(\t\022\025\n\raction_prefix\030\002 \001(\t\022\037\n\006paren" +
+      "t\030\003 \001(\0132\017.commander.UUID\022\r\n\005topic\030\004 \001(\t\022" +
+      "\022\n\npartitions\030\005 \003(\005\022%\n\006fields\030\006 \003(\0132\025.co" +
+      "mmander.FieldMatch\022+\n\rafter_offsets\030\007 \001(" +
+      "\0132\022.commander.OffsetsH\000\022\031\n\017since_timesta" +
+      "mp\030\010 \001(\003H\000\022#\n\010after_id\030\t \001(\0132\017.commander" +
+      ".UUIDH\000B\006\n\004from\"6\n\007Offsets\022+\n\007offsets\030\001 ",
+      "\003(\0132\032.commander.PartitionOffset\"C\n\017Parti" +
+      "tionOffset\022\r\n\005topic\030\001 \001(\t\022\021\n\tpartition\030\002" +
+      " \001(\005\022\016\n\006offset\030\003 \001(\003\"A\n\nFieldMatch\022\014\n\004pa" +
+      "th\030\001 \001(\t\022%\n\005value\030\002 \001(\0132\026.google.protobu" +
+      "f.Value*1\n\tTotalMode\022\t\n\005EXACT\020\000\022\017\n\013APPRO" +
+      "XIMATE\020\001\022\010\n\004NONE\020\0022\270\004\n\tCommander\022?\n\rCrea" +
+      "teCommand\022\030.commander.CommandParams\032\022.co" +
+      "mmander.Command\"\000\022A\n\014ListCommands\022\025.comm" +
+      "ander.PagingInfo\032\030.commander.PagedComman" +
+      "ds\"\000\022@\n\017ListAllCommands\022\025.commander.Pagi",
+      "ngInfo\032\022.commander.Command\"\0000\001\0224\n\013Comman" +
+      "dById\022\017.commander.UUID\032\022.commander.Comma" +
+      "nd\"\000\022A\n\rCommandStream\022\030.commander.Stream" +
+      "Request\032\022.commander.Command\"\0000\001\022=\n\nListE" +
+      "vents\022\025.commander.PagingInfo\032\026.commander" +
+      ".PagedEvents\"\000\022<\n\rListAllEvents\022\025.comman" +
+      "der.PagingInfo\032\020.commander.Event\"\0000\001\0220\n\t" +
+      "EventById\022\017.commander.UUID\032\020.commander.E" +
+      "vent\"\000\022=\n\013EventStream\022\030.commander.Stream" +
+      "Request\032\020.commander.Event\"\0000\001B0\n\035com.cap",
+      "italone.commander.grpcB\017CommanderProtosb" +
+      "\006proto3"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -7139,7 +11994,7 @@ public final class CommanderProtos {
     internal_static_commander_PagedCommands_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_commander_PagedCommands_descriptor,
-        new java.lang.String[] { "Limit", "Offset", "Total", "Commands", });
+        new java.lang.String[] { "Limit", "Offset", "Total", "Commands", "Cursor", });
     internal_static_commander_Event_descriptor =
       getDescriptor().getMessageTypes().get(4);
     internal_static_commander_Event_fieldAccessorTable = new
@@ -7151,19 +12006,37 @@ public final class CommanderProtos {
     internal_static_commander_PagedEvents_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_commander_PagedEvents_descriptor,
-        new java.lang.String[] { "Limit", "Offset", "Total", "Events", });
+        new java.lang.String[] { "Limit", "Offset", "Total", "Events", "Cursor", });
     internal_static_commander_PagingInfo_descriptor =
       getDescriptor().getMessageTypes().get(6);
     internal_static_commander_PagingInfo_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_commander_PagingInfo_descriptor,
-        new java.lang.String[] { "Limit", "Offset", });
+        new java.lang.String[] { "Limit", "Offset", "Cursor", "TotalMode", });
     internal_static_commander_StreamRequest_descriptor =
       getDescriptor().getMessageTypes().get(7);
     internal_static_commander_StreamRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_commander_StreamRequest_descriptor,
-        new java.lang.String[] { });
+        new java.lang.String[] { "Action", "ActionPrefix", "Parent", "Topic", "Partitions", "Fields", "AfterOffsets", "SinceTimestamp", "AfterId", "From", });
+    internal_static_commander_Offsets_descriptor =
+      getDescriptor().getMessageTypes().get(8);
+    internal_static_commander_Offsets_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_commander_Offsets_descriptor,
+        new java.lang.String[] { "Offsets", });
+    internal_static_commander_PartitionOffset_descriptor =
+      getDescriptor().getMessageTypes().get(9);
+    internal_static_commander_PartitionOffset_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_commander_PartitionOffset_descriptor,
+        new java.lang.String[] { "Topic", "Partition", "Offset", });
+    internal_static_commander_FieldMatch_descriptor =
+      getDescriptor().getMessageTypes().get(10);
+    internal_static_commander_FieldMatch_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_commander_FieldMatch_descriptor,
+        new java.lang.String[] { "Path", "Value", });
     com.google.protobuf.StructProto.getDescriptor();
   }
 
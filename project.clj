@@ -30,6 +30,7 @@
                  [meta-merge "1.0.0"]
                  [environ "1.1.0"]
                  [danlentz/clj-uuid "0.1.6"]
+                 [com.google.guava/guava "19.0"]
 
                  ;; Web
                  [io.pedestal/pedestal.service "0.5.1"]
@@ -37,6 +38,7 @@
                  [pedestal-api "0.3.0"]
                  [metosin/ring-swagger "0.22.10"]
                  [cheshire "5.6.3"]
+                 [com.cognitect/transit-clj "0.8.288"]
                  [hiccup "1.0.5"]
 
                  ;; gRPC
@@ -48,6 +50,7 @@
                  ;; Database
                  [org.clojure/java.jdbc "0.6.2-alpha3"]
                  [org.postgresql/postgresql "9.4.1210"]
+                 [com.zaxxer/HikariCP "2.5.1"]
                  [ragtime/ragtime.jdbc "0.6.3"]
 
                  ;; Fressian
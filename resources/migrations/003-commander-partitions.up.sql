@@ -0,0 +1,28 @@
+-- Copyright 2016 Capital One Services, LLC
+
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+
+--     http://www.apache.org/licenses/LICENSE-2.0
+
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and limitations under the License.
+
+-- Per topic partition bookkeeping maintained by the indexer in the
+-- same transaction as its inserts.
+CREATE TABLE IF NOT EXISTS commander_partitions (
+  topic     varchar(255) NOT NULL,
+  partition smallint NOT NULL CHECK (partition >= 0),
+  command   boolean NOT NULL,
+  total     bigint NOT NULL DEFAULT 0 CHECK (total >= 0),
+  CONSTRAINT commander_partitions_primary_key PRIMARY KEY (topic, partition)
+);
+--;;
+INSERT INTO commander_partitions (topic, partition, command, total)
+  SELECT topic, partition, command, count(id)
+  FROM commander
+  GROUP BY topic, partition, command
+  ON CONFLICT (topic, partition) DO NOTHING;
@@ -0,0 +1,28 @@
+-- Copyright 2016 Capital One Services, LLC
+
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+
+--     http://www.apache.org/licenses/LICENSE-2.0
+
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and limitations under the License.
+
+-- Indexes are built CONCURRENTLY so that they do not block ingestion
+-- on a live commander table.  CONCURRENTLY cannot run in a transaction
+-- block, so database/ragtime-config runs this migration with
+-- auto-commit (see non-transactional-migrations).
+
+-- find-latest-partition-offset filters on (topic, partition) and
+-- aggregates "offset", which this index answers with a single seek.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS commander_topic_partition_offset_idx
+  ON commander (topic, partition, "offset");
+--;;
+-- Looking up the child events of a command or event.  Commands have
+-- no parent, so they are left out of the index.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS commander_parent_idx
+  ON commander (parent)
+  WHERE parent IS NOT NULL;
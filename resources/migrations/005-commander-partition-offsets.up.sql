@@ -0,0 +1,27 @@
+-- Copyright 2016 Capital One Services, LLC
+
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+
+--     http://www.apache.org/licenses/LICENSE-2.0
+
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and limitations under the License.
+
+-- The highest offset indexed per topic partition, checkpointed in the
+-- same transaction as the indexer's inserts.
+ALTER TABLE IF EXISTS commander_partitions
+  ADD COLUMN "offset" bigint CHECK ("offset" >= 0);
+--;;
+UPDATE commander_partitions p
+  SET "offset" = (SELECT max(c."offset")
+                  FROM commander c
+                  WHERE c.topic = p.topic AND c.partition = p.partition);
+--;;
+-- find-latest-partition-offset now reads the checkpoint above, so the
+-- index 004 added for its max("offset") scan only costs inserts.  It
+-- is dropped after the backfill, which still uses it.
+DROP INDEX CONCURRENTLY IF EXISTS commander_topic_partition_offset_idx;
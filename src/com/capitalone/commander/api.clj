@@ -23,8 +23,14 @@
             [io.pedestal.log :as log]
             [clj-uuid :as uuid]
             [com.capitalone.commander :as commander]
+            [com.capitalone.commander.cache :as cache]
+            [com.capitalone.commander.codec :as codec]
+            [com.capitalone.commander.completions :as completions]
+            [com.capitalone.commander.fanout :as fanout]
+            [com.capitalone.commander.filter :as filter]
             [com.capitalone.commander.database :as d]
-            [com.capitalone.commander.kafka :as k])
+            [com.capitalone.commander.kafka :as k]
+            [com.capitalone.commander.util :as util])
   (:import [org.apache.kafka.clients.consumer Consumer]))
 
 (set! *warn-on-reflection* true)
@@ -38,34 +44,55 @@
     Returns the newly created command, with a :children key whose
     value is a vector containing the completion event id if
     successful.  If ")
-  (-list-commands [this offset limit]
-    "Returns a map of :commands, :limit, :offset, and :total,
-    where :commands is `limit` indexed commands, starting at `offset`.
-    If limit is 0, returns all indexed commands starting with
-    offset. :total is the total count of all commands.")
+  (-create-command-async [this command-params sync-timeout-ms]
+    "Creates a command from the command-params and records to the Log
+    without blocking.  Returns a promise channel that will convey the
+    newly created command, or the exception that prevented its
+    creation.  If sync-timeout-ms is given, the command is conveyed
+    once its completion event arrives, as for -create-command-sync.")
+  (-list-commands [this offset limit cursor total-mode]
+    "Returns a map of :commands, :limit, :offset, :cursor, and :total,
+    where :commands is `limit` indexed commands, starting at `offset`
+    (or immediately after `cursor`, if given).  If limit is 0, returns
+    all indexed commands starting with offset. :cursor is an opaque
+    cursor for fetching the next page. :total is the total count of
+    all commands, exact or approximate per `total-mode`, and omitted
+    if total-mode is :none.")
+  (-stream-commands [this offset cursor ch]
+    "Puts all indexed commands, starting at offset (or immediately
+    after cursor, if given), onto ch in order, then closes ch.  Returns
+    ch.")
   (-get-command-by-id [this id]
     "Returns the indexed command with the given id, or nil if none
     found.")
-  (-commands-ch [this ch]
+  (-commands-ch [this ch opts]
     "Returns ch, the given core.async channel that will convey all
-    commands (from time of call onward)."))
+    commands (from time of call onward), subscribed with opts (see
+    com.capitalone.commander.fanout/subscribe!)."))
 
 (defprotocol CommandValidator
   (-validate-command-params [this command-params]
     "Returns true if valid, map of errors otherwise"))
 
 (defprotocol EventService
-  (-list-events [this offset limit]
-    "Returns a map of :events, :limit, :offset, and :total,
-    where :events is `limit` indexed events, starting at `offset`.
-    If limit is 0, returns all indexed events starting with
-    offset. :total is the total count of all events.")
+  (-list-events [this offset limit cursor total-mode]
+    "Returns a map of :events, :limit, :offset, :cursor, and :total,
+    where :events is `limit` indexed events, starting at `offset` (or
+    immediately after `cursor`, if given).  If limit is 0, returns all
+    indexed events starting with offset. :cursor is an opaque cursor
+    for fetching the next page. :total is the total count of all
+    events, exact or approximate per `total-mode`, and omitted if
+    total-mode is :none.")
+  (-stream-events [this offset cursor ch]
+    "Puts all indexed events, starting at offset (or immediately after
+    cursor, if given), onto ch in order, then closes ch.  Returns ch.")
   (-get-event-by-id [this id]
     "Returns the indexed event with the given id, or nil if none
     found.")
-  (-events-ch [this ch]
+  (-events-ch [this ch opts]
     "Returns ch, the given core.async channel that will convey all
-    events (from time of call onward)."))
+    events (from time of call onward), subscribed with opts (see
+    com.capitalone.commander.fanout/subscribe!)."))
 
 (defn create-command
   "Creates a command by recording to the Log. If sync? is false (the
@@ -81,8 +108,49 @@
      (-create-command-sync api command-params (:sync-timeout-ms api))
      (-create-command api command-params))))
 
+(defn create-command-async
+  "Like create-command, but never blocks the calling thread.  Returns
+  a promise channel that will convey the newly created command, or the
+  exception that prevented its creation."
+  ([api command-params]
+   (create-command-async api command-params false))
+  ([api command-params sync?]
+   (log/info ::create-command-async [api command-params sync?])
+   (-create-command-async api command-params (when sync? (:sync-timeout-ms api)))))
+
+(defn create-commands-async
+  "Creates a command from each of commands-params, as for
+  create-command-async, writing them all to the Log without waiting
+  on any one of them.  Returns a promise channel that will convey a
+  vector holding, in order, each newly created command or the
+  exception that prevented its creation."
+  ([api commands-params]
+   (create-commands-async api commands-params false))
+  ([api commands-params sync?]
+   (log/info ::create-commands-async [api (count commands-params) sync?])
+   (let [timeout-ms (when sync? (:sync-timeout-ms api))
+         chs        (mapv #(-create-command-async api % timeout-ms) commands-params)
+         ch         (a/promise-chan)]
+     (a/go-loop [i 0 results (transient [])]
+       (if (< i (count chs))
+         (recur (inc i) (conj! results (a/<! (nth chs i))))
+         (a/>! ch (persistent! results))))
+     ch)))
+
 (s/def ::CommandService (partial satisfies? CommandService))
 
+(s/fdef create-commands-async
+        :args (s/cat :api ::CommandService
+                     :commands-params (s/every ::commander/command-params)
+                     :sync? (s/? (s/nilable boolean?)))
+        :ret any?)
+
+(s/fdef create-command-async
+        :args (s/cat :api ::CommandService
+                     :command-params ::commander/command-params
+                     :sync? (s/? (s/nilable boolean?)))
+        :ret any?)
+
 (s/fdef create-command
         :args (s/cat :api ::CommandService
                      :command-params ::commander/command-params
@@ -92,15 +160,23 @@
                    #(= (-> % :ret :data)   (-> % :args :command-params :data))))
 
 (defn list-commands
-  "Returns a map of :commands, :limit, :offset, and :total,
-   where :commands is `limit` indexed commands, starting at `offset`.
-   If limit is 0, returns all indexed commands starting with
-   offset. :total is the total count of all commands."
+  "Returns a map of :commands, :limit, :offset, :cursor, and :total,
+   where :commands is `limit` indexed commands, starting at `offset`
+   (or immediately after `cursor`, if given).  If limit is 0, returns
+   all indexed commands starting with offset. :cursor is an opaque
+   cursor for fetching the next page. :total is the total count of
+   all commands, exact or approximate per `total-mode` (default
+   :exact), and omitted if total-mode is :none.  Pages are held in
+   memory, so throws ExceptionInfo if the page would hold more than
+   com.capitalone.commander.database/max-page-size commands; use
+   stream-commands for longer listings."
   ([api] (list-commands api 0))
   ([api offset] (list-commands api offset 0))
-  ([api offset limit]
-   (log/info ::list-commands [api offset limit])
-   (-list-commands api (or offset 0) (or limit 0))))
+  ([api offset limit] (list-commands api offset limit nil))
+  ([api offset limit cursor] (list-commands api offset limit cursor :exact))
+  ([api offset limit cursor total-mode]
+   (log/info ::list-commands [api offset limit cursor total-mode])
+   (-list-commands api (or offset 0) (or limit 0) (not-empty cursor) (or total-mode :exact))))
 
 (s/def ::commands (s/every ::commander/command))
 (s/def ::total (s/int-in 0 Long/MAX_VALUE))
@@ -108,13 +184,36 @@
 (s/fdef list-commands
         :args (s/cat :api ::CommandService
                      :offset (s/? (s/nilable (s/int-in 0 Long/MAX_VALUE)))
-                     :limit (s/? (s/nilable (s/int-in 0 Long/MAX_VALUE))))
-        :ret (s/keys :req-un [::commands ::commander/limit ::commander/offset ::total])
+                     :limit (s/? (s/nilable (s/int-in 0 Long/MAX_VALUE)))
+                     :cursor (s/? ::d/cursor)
+                     :total-mode (s/? (s/nilable ::d/total-mode)))
+        :ret (s/keys :req-un [::commands ::commander/limit ::commander/offset]
+                     :opt-un [::d/cursor ::total])
         :fn #(let [limit (-> % :args :limit)]
                (if (pos? limit)
                  (= (-> % :ret count) limit)
                  true)))
 
+(defn stream-commands
+  "Returns a core.async channel (ch if given, a channel with a buffer
+  of 10 otherwise) that will convey all indexed commands, starting at
+  offset (or immediately after cursor, if given), in order, and then
+  close.  Commands are read lazily as ch is consumed, so memory use is
+  bounded regardless of how many commands are indexed.  If reading
+  fails, the exception is conveyed before ch closes."
+  ([api] (stream-commands api 0 nil))
+  ([api offset cursor] (stream-commands api offset cursor (a/chan 10)))
+  ([api offset cursor ch]
+   (log/info ::stream-commands [api offset cursor ch])
+   (-stream-commands api (or offset 0) (not-empty cursor) ch)
+   ch))
+
+(s/fdef stream-commands
+        :args (s/cat :api ::CommandService
+                     :offset (s/? (s/nilable (s/int-in 0 Long/MAX_VALUE)))
+                     :cursor (s/? ::d/cursor)
+                     :ch (s/? any?)))
+
 (defn get-command-by-id
   "Returns the indexed command with the given id, or nil if none
   found."
@@ -140,14 +239,24 @@
      :offset    offset}))
 
 (defn commands-ch
-  "Returns a core.async channel (ch if given, a sliding-buffer channel
-  of size 10 otherwise) that will convey all commands arriving from
-  the time of the call onward."
+  "Returns a core.async channel (ch if given, an unbuffered channel
+  otherwise) that will convey all commands arriving from the time of
+  the call onward.  Commands are queued for ch in a bounded buffer; if ch
+  falls too far behind, the configured overflow policy applies (see
+  com.capitalone.commander.fanout).  opts may give the :buffer-size,
+  :overflow policy and :on-disconnect fn of this subscription, and a
+  :filter selecting the commands it receives (see
+  com.capitalone.commander.filter).  If opts gives a :from position
+  (see :com.capitalone.commander.database/position), the indexed commands
+  after it are conveyed first, then live ones, without gaps or
+  duplicates (other than those the overflow policy causes)."
   ([api]
-   (commands-ch api (a/chan (a/sliding-buffer 10))))
+   (commands-ch api (a/chan)))
   ([api ch]
-   (log/info ::commands-ch [api ch])
-   (-commands-ch api ch)
+   (commands-ch api ch {}))
+  ([api ch opts]
+   (log/info ::commands-ch [api ch opts])
+   (-commands-ch api ch opts)
    ch))
 
 (defn validate-command-params
@@ -164,27 +273,58 @@
 (s/def ::EventService (partial satisfies? EventService))
 
 (defn list-events
-  "Returns a map of :events, :limit, :offset, and :total,
-   where :events is `limit` indexed events, starting at `offset`.
-   If limit is 0, returns all indexed events starting with
-   offset. :total is the total count of all events."
+  "Returns a map of :events, :limit, :offset, :cursor, and :total,
+   where :events is `limit` indexed events, starting at `offset` (or
+   immediately after `cursor`, if given).  If limit is 0, returns all
+   indexed events starting with offset. :cursor is an opaque cursor
+   for fetching the next page. :total is the total count of all
+   events, exact or approximate per `total-mode` (default :exact), and
+   omitted if total-mode is :none.  Pages are held in memory, so
+   throws ExceptionInfo if the page would hold more than
+   com.capitalone.commander.database/max-page-size events; use
+   stream-events for longer listings."
   ([api] (list-events api 0))
   ([api offset] (list-events api offset 0))
-  ([api offset limit]
-   (log/info ::list-events [api offset limit])
-   (-list-events api (or offset 0) (or limit 0))))
+  ([api offset limit] (list-events api offset limit nil))
+  ([api offset limit cursor] (list-events api offset limit cursor :exact))
+  ([api offset limit cursor total-mode]
+   (log/info ::list-events [api offset limit cursor total-mode])
+   (-list-events api (or offset 0) (or limit 0) (not-empty cursor) (or total-mode :exact))))
 
 (s/def ::events (s/every ::commander/event))
 (s/fdef list-events
         :args (s/cat :api ::EventService
                      :offset (s/? (s/nilable (s/int-in 0 Long/MAX_VALUE)))
-                     :limit (s/? (s/nilable (s/int-in 0 Long/MAX_VALUE))))
-        :ret (s/keys :req-un [::events ::commander/limit ::commander/offset ::total])
+                     :limit (s/? (s/nilable (s/int-in 0 Long/MAX_VALUE)))
+                     :cursor (s/? ::d/cursor)
+                     :total-mode (s/? (s/nilable ::d/total-mode)))
+        :ret (s/keys :req-un [::events ::commander/limit ::commander/offset]
+                     :opt-un [::d/cursor ::total])
         :fn #(let [limit (-> % :args :limit)]
                (if (pos? limit)
                  (= (-> % :ret count) limit)
                  true)))
 
+(defn stream-events
+  "Returns a core.async channel (ch if given, a channel with a buffer
+  of 10 otherwise) that will convey all indexed events, starting at
+  offset (or immediately after cursor, if given), in order, and then
+  close.  Events are read lazily as ch is consumed, so memory use is
+  bounded regardless of how many events are indexed.  If reading
+  fails, the exception is conveyed before ch closes."
+  ([api] (stream-events api 0 nil))
+  ([api offset cursor] (stream-events api offset cursor (a/chan 10)))
+  ([api offset cursor ch]
+   (log/info ::stream-events [api offset cursor ch])
+   (-stream-events api (or offset 0) (not-empty cursor) ch)
+   ch))
+
+(s/fdef stream-events
+        :args (s/cat :api ::EventService
+                     :offset (s/? (s/nilable (s/int-in 0 Long/MAX_VALUE)))
+                     :cursor (s/? ::d/cursor)
+                     :ch (s/? any?)))
+
 (defn get-event-by-id
   "Returns the indexed event with the given id, or nil if none
   found."
@@ -211,31 +351,203 @@
      :offset    offset}))
 
 (defn events-ch
-  "Returns a core.async channel (ch if given, a sliding-buffer channel
-  of size 10 otherwise) that will convey all events arriving from
-  the time of the call onward."
+  "Returns a core.async channel (ch if given, an unbuffered channel
+  otherwise) that will convey all events arriving from the time of
+  the call onward.  Events are queued for ch in a bounded buffer; if ch
+  falls too far behind, the configured overflow policy applies (see
+  com.capitalone.commander.fanout).  opts may give the :buffer-size,
+  :overflow policy and :on-disconnect fn of this subscription, and a
+  :filter selecting the events it receives (see
+  com.capitalone.commander.filter).  If opts gives a :from position
+  (see :com.capitalone.commander.database/position), the indexed events
+  after it are conveyed first, then live ones, without gaps or
+  duplicates (other than those the overflow policy causes)."
   ([api]
-   (events-ch api (a/chan (a/sliding-buffer 10))))
+   (events-ch api (a/chan)))
   ([api ch]
-   (log/info ::events-ch [api ch])
-   (-events-ch api ch)
+   (events-ch api ch {}))
+  ([api ch opts]
+   (log/info ::events-ch [api ch opts])
+   (-events-ch api ch opts)
    ch))
 
+(defn metrics
+  "Returns a map of operational metrics for the given api component."
+  [api]
+  {:database (d/pool-metrics (:database api))
+   :cache    (some-> (:cache api) cache/metrics)
+   :sync     {:pending (some-> (:completions api) completions/pending-count)}
+   :streams  {:commands (some-> (:commands-fanout api) fanout/fanout-metrics)
+              :events   (some-> (:events-fanout api) fanout/fanout-metrics)}})
+
+(defn- shared-command-map
+  "Returns the command map of record, converted only once for all the
+  subscribers of the fan-out that delivered it."
+  [record]
+  (fanout/memoized record ::command-map command-map))
+
+(defn- shared-event-map
+  "Returns the event map of record, converted only once for all the
+  subscribers of the fan-out that delivered it."
+  [record]
+  (fanout/memoized record ::event-map event-map))
+
+(defn- cache-records!
+  "Caches each record conveyed by ch under [kind id].  Records are
+  converted by ->map only when first looked up, so that caching a
+  record doesn't force decoding of its value.  The fan-out's memo of
+  stream encodings is dropped, so the cache doesn't retain them."
+  [cache kind ->map ch]
+  (a/go-loop []
+    (when-some [r (a/<! ch)]
+      (let [r (with-meta r nil)]
+        (cache/put! cache [kind (:key r)] (delay (->map r)) (codec/encoded-size (:value r))))
+      (recur))))
+
+;;;; Resumed streams
+
+;; A stream subscribed :from a position first replays the indexed
+;; records after it, then switches to the live fan-out.  The live
+;; subscription is made first, and the replay waits until the indexer
+;; has checkpointed every record the fan-out delivered before then, so
+;; every record is either replayed or arrives live.  Live records the
+;; replay already conveyed are skipped.
+;;
+;; Live records arriving during the replay are buffered without being
+;; dropped, up to :buffer-size of the replay config.  If the buffer
+;; overflows the stream fails, and the client resumes from the last
+;; record it received.  Once the replay is done, the stream tails the
+;; fan-out with its own queue and overflow policy, like any other.
+
+(def ^:private index-poll-ms 100)
+
+(defn- await-indexed
+  "Blocks until database has indexed each topic partition of positions
+  up to its offset, or timeout-ms elapses.  Returns true if indexed,
+  false if timed out."
+  [database positions timeout-ms]
+  (let [deadline (+ (System/currentTimeMillis) timeout-ms)]
+    (loop [pending positions]
+      (let [pending (into {}
+                          (remove (fn [[[topic partition] offset]]
+                                    (some-> (d/find-latest-partition-offset database topic partition)
+                                            (>= offset))))
+                          pending)]
+        (cond
+          (empty? pending)                          true
+          (< deadline (System/currentTimeMillis)) false
+          :else                                     (do (Thread/sleep index-poll-ms)
+                                                        (recur pending)))))))
+
+(defn- tail!
+  "Moves each value from live onto ch, skipping those at or before the
+  offset seen (a map of [topic partition] to offset) for their topic
+  partition.  Returns a channel conveying seen, updated with the
+  values moved, once live closes, or closing empty (after closing
+  live) if ch is closed first."
+  [live ch seen]
+  (a/go-loop [seen seen]
+    (if-some [v (a/<! live)]
+      (let [tp [(:topic v) (:partition v)]]
+        (cond
+          (<= (:offset v) (get seen tp -1)) (recur seen)
+          (util/>!-until-closed ch v)     (recur (assoc seen tp (:offset v)))
+          :else                             (a/close! live)))
+      seen)))
+
+(defn- replay-overflow
+  [buffer-size]
+  (ex-info "Stream fell behind while replaying; resume from the last record received"
+           {:buffer-size buffer-size}))
+
+(defn- replay-then-tail!
+  "Subscribes ch to fanout (with opts, as fanout/subscribe!), but first
+  conveys the records (stream-from database position ch) replays after
+  the :from position of opts, each converted by ->map.  Live records
+  are buffered meanwhile, up to :buffer-size of replay-config.  If the
+  replay fails, the index doesn't catch up with the fan-out within
+  :timeout-ms, or the buffer overflows, conveys an exception and
+  closes ch.  Returns ch."
+  [database fanout ch {:keys [from] :as opts} ->map stream-from {:keys [timeout-ms buffer-size]}]
+  (let [opts       (assoc (dissoc opts :from) :xf (map ->map))
+        overflowed (atom false)
+        buffered   (fanout/subscribe! fanout (a/chan) (assoc opts
+                                                             :buffer-size   buffer-size
+                                                             :overflow      :disconnect
+                                                             :on-disconnect #(reset! overflowed true)))
+        positions  (fanout/positions fanout)
+        wanted?    (if-some [f (not-empty (:filter opts))]
+                     #(filter/matches? f {:topic (:topic %) :partition (:partition %) :value %})
+                     (constantly true))]
+    (a/go
+      (let [replay (a/<! (a/thread
+                           (try
+                             (if (await-indexed database positions timeout-ms)
+                               (stream-from database from (a/chan 10))
+                               (ex-info "Timed out waiting for the index to catch up with the stream"
+                                        {:positions positions}))
+                             (catch Exception e e))))
+            seen   (if (instance? Throwable replay)
+                     (do (util/>!-until-closed ch replay)
+                         nil)
+                     (loop [seen {}]
+                       (let [v (a/<! replay)]
+                         (cond
+                           (nil? v)                seen
+                           (instance? Throwable v) (do (util/>!-until-closed ch v)
+                                                       nil)
+                           @overflowed             (do (a/close! replay)
+                                                       (util/>!-until-closed ch (replay-overflow buffer-size))
+                                                       nil)
+                           :else                   (let [tp   [(:topic v) (:partition v)]
+                                                         seen (assoc seen tp (max (:offset v) (get seen tp -1)))]
+                                                     (if (or (not (wanted? v)) (util/>!-until-closed ch v))
+                                                       (recur seen)
+                                                       (do (a/close! replay)
+                                                           nil)))))))
+            ;; Overflow is checked only once live is subscribed: from
+            ;; then on live receives every record, so a later overflow
+            ;; of buffered loses nothing.
+            live   (when seen
+                     (fanout/subscribe! fanout (a/chan) opts))]
+        (cond
+          (nil? seen)
+          (a/close! buffered)
+
+          @overflowed
+          (do (a/close! live)
+              (util/>!-until-closed ch (replay-overflow buffer-size)))
+
+          :else
+          (do (fanout/unsubscribe-ch! fanout buffered)
+              (if-some [seen (a/<! (tail! buffered ch seen))]
+                (a/<! (tail! live ch seen))
+                (a/close! live))))
+        (a/close! ch)))
+    ch))
+
 (defn- command-record
   [topic id command]
   {:topic topic
    :key   id
    :value command})
 
-(defn- send-command-and-await-result!
-  [kafka-producer command-topic id command]
-  (let [record (command-record command-topic id command)
-        ch (k/send! kafka-producer record)]
-    (if-some [ret (a/<!! ch)]
-      (if (instance? Exception ret)
-        (throw (ex-info "Error writing to Kafka" {:record record} ret))
-        ret)
-      (throw (ex-info "Error writing to Kafka: send response channel closed" {:record record})))))
+(defn- send-error
+  "Returns an ExceptionInfo describing a failure to write record, given
+  the value conveyed by its send! channel."
+  [record ret]
+  (if (instance? Exception ret)
+    (ex-info "Error writing to Kafka" {:record record} ret)
+    (ex-info "Error writing to Kafka: send response channel closed" {:record record})))
+
+(defn- <!!-command
+  "Takes the command (or exception) conveyed by ch, blocking, and
+  returns the command or throws the exception."
+  [ch]
+  (let [ret (a/<!! ch)]
+    (if (instance? Throwable ret)
+      (throw ret)
+      ret)))
 
 (defrecord Commander [database
                       kafka-producer
@@ -245,108 +557,126 @@
                       ch
                       pub
                       commands-ch
-                      commands-mult
+                      commands-fanout
                       events-ch
-                      events-pub
-                      events-mult
-                      sync-timeout-ms]
+                      completions
+                      events-fanout
+                      fanout-config
+                      cache
+                      sync-timeout-ms
+                      replay-config]
   CommandService
   (-create-command [this command-params]
-    (let [id     (uuid/v1)
-          result (send-command-and-await-result! kafka-producer commands-topic id command-params)]
-      (assoc command-params
-             :id        id
-             :timestamp (:timestamp result)
-             :topic     (:topic result)
-             :partition (:partition result)
-             :offset    (:offset result))))
+    (<!!-command (-create-command-async this command-params nil)))
   (-create-command-sync [this command-params sync-timeout-ms]
+    (<!!-command (-create-command-async this command-params sync-timeout-ms)))
+  (-create-command-async [this command-params sync-timeout-ms]
     (let [id     (uuid/v1)
-          rch    (a/promise-chan)
-          _      (a/sub events-pub id rch)
-          result (send-command-and-await-result! kafka-producer commands-topic id command-params)
-          base   (assoc command-params
-                        :id        id
-                        :timestamp (:timestamp result)
-                        :topic     (:topic result)
-                        :partition (:partition result)
-                        :offset    (:offset result))]
+          record (command-record commands-topic id command-params)
+          rch    (when sync-timeout-ms
+                   (completions/register! completions id sync-timeout-ms))
+          ch     (a/promise-chan)]
       (try
-        (a/alt!!
-          rch
-          ([v] (assoc base :children [(:key v)]))
-
-          (a/timeout sync-timeout-ms)
-          ([v] (assoc base :error "Timed out waiting for completion event.")))
-        (finally
-          (a/close! rch)
-          (a/unsub events-pub id rch)))))
-  (-list-commands [_ offset limit]
-    (d/fetch-commands database offset limit))
-  (-get-command-by-id [this id]
-    (d/fetch-command-by-id database id))
-  (-commands-ch [this ch]
-    (let [int (a/chan 1 (map command-map))]
-      (a/pipe int ch)
-      (a/tap commands-mult int)
+        (let [send-ch (k/send! kafka-producer record)]
+          (a/go
+            (let [result (a/<! send-ch)]
+              (if (or (nil? result) (instance? Exception result))
+                (do (when rch (completions/unregister! completions id))
+                    (a/>! ch (send-error record result)))
+                (let [command (assoc command-params
+                                     :id        id
+                                     :timestamp (:timestamp result)
+                                     :topic     (:topic result)
+                                     :partition (:partition result)
+                                     :offset    (:offset result))]
+                  (a/>! ch (if rch
+                             (if-some [v (a/<! rch)]
+                               (assoc command :children [(:key v)])
+                               (assoc command :error "Timed out waiting for completion event."))
+                             command)))))))
+        (catch Exception e
+          (when rch (completions/unregister! completions id))
+          (a/put! ch (send-error record e))))
       ch))
+  (-list-commands [_ offset limit cursor total-mode]
+    (d/fetch-commands database limit offset cursor total-mode))
+  (-stream-commands [_ offset cursor ch]
+    (d/stream-commands database offset cursor ch))
+  (-get-command-by-id [this id]
+    (cache/lookup cache [:command id] #(d/fetch-command-by-id database id)))
+  (-commands-ch [this ch opts]
+    (if (:from opts)
+      (replay-then-tail! database commands-fanout ch opts shared-command-map d/stream-commands-from replay-config)
+      (fanout/subscribe! commands-fanout ch (assoc opts :xf (map shared-command-map)))))
 
   CommandValidator
 ;;; TODO
   (-validate-command-params [this command-params] true)
 
   EventService
-  (-list-events [this offset limit]
-    (d/fetch-events database offset limit))
+  (-list-events [this offset limit cursor total-mode]
+    (d/fetch-events database limit offset cursor total-mode))
+  (-stream-events [_ offset cursor ch]
+    (d/stream-events database offset cursor ch))
   (-get-event-by-id [this id]
-    (d/fetch-event-by-id database id))
-  (-events-ch [this ch]
-    (let [int (a/chan 1 (map event-map))]
-      (a/pipe int ch)
-      (a/tap events-mult int)
-      ch))
+    (cache/lookup cache [:event id] #(d/fetch-event-by-id database id)))
+  (-events-ch [this ch opts]
+    (if (:from opts)
+      (replay-then-tail! database events-fanout ch opts shared-event-map d/stream-events-from replay-config)
+      (fanout/subscribe! events-fanout ch (assoc opts :xf (map shared-event-map)))))
 
   c/Lifecycle
   (start [this]
     (let [^Consumer consumer (:consumer kafka-consumer)
-          ch             (a/chan 1)
+          ch             (a/chan 1 cat)
           pub            (a/pub ch :topic)
 
-          events-ch      (a/chan 1)
-          events-mult    (a/mult events-ch)
-
-          events-ch-copy (a/chan 1)
-          events-pub     (a/pub events-ch-copy (comp :parent :value))
+          ;; Each event first completes the sync command waiting for
+          ;; it, if any, before it is fanned out to stream subscribers.
+          ;; Subscribers each get their own bounded queue, so a slow
+          ;; one never holds up delivery to the others.
+          completions     (c/start (completions/construct-completions))
+          events-ch       (a/chan 1 (completions/complete-xf completions (comp :parent :value)))
+          events-fanout   (fanout/fanout events-ch fanout-config)
 
-          commands-ch    (a/chan 1)
-          commands-mult  (a/mult commands-ch)]
+          commands-ch     (a/chan 1)
+          commands-fanout (fanout/fanout commands-ch fanout-config)]
       (.subscribe consumer [commands-topic events-topic])
 
       (a/sub pub commands-topic commands-ch)
       (a/sub pub events-topic events-ch)
-      (a/tap events-mult events-ch-copy)
 
-      (k/kafka-consumer-onto-ch! kafka-consumer ch)
+      ;; Records arriving on the Log are cached as they pass by, so
+      ;; clients reading a command or event by id shortly after it is
+      ;; created don't need to query the database.
+      (cache-records! cache :command command-map (fanout/subscribe! commands-fanout (a/chan 1)))
+      (cache-records! cache :event event-map (fanout/subscribe! events-fanout (a/chan 1)))
+
+      (k/kafka-consumer-batches-onto-ch! kafka-consumer ch)
 
       (assoc this
-             :ch            ch
-             :pub           pub
-             :events-ch     events-ch
-             :events-mult   events-mult
-             :events-pub    events-pub
-             :commands-ch   commands-ch
-             :commands-mult commands-mult)))
+             :ch              ch
+             :pub             pub
+             :events-ch       events-ch
+             :events-fanout   events-fanout
+             :completions     completions
+             :commands-ch     commands-ch
+             :commands-fanout commands-fanout)))
   (stop [this]
     (when ch (a/close! ch))
     (when pub (a/unsub-all pub))
     (when events-ch  (a/close! events-ch))
-    (when events-pub (a/unsub-all events-pub))
+    (when completions (c/stop completions))
     (when commands-ch (a/close! commands-ch))
-    (dissoc this :events-ch :events-pub :commands-ch)))
+    (dissoc this :events-ch :completions :events-fanout :commands-ch :commands-fanout)))
 
 (defn construct-commander-api
-  [{:keys [commands-topic events-topic sync-timeout-ms]
+  [{:keys [commands-topic events-topic sync-timeout-ms replay-timeout-ms replay-buffer-size]
     :as config}]
-  (map->Commander {:commands-topic  commands-topic
-                   :events-topic    events-topic
-                   :sync-timeout-ms sync-timeout-ms}))
+  (map->Commander {:commands-topic    commands-topic
+                   :events-topic      events-topic
+                   :cache             (cache/construct-cache (:cache config))
+                   :fanout-config     (:fanout config)
+                   :sync-timeout-ms   sync-timeout-ms
+                   :replay-config     {:timeout-ms  (or replay-timeout-ms 10000)
+                                       :buffer-size (or replay-buffer-size 10000)}}))
@@ -0,0 +1,110 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.cache
+  (:require [com.capitalone.commander.codec :as codec])
+  (:import [java.util.concurrent ConcurrentMap TimeUnit]
+           [com.google.common.cache Cache CacheBuilder CacheStats Weigher]))
+
+(set! *warn-on-reflection* true)
+
+;; Indexed commands and events never change, so entries only need to
+;; be dropped for size and age.  Ids that were looked up and not found
+;; are remembered separately and for a much shorter time, so that a
+;; client polling for a not-yet-indexed id doesn't reach the database
+;; on every request, but sees the record soon after it is indexed.
+;;
+;; Values vary widely in size, so entries are bounded by their total
+;; weight rather than their number: each weighs the length in bytes of
+;; its value's Fressian encoding.  Records from the Log carry their
+;; encoding, so they are weighed without being decoded.
+
+(def defaults
+  {:max-bytes         (* 64 1024 1024)
+   :ttl-ms            600000
+   :negative-max-size 10000
+   :negative-ttl-ms   1000})
+
+(deftype Entry [^long weight value])
+
+(def ^:private entry-weigher
+  (reify Weigher
+    (weigh [_ _ entry]
+      (int (min Integer/MAX_VALUE (max 1 (.-weight ^Entry entry)))))))
+
+(defn- ^Cache build-cache
+  [^CacheBuilder builder ttl-ms]
+  (-> builder
+      (.expireAfterWrite ttl-ms TimeUnit/MILLISECONDS)
+      .recordStats
+      .build))
+
+(defn construct-cache
+  "Returns a cache holding values of at most :max-bytes in total (as
+  encoded), each for at most :ttl-ms, and remembering up to
+  :negative-max-size keys found missing for :negative-ttl-ms (see
+  defaults)."
+  [config]
+  (let [{:keys [max-bytes ttl-ms negative-max-size negative-ttl-ms]}
+        (merge defaults (into {} (remove (comp nil? val)) config))]
+    {:entries (build-cache (-> (CacheBuilder/newBuilder)
+                               (.maximumWeight max-bytes)
+                               (.weigher entry-weigher))
+                           ttl-ms)
+     :missing (build-cache (-> (CacheBuilder/newBuilder)
+                               (.maximumSize negative-max-size))
+                           negative-ttl-ms)}))
+
+(defn put!
+  "Caches v, whose encoding is size bytes long, under k, forgetting
+  that k was missing."
+  [{:keys [^Cache entries ^Cache missing]} k v size]
+  (.put entries k (->Entry size v))
+  (.invalidate missing k))
+
+(defn lookup
+  "Returns the value cached under k, forcing it if it is a delay.
+  Otherwise, unless k was recently found missing, returns the result
+  of calling load-fn, caching it under k if it is non-nil or
+  remembering k as missing if it is nil."
+  [{:keys [^Cache entries ^Cache missing]} k load-fn]
+  (if-some [^Entry entry (.getIfPresent entries k)]
+    (force (.-value entry))
+    (when-not (.getIfPresent missing k)
+      (if-some [v (load-fn)]
+        (if-some [^Entry entry (.putIfAbsent ^ConcurrentMap (.asMap entries) k (->Entry (codec/encoded-size v) v))]
+          (force (.-value entry))
+          v)
+        (do (.put missing k true)
+            nil)))))
+
+(defn metrics
+  "Returns a map of the cache's current size and hit, miss, and
+  eviction counts.  :negative-hits counts lookups answered by a
+  remembered miss, and :loads counts lookups that reached load-fn."
+  [{:keys [^Cache entries ^Cache missing]}]
+  (let [^CacheStats entry-stats   (.stats entries)
+        ^CacheStats missing-stats (.stats missing)]
+    {:size          (.size entries)
+     :hits          (.hitCount entry-stats)
+     :misses        (.missCount entry-stats)
+     :hit-rate      (.hitRate entry-stats)
+     :evictions     (.evictionCount entry-stats)
+     :negative-size (.size missing)
+     :negative-hits (.hitCount missing-stats)
+     :loads         (.missCount missing-stats)}))
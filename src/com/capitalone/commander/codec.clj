@@ -0,0 +1,466 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.codec
+  "Fressian encoding and decoding of command and event values."
+  (:require [clojure.data.fressian :as fressian])
+  (:import [java.util Arrays HashSet Set UUID]
+           [org.apache.kafka.common.serialization Deserializer]
+           [org.fressian FressianWriter Writer]
+           [org.fressian.handlers WriteHandler]
+           [org.fressian.impl BytesOutputStream Codes Ranges]))
+
+(set! *warn-on-reflection* true)
+
+;;;; Encoding
+
+;; fressian/write builds a new output stream, writer, and handler
+;; lookup for every value, and its result is copied once more into a
+;; byte array.  Each thread instead keeps one output stream and writer
+;; (whose handler lookup caches per class) and reuses them for every
+;; value it encodes; writing the footer resets the writer's checksum
+;; and caches, so each value is encoded independently.
+
+(def ^:private max-retained-buffer
+  "Output buffers grown past this many bytes are not kept for reuse."
+  (* 1024 1024))
+
+;; Keyword keys repeat within a value wherever it holds a collection of
+;; similar maps.  The priority cache is cleared at every footer, so
+;; keys can't be shared between values without a reader that knows the
+;; dictionary.  Instead, when caching keys, the value is first walked
+;; to find the keyword keys it repeats.  Each is put in the priority
+;; cache where it first occurs (one byte more than writing it plainly),
+;; and every later occurrence takes a single byte instead of three.
+;; Keys written only once are written plainly, maps are written as the
+;; same counted lists as without caching, and any Fressian reader
+;; decodes the result.
+
+(defn- find-repeated-keys!
+  "Adds the keyword keys of every map within v to seen, and those
+  found more than once to repeated."
+  [^Set seen ^Set repeated v]
+  (cond
+    (instance? clojure.lang.APersistentMap v)
+    (reduce-kv (fn [_ k x]
+                 (when (and (keyword? k) (not (.add seen k)))
+                   (.add repeated k))
+                 (find-repeated-keys! seen repeated x))
+               nil
+               v)
+
+    (coll? v)
+    (run! #(find-repeated-keys! seen repeated %) v)))
+
+(defn- key-caching-map-handler
+  "Returns a handler writing maps as the default handler does, with
+  keyword keys in repeated cached."
+  [^Set repeated]
+  (reify WriteHandler
+    (write [_ w m]
+      (let [^FressianWriter w w
+            n                 (* 2 (count m))]
+        (.writeTag w "map" 1)
+        (if (< n Ranges/LIST_PACKED_LENGTH_END)
+          (.writeCode w (+ Codes/LIST_PACKED_LENGTH_START n))
+          (do (.writeCode w Codes/LIST)
+              (.writeCount w n)))
+        (reduce-kv (fn [^Writer w k v]
+                     (.writeObject w k (.contains repeated k))
+                     (.writeObject w v)
+                     w)
+                   w
+                   m)))))
+
+(deftype ^:private Encoder [^BytesOutputStream out ^Writer writer ^Set seen ^Set repeated])
+
+(defn- new-encoder
+  [cache-keys?]
+  (let [out      (BytesOutputStream. 4096)
+        seen     (when cache-keys? (HashSet.))
+        repeated (when cache-keys? (HashSet.))
+        handlers (cond-> fressian/clojure-write-handlers
+                   cache-keys? (assoc clojure.lang.APersistentMap
+                                      {"map" (key-caching-map-handler repeated)}))]
+    (->Encoder out
+               (FressianWriter. out (-> handlers
+                                        fressian/associative-lookup
+                                        fressian/inheritance-lookup))
+               seen
+               repeated)))
+
+(def ^:private ^ThreadLocal encoders
+  (proxy [ThreadLocal] []
+    (initialValue [] (new-encoder false))))
+
+(def ^:private ^ThreadLocal key-caching-encoders
+  (proxy [ThreadLocal] []
+    (initialValue [] (new-encoder true))))
+
+(defn encode
+  "Returns the Fressian encoding of v, with footer, as a byte array.
+  Reuses the calling thread's output buffer and writer, and copies
+  the encoding once, into the returned array.  With :cache-keys?,
+  keyword keys repeated within v are written to the priority cache."
+  (^bytes [v]
+   (encode v nil))
+  (^bytes [v {:keys [cache-keys?]}]
+   (let [^ThreadLocal encoders  (if cache-keys? key-caching-encoders encoders)
+         ^Encoder encoder       (.get encoders)
+         ^BytesOutputStream out (.-out encoder)
+         ^Writer writer         (.-writer encoder)
+         ^Set seen              (.-seen encoder)
+         ^Set repeated          (.-repeated encoder)]
+     (try
+       (when seen
+         (find-repeated-keys! seen repeated v))
+       (.writeObject writer v)
+       (.writeFooter writer)
+       (let [bs (Arrays/copyOf (.internalBuffer out) (.length out))]
+         (when seen
+           (.clear seen)
+           (.clear repeated))
+         (if (> (alength (.internalBuffer out)) max-retained-buffer)
+           (.remove encoders)
+           (.reset out))
+         bs)
+       (catch Throwable t
+         ;; the writer may be left mid-value; start over with a fresh one
+         (.remove encoders)
+         (throw t))))))
+
+;;;; Routing scan
+
+;; Most consumed records are only routed (by :parent, to the sync
+;; command waiting for them) and never read in full.  The scanner walks
+;; the top level of an encoded value map and decodes just :action and
+;; :parent, stepping over every other value without materializing it.
+;; It supports the subset of Fressian that command and event values
+;; use, with keyword keys and actions and UUID parents; anything else
+;; aborts the scan, and the value is decoded in full instead.
+
+(defn- unsupported
+  [code]
+  (throw (ex-info "Unsupported Fressian code in routing scan" {:code code})))
+
+(definterface IScanner
+  (^long rawByte [])
+  (^long rawInt [^long n])
+  (^long readInt [])
+  (^long intPayload [^long code])
+  (^void cachePut [^long p])
+  (^long listCount [])
+  (^boolean endOfList [^long n ^long i])
+  (^String readString [^long code])
+  (^long cacheRef [^long code])
+  (replay [^long p ^boolean key?])
+  (^void skipCount [^long n])
+  (^void skip [])
+  (^void skipCode [^long code])
+  (readName [])
+  (readKey [])
+  (readUUID []))
+
+(defn- cache-ref?
+  [^long code]
+  (or (and (>= code Codes/PRIORITY_CACHE_PACKED_START) (< code Codes/PRIORITY_CACHE_PACKED_END))
+      (== code Codes/GET_PRIORITY_CACHE)))
+
+;; The priority cache is tracked as the position of each cached
+;; object, which is decoded again whenever a top-level key refers to it.
+(deftype Scanner [^bytes buf
+                  ^:unsynchronized-mutable ^long pos
+                  ^:unsynchronized-mutable ^longs cache
+                  ^:unsynchronized-mutable ^long cache-count
+                  ^:unsynchronized-mutable ^long replaying]
+  IScanner
+  (cachePut [_ p]
+    ;; objects re-read through a cache reference were cached when first
+    ;; scanned
+    (when (zero? replaying)
+      (when (== cache-count (alength cache))
+        (set! cache (Arrays/copyOf cache (* 2 cache-count))))
+      (aset cache cache-count p)
+      (set! cache-count (inc cache-count))))
+  (cacheRef [this code]
+    (let [i (if (== code Codes/GET_PRIORITY_CACHE)
+              (.readInt this)
+              (- code Codes/PRIORITY_CACHE_PACKED_START))]
+      (when (>= i cache-count)
+        (unsupported code))
+      (aget cache i)))
+  (replay [this p key?]
+    (let [resume pos]
+      (set! replaying (inc replaying))
+      (set! pos p)
+      (let [v (if key? (.readKey this) (.readName this))]
+        (set! pos resume)
+        (set! replaying (dec replaying))
+        v)))
+  (rawByte [_]
+    (let [b (bit-and (aget buf pos) 0xff)]
+      (set! pos (inc pos))
+      b))
+  (rawInt [this n]
+    (loop [i 0 v 0]
+      (if (< i n)
+        (recur (inc i) (bit-or (bit-shift-left v 8) (.rawByte this)))
+        v)))
+  (intPayload [this code]
+    (cond
+      (== code 0xFF)                                        -1
+      (< code Codes/INT_PACKED_1_END)                       code
+      (< code Codes/INT_PACKED_2_END) (bit-or (bit-shift-left (- code Codes/INT_PACKED_2_ZERO) 8) (.rawInt this 1))
+      (< code Codes/INT_PACKED_3_END) (bit-or (bit-shift-left (- code Codes/INT_PACKED_3_ZERO) 16) (.rawInt this 2))
+      (< code Codes/INT_PACKED_4_END) (bit-or (bit-shift-left (- code Codes/INT_PACKED_4_ZERO) 24) (.rawInt this 3))
+      (< code Codes/INT_PACKED_5_END) (bit-or (bit-shift-left (- code Codes/INT_PACKED_5_ZERO) 32) (.rawInt this 4))
+      (< code Codes/INT_PACKED_6_END) (bit-or (bit-shift-left (- code Codes/INT_PACKED_6_ZERO) 40) (.rawInt this 5))
+      (< code Codes/INT_PACKED_7_END) (bit-or (bit-shift-left (- code Codes/INT_PACKED_7_ZERO) 48) (.rawInt this 6))
+      (== code Codes/INT)             (.rawInt this 8)
+      :else                           (unsupported code)))
+  (readInt [this]
+    (.intPayload this (.rawByte this)))
+  (listCount [this]
+    (let [code (.rawByte this)]
+      (cond
+        (and (>= code Codes/LIST_PACKED_LENGTH_START)
+             (< code Codes/LIST_PACKED_LENGTH_END)) (- code Codes/LIST_PACKED_LENGTH_START)
+        (== code Codes/LIST)                        (.readInt this)
+        (or (== code Codes/BEGIN_CLOSED_LIST)
+            (== code Codes/BEGIN_OPEN_LIST))        -1
+        :else                                       (unsupported code))))
+  (endOfList [_ n i]
+    (if (neg? n)
+      (if (or (>= pos (alength buf))
+              (== (bit-and (aget buf pos) 0xff) Codes/END_COLLECTION))
+        (do (set! pos (inc pos)) true)
+        false)
+      (>= i n)))
+  (readString [this code]
+    (let [n    (cond
+                 (and (>= code Codes/STRING_PACKED_LENGTH_START)
+                      (< code Codes/STRING_PACKED_LENGTH_END)) (- code Codes/STRING_PACKED_LENGTH_START)
+                 (== code Codes/STRING)                        (.readInt this)
+                 :else                                         (unsupported code))
+          end  (+ pos n)
+          sb   (StringBuilder. (int n))]
+      (while (< pos end)
+        (let [ch (.rawByte this)]
+          (case (int (bit-shift-right ch 4))
+            (0 1 2 3 4 5 6 7) (.append sb (char ch))
+            (12 13)           (.append sb (char (bit-or (bit-shift-left (bit-and ch 0x1f) 6)
+                                                        (bit-and (.rawByte this) 0x3f))))
+            14                (.append sb (char (bit-or (bit-shift-left (bit-and ch 0x0f) 12)
+                                                        (bit-shift-left (bit-and (.rawByte this) 0x3f) 6)
+                                                        (bit-and (.rawByte this) 0x3f))))
+            (unsupported code))))
+      (.toString sb)))
+  (skipCount [this n]
+    (dotimes [_ n] (.skip this)))
+  (skip [this]
+    (.skipCode this (.rawByte this)))
+  (skipCode [this code]
+    (cond
+      (or (== code 0xFF) (< code Codes/PRIORITY_CACHE_PACKED_START) (== code Codes/INT))
+      (.intPayload this code)
+
+      (< code Codes/PRIORITY_CACHE_PACKED_END)
+      nil
+
+      (or (== code Codes/TRUE) (== code Codes/FALSE) (== code Codes/NULL)
+          (== code Codes/DOUBLE_0) (== code Codes/DOUBLE_1))
+      nil
+
+      (== code Codes/DOUBLE) (set! pos (+ pos 8))
+      (== code Codes/FLOAT)  (set! pos (+ pos 4))
+
+      (and (>= code Codes/STRING_PACKED_LENGTH_START) (< code Codes/STRING_PACKED_LENGTH_END))
+      (set! pos (+ pos (- code Codes/STRING_PACKED_LENGTH_START)))
+
+      (and (>= code Codes/BYTES_PACKED_LENGTH_START) (< code Codes/BYTES_PACKED_LENGTH_END))
+      (set! pos (+ pos (- code Codes/BYTES_PACKED_LENGTH_START)))
+
+      (or (== code Codes/STRING) (== code Codes/BYTES))
+      (let [n (.readInt this)]
+        (set! pos (+ pos n)))
+
+      ;; chunks are followed by further chunks, then a final string or bytes
+      (or (== code Codes/STRING_CHUNK) (== code Codes/BYTES_CHUNK))
+      (let [n (.readInt this)]
+        (set! pos (+ pos n))
+        (.skip this))
+
+      (and (>= code Codes/LIST_PACKED_LENGTH_START) (< code Codes/LIST_PACKED_LENGTH_END))
+      (.skipCount this (- code Codes/LIST_PACKED_LENGTH_START))
+
+      (== code Codes/LIST)
+      (.skipCount this (.readInt this))
+
+      (or (== code Codes/BEGIN_CLOSED_LIST) (== code Codes/BEGIN_OPEN_LIST))
+      (loop [i 0]
+        (when-not (.endOfList this -1 i)
+          (.skip this)
+          (recur (inc i))))
+
+      (or (== code Codes/MAP) (== code Codes/SET) (== code Codes/UUID) (== code Codes/INST)
+          (== code Codes/URI) (== code Codes/REGEX) (== code Codes/BIGINT))
+      (.skip this)
+
+      (or (== code Codes/KEY) (== code Codes/SYM) (== code Codes/BIGDEC) (== code Codes/META))
+      (.skipCount this 2)
+
+      (or (== code Codes/INT_ARRAY) (== code Codes/LONG_ARRAY) (== code Codes/FLOAT_ARRAY)
+          (== code Codes/DOUBLE_ARRAY) (== code Codes/BOOLEAN_ARRAY) (== code Codes/OBJECT_ARRAY))
+      (.skipCount this (.readInt this))
+
+      (== code Codes/PUT_PRIORITY_CACHE)
+      (do (.cachePut this pos)
+          (.skip this))
+
+      (== code Codes/GET_PRIORITY_CACHE)
+      (.readInt this)
+
+      :else
+      (unsupported code)))
+  (readName [this]
+    (let [code (.rawByte this)]
+      (cond
+        (== code Codes/NULL)               nil
+        (== code Codes/PUT_PRIORITY_CACHE) (do (.cachePut this pos)
+                                               (.readName this))
+        (cache-ref? code)                  (.replay this (.cacheRef this code) false)
+        :else                              (.readString this code))))
+  (readKey [this]
+    (let [code (.rawByte this)]
+      (cond
+        (== code Codes/KEY)                (let [ns (.readName this)]
+                                             (keyword ns (.readName this)))
+        (== code Codes/PUT_PRIORITY_CACHE) (do (.cachePut this pos)
+                                               (.readKey this))
+        (cache-ref? code)                  (.replay this (.cacheRef this code) true)
+        :else                              (unsupported code))))
+  (readUUID [this]
+    (let [code (.rawByte this)]
+      (cond
+        (== code Codes/NULL) nil
+        (== code Codes/UUID) (do (when-not (and (== (.rawByte this) Codes/BYTES)
+                                                (== (.readInt this) 16))
+                                   (unsupported code))
+                                 (UUID. (.rawInt this 8) (.rawInt this 8)))
+        :else                (unsupported code)))))
+
+(defn- scan-routing
+  "Returns a map of the :action and :parent of the value map encoded
+  in bs, or nil if the encoding can't be scanned."
+  [^bytes bs]
+  (try
+    (let [s (Scanner. bs 0 (long-array 16) 0 0)]
+      (when (== (.rawByte s) Codes/MAP)
+        (let [n (.listCount s)]
+          (loop [i 0 routing {}]
+            (if (.endOfList s n i)
+              routing
+              (let [k (.readKey s)]
+                (case k
+                  :action (recur (+ i 2) (assoc routing :action (.readKey s)))
+                  :parent (recur (+ i 2) (assoc routing :parent (.readUUID s)))
+                  (do (.skip s)
+                      (recur (+ i 2) routing)))))))))
+    (catch Exception _
+      nil)))
+
+;;;; Lazy values
+
+(deftype LazyValue [^bytes bytes routing value]
+  clojure.lang.ILookup
+  (valAt [this k]
+    (.valAt this k nil))
+  (valAt [_ k not-found]
+    (if (and routing (or (identical? k :action) (identical? k :parent)))
+      (get routing k not-found)
+      (get @value k not-found)))
+
+  clojure.lang.IFn
+  (invoke [this k]
+    (.valAt this k nil))
+  (invoke [this k not-found]
+    (.valAt this k not-found))
+  (applyTo [this args]
+    (clojure.lang.AFn/applyToHelper this args))
+
+  clojure.lang.IPersistentMap
+  (assoc [_ k v] (assoc @value k v))
+  (assocEx [_ k v] (.assocEx ^clojure.lang.IPersistentMap @value k v))
+  (without [_ k] (dissoc @value k))
+  (containsKey [_ k] (contains? @value k))
+  (entryAt [_ k] (find @value k))
+  (count [_] (count @value))
+  (cons [_ o] (conj @value o))
+  (empty [_] {})
+  (equiv [_ o] (= @value o))
+  (seq [_] (seq @value))
+  (iterator [_] (.iterator ^Iterable @value))
+
+  ;; So that a map compares equal to a lazy value as well as the other
+  ;; way round.
+  clojure.lang.MapEquivalence
+  java.util.Map
+  (size [_] (count @value))
+  (isEmpty [_] (empty? @value))
+  (containsValue [_ v] (.containsValue ^java.util.Map @value v))
+  (get [this k] (.valAt this k nil))
+  (keySet [_] (.keySet ^java.util.Map @value))
+  (values [_] (.values ^java.util.Map @value))
+  (entrySet [_] (.entrySet ^java.util.Map @value))
+  (put [_ _ _] (throw (UnsupportedOperationException.)))
+  (remove [_ _] (throw (UnsupportedOperationException.)))
+  (putAll [_ _] (throw (UnsupportedOperationException.)))
+  (clear [_] (throw (UnsupportedOperationException.)))
+
+  clojure.lang.IHashEq
+  (hasheq [_] (hash @value))
+
+  clojure.lang.IMeta
+  (meta [_] (meta @value))
+
+  Object
+  (hashCode [_] (.hashCode ^Object @value))
+  (equals [_ o] (.equals ^Object @value o))
+  (toString [_] (str @value)))
+
+(defn lazy-value
+  "Returns a map view of the Fressian-encoded value map bs.  :action
+  and :parent are read eagerly; the rest of the value is decoded the
+  first time any other key is looked up."
+  [^bytes bs]
+  (->LazyValue bs (scan-routing bs) (delay (fressian/read bs))))
+
+(defn encoded-size
+  "Returns the length in bytes of the Fressian encoding of v, which a
+  lazy value already holds."
+  [v]
+  (if (instance? LazyValue v)
+    (alength ^bytes (.-bytes ^LazyValue v))
+    (alength (encode v))))
+
+(deftype LazyFressianDeserializer []
+  Deserializer
+  (close [_])
+  (configure [_ _ _])
+  (deserialize [_ _ data]
+    (when data (lazy-value data))))
@@ -0,0 +1,111 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.completions
+  (:require [clojure.core.async :as a]
+            [com.stuartsierra.component :as component])
+  (:import [java.util.concurrent ConcurrentHashMap TimeUnit]
+           [io.netty.util HashedWheelTimer Timeout TimerTask]
+           [io.netty.util.concurrent DefaultThreadFactory]))
+
+(set! *warn-on-reflection* true)
+
+;; Sync commands wait for the event whose parent is the command's id.
+;; Waiters are kept in a concurrent map keyed by that id, so matching
+;; an event is a single hash lookup, and events nobody is waiting for
+;; cost nothing more.  Timeouts for all waiters share one timer wheel
+;; rather than each creating its own timeout channel.  A waiter's
+;; timeout is cancelled when it is completed, so the wheel only holds
+;; timeouts of commands still waiting.
+
+(deftype ^:private Waiter [ch timeout])
+
+(defn- cancel-timeout!
+  [^Waiter waiter]
+  (when-some [^Timeout timeout @(.-timeout waiter)]
+    (.cancel timeout)))
+
+(defrecord Completions [tick-ms ^ConcurrentHashMap pending ^HashedWheelTimer timer]
+  component/Lifecycle
+  (start [this]
+    (assoc this
+           :pending (ConcurrentHashMap.)
+           :timer   (doto (HashedWheelTimer. (DefaultThreadFactory. "commander-completions" true)
+                                         (long tick-ms) TimeUnit/MILLISECONDS)
+                      .start)))
+  (stop [this]
+    (when timer
+      (.stop timer))
+    (when pending
+      (doseq [^Waiter waiter (vals pending)]
+        (a/close! (.-ch waiter)))
+      (.clear pending))
+    (assoc this :pending nil :timer nil)))
+
+(defn register!
+  "Registers a waiter for the completion of id.  Returns a promise
+  channel that will convey the completing value given to complete!,
+  or close without a value if none arrives within timeout-ms."
+  [{:keys [^ConcurrentHashMap pending ^HashedWheelTimer timer]} id timeout-ms]
+  (let [ch      (a/promise-chan)
+        timeout (volatile! nil)
+        waiter  (->Waiter ch timeout)]
+    (.put pending id waiter)
+    (vreset! timeout (.newTimeout timer
+                                  (reify TimerTask
+                                    (run [_ _]
+                                      (when (.remove pending id waiter)
+                                        (a/close! ch))))
+                                  timeout-ms
+                                  TimeUnit/MILLISECONDS))
+    ch))
+
+(defn unregister!
+  "Removes the waiter for id, if any, closing its channel."
+  [{:keys [^ConcurrentHashMap pending]} id]
+  (when-let [^Waiter waiter (.remove pending id)]
+    (cancel-timeout! waiter)
+    (a/close! (.-ch waiter))))
+
+(defn complete!
+  "Delivers v to the waiter for id, if any.  Returns true if there was
+  a waiter."
+  [{:keys [^ConcurrentHashMap pending]} id v]
+  (if-let [^Waiter waiter (and (some? id) (.remove pending id))]
+    (do (cancel-timeout! waiter)
+        (a/put! (.-ch waiter) v)
+        true)
+    false))
+
+(defn complete-xf
+  "Returns a transducer that passes values through unchanged, first
+  completing the waiter for (key-fn value), if any."
+  [completions key-fn]
+  (map (fn [v]
+         (complete! completions (key-fn v) v)
+         v)))
+
+(defn pending-count
+  "Returns the number of waiters currently registered."
+  [{:keys [^ConcurrentHashMap pending]}]
+  (if pending (.size pending) 0))
+
+(defn construct-completions
+  ([] (construct-completions {}))
+  ([{:keys [tick-ms] :or {tick-ms 10}}]
+   (map->Completions {:tick-ms tick-ms})))
@@ -22,19 +22,35 @@
             [clojure.spec :as s]
             [clojure.data.fressian :as fressian]
             [clojure.java.jdbc :as j]
+            [clojure.core.async :as a]
             ragtime.jdbc
+            ragtime.protocols
             ragtime.repl
             [com.stuartsierra.component :as component]
             [io.pedestal.log :as log]
             [io.pedestal.http.route :as route]
             [com.capitalone.commander.util :as util]
-            [com.capitalone.commander :as commander]))
+            [com.capitalone.commander.codec :as codec]
+            [com.capitalone.commander :as commander])
+  (:import [java.io ByteArrayOutputStream DataOutputStream]
+           [java.sql Connection]
+           [java.util Base64 UUID]
+           [org.postgresql PGConnection]
+           [com.zaxxer.hikari HikariConfig HikariDataSource]
+           [com.zaxxer.hikari.metrics MetricsTracker MetricsTrackerFactory PoolStats]))
 
 (set! *warn-on-reflection* true)
 
 (defprotocol CommonDataAccess
   (-find-latest-partition-offset [database topic partition]
-    "Finds and returns the highest seen offset for the given topic partition."))
+    "Finds and returns the highest seen offset for the given topic partition.")
+  (-insert-commands-and-events! [database commands events]
+    "Inserts the given command and event maps into the given database
+    component in a single transaction.  Returns true if insert
+    succeeded, false otherwise.")
+  (-bulk-insert-commands-and-events! [database commands events]
+    "Like -insert-commands-and-events!, but using the database's bulk
+    loading facility, for use when indexing large backlogs."))
 
 (s/def ::CommonDataAccess (partial satisfies? CommonDataAccess))
 
@@ -45,7 +61,206 @@
 
 (def command-from-select event-from-select)
 
+;;;; Keyset pagination
+
+;; Cursors are opaque to clients: the URL-safe base64 encoding of the
+;; (timestamp, id) pair of the last row on a page.  Pages are ordered
+;; by that same pair, so the next page can seek directly to the
+;; cursor position instead of scanning past OFFSET rows.
+
+(s/def ::cursor (s/nilable string?))
+
+(defn encode-cursor
+  "Returns an opaque cursor string for the position of the given
+  command or event map, or nil if it has no :timestamp or :id."
+  [{:keys [timestamp id]}]
+  (when (and timestamp id)
+    (.encodeToString (.withoutPadding (Base64/getUrlEncoder))
+                     (.getBytes (str timestamp ":" id) "UTF-8"))))
+
+(defn decode-cursor
+  "Returns the [timestamp id] pair encoded in cursor.  Throws
+  ExceptionInfo if cursor is not a valid cursor."
+  [^String cursor]
+  (try
+    (let [s       (String. (.decode (Base64/getUrlDecoder) cursor) "UTF-8")
+          [ts id] (string/split s #":" 2)]
+      [(Long/parseLong ts) (UUID/fromString id)])
+    (catch Exception e
+      (throw (ex-info "Invalid cursor" {:cursor cursor} e)))))
+
+(defn- page-query
+  "Returns a query vector selecting columns from the commands (if
+  command? is true) or events, ordered by (timestamp, id).  Seeks past
+  the position of cursor if given, otherwise skips offset rows.  A
+  limit of 0 means no limit."
+  [columns command? limit offset cursor]
+  (let [[timestamp id] (some-> cursor decode-cursor)]
+    (cond-> [(str "SELECT " columns " FROM commander"
+                  " WHERE command = " command?
+                  (when cursor " AND (timestamp, id) > (?, ?)")
+                  " ORDER BY timestamp ASC, id ASC"
+                  (when (pos? limit) " LIMIT ?")
+                  (when-not cursor " OFFSET ?"))]
+      cursor       (conj timestamp id)
+      (pos? limit) (conj limit)
+      (not cursor) (conj offset))))
+
+;;;; Positions
+
+;; A position is where a resumed stream picks up, as one of
+;;
+;;   - {:offsets {[topic partition] offset}} after the last-seen offset
+;;     of each topic partition (from the start of any partition not
+;;     given)
+;;   - {:timestamp ms} from the given timestamp onward
+;;   - {:after-id id} after the last-seen command or event
+;;
+;; Rows after a position are ordered by (timestamp, id), like pages.
+
+(s/def ::offsets (s/map-of (s/tuple string? int?) int?))
+(s/def ::timestamp int?)
+(s/def ::after-id uuid?)
+(s/def ::position (s/or :offsets   (s/keys :req-un [::offsets])
+                        :timestamp (s/keys :req-un [::timestamp])
+                        :after-id  (s/keys :req-un [::after-id])))
+
+(defn- position-query
+  "Returns a query vector selecting columns from the commands (if
+  command? is true) or events after position, ordered by (timestamp,
+  id).  Throws ExceptionInfo if position is after an id that is not
+  indexed."
+  [db columns command? {:keys [offsets timestamp after-id] :as position}]
+  (let [[after-timestamp _] (when after-id
+                              (or (first (j/query db
+                                                  ["SELECT timestamp, id FROM commander WHERE id = ?" after-id]
+                                                  {:row-fn (juxt :timestamp :id)}))
+                                  (throw (ex-info "Unknown id" {:position position}))))]
+    (cond-> [(str "SELECT " columns " FROM commander"
+                  " WHERE command = " command?
+                  (when (seq offsets)
+                    (str " AND NOT ("
+                         (string/join " OR " (repeat (count offsets) "(topic = ? AND partition = ? AND \"offset\" <= ?)"))
+                         ")"))
+                  (when timestamp " AND timestamp >= ?")
+                  (when after-id " AND (timestamp, id) > (?, ?)")
+                  " ORDER BY timestamp ASC, id ASC")]
+      (seq offsets) (into (mapcat (fn [[[topic partition] offset]] [topic partition offset])) offsets)
+      timestamp     (conj timestamp)
+      after-id      (conj after-timestamp after-id))))
+
+;;;; Totals
+
+;; The indexer keeps a running row count and the highest indexed
+;; offset per topic partition in commander_partitions, in the same
+;; transaction as its inserts.  An exact total is a sum over a handful
+;; of rows rather than a count over the whole commander table, and the
+;; position to resume consuming from is a primary key lookup.
+
+;; :exact reads the totals maintained by the indexer, :approximate
+;; uses the query planner's row estimate, and :none omits the total.
+(s/def ::total-mode #{:exact :approximate :none})
+
+(defn- estimate-count
+  "Returns the query planner's estimated row count for query."
+  [db query]
+  (some->> (j/query db
+                    (update query 0 #(str "EXPLAIN " %))
+                    {:row-fn (comp first vals)})
+           first
+           (re-find #"rows=(\d+)")
+           second
+           Long/parseLong))
+
+(defn- fetch-total
+  "Returns the total count of commands (if command? is true) or
+  events according to total-mode, or nil if total-mode is :none."
+  [db command? total-mode]
+  (case total-mode
+    :exact       (first (j/query db
+                                 ["SELECT coalesce(sum(total), 0)::bigint AS total FROM commander_partitions WHERE command = ?" command?]
+                                 {:row-fn :total}))
+    :approximate (estimate-count db [(str "SELECT id FROM commander WHERE command = " command?)])
+    :none        nil))
+
+;; Pages are read into memory whole, including a page with a limit of 0
+;; (no limit), so every page is held to at most max-page-size rows.
+;; Longer listings page with a cursor, or stream.
+
+(def max-page-size
+  "The most commands or events a single page may hold."
+  10000)
+
+(defn- fetch-page
+  "Returns the page fetched by calling fetch with limit, or with one
+  more than max-page-size if limit is 0.  Throws ExceptionInfo of :type
+  ::page-too-large if limit is larger than max-page-size, or if limit
+  is 0 and there are more than max-page-size rows (found under
+  rows-key of the page)."
+  [fetch rows-key limit]
+  (when (> limit max-page-size)
+    (throw (ex-info (str "Limit must be at most " max-page-size)
+                    {:type ::page-too-large :limit limit})))
+  (let [page (fetch (if (pos? limit) limit (inc max-page-size)))]
+    (when (> (count (get page rows-key)) max-page-size)
+      (throw (ex-info (str "More than " max-page-size " results; page through them with a cursor, or stream them")
+                      {:type ::page-too-large :limit limit})))
+    (assoc page :limit limit)))
+
+;;;; Streaming
+
+;; Unbounded listings are streamed rather than materialized: the query
+;; runs in a read-only transaction so that PostgreSQL uses a
+;; server-side cursor, fetching fetch-size rows per round trip, and
+;; each row is decoded and put onto the caller's channel with a
+;; blocking put.  A slow consumer therefore holds back the query
+;; instead of rows accumulating in memory.
+
+(def stream-fetch-size
+  "Default number of rows fetched per round trip when streaming."
+  500)
+
+(defn- stream-rows!
+  "Runs query on a dedicated thread, putting each row (transformed by
+  row-fn) onto ch and closing ch when done.  Stops early if ch is
+  closed by the consumer.  If the query fails, puts the exception onto
+  ch before closing it.  Returns ch."
+  [database query row-fn ch]
+  (let [fetch-size (or (get-in database [:db-spec :fetch-size]) stream-fetch-size)]
+    (a/thread
+      (try
+        (j/with-db-transaction [tx database {:read-only? true}]
+          (j/query tx query {:fetch-size    fetch-size
+                             :row-fn        row-fn
+                             :result-set-fn (fn [rows]
+                                              (reduce (fn [_ row]
+                                                        (or (util/>!!-until-closed ch row) (reduced false)))
+                                                      true
+                                                      rows))}))
+        (catch Exception e
+          (log/error ::stream-rows! "Error streaming rows" :query query :exception e)
+          (util/>!!-until-closed ch e))
+        (finally
+          (a/close! ch))))
+    ch))
+
+(defn- update-partitions!
+  "For each topic partition of rows, adds the count of rows to its
+  total and advances its checkpoint to the highest offset among rows
+  in commander_partitions."
+  [db command? rows]
+  (doseq [[[topic partition] rows] (group-by (juxt :topic :partition) rows)]
+    (j/execute! db
+                ["INSERT INTO commander_partitions (topic, partition, command, total, \"offset\") VALUES (?, ?, ?, ?, ?)
+                  ON CONFLICT (topic, partition) DO UPDATE
+                  SET total    = commander_partitions.total + EXCLUDED.total,
+                      \"offset\" = GREATEST(commander_partitions.\"offset\", EXCLUDED.\"offset\")"
+                 topic partition command? (count rows) (apply max (map :offset rows))])))
+
 (defn find-latest-partition-offset
+  "Returns the highest offset indexed for the given topic partition,
+  as checkpointed in the same transaction as the indexer's inserts,
+  or nil if none."
   [database topic partition]
   (log/debug ::find-latest-commands-offset [database topic partition])
   (-find-latest-partition-offset database topic partition))
@@ -56,13 +271,51 @@
                      :partition ::commander/partition)
         :ret (s/nilable ::commander/offset))
 
+(defn insert-commands-and-events!
+  "Inserts the given command and event maps into the given database
+  component in a single transaction, commands first.  Returns true if
+  insert succeeded, false otherwise."
+  [database commands events]
+  (log/debug ::insert-commands-and-events! [database (count commands) (count events)])
+  (-insert-commands-and-events! database commands events))
+
+(s/fdef insert-commands-and-events!
+        :args (s/cat :database ::CommonDataAccess
+                     :commands (s/every ::commander/command)
+                     :events   (s/every ::commander/event))
+        :ret boolean?)
+
+(defn bulk-insert-commands-and-events!
+  "Like insert-commands-and-events!, but streams rows via the
+  database's bulk loading facility (COPY, for PostgreSQL).  Intended
+  for catching up on large backlogs, e.g. when replaying a topic."
+  [database commands events]
+  (log/debug ::bulk-insert-commands-and-events! [database (count commands) (count events)])
+  (-bulk-insert-commands-and-events! database commands events))
+
+(s/fdef bulk-insert-commands-and-events!
+        :args (s/cat :database ::CommonDataAccess
+                     :commands (s/every ::commander/command)
+                     :events   (s/every ::commander/event))
+        :ret boolean?)
+
 (defprotocol CommandDataAccess
-  (-fetch-commands [database limit offset]
+  (-fetch-commands [database limit offset cursor total-mode]
     "Fetches commands from the given database component, returning a map of
       - :commands a vector of command maps
       - :limit the limit passed to the query
       - :offset the offset passed to the query
-      - :total the total count of commands")
+      - :cursor an opaque cursor positioned after the last returned command
+      - :total the total count of commands, per total-mode
+    If cursor is given, offset is ignored and the page starts
+    immediately after the position identified by cursor.")
+  (-stream-commands [database offset cursor ch]
+    "Puts all commands, starting at offset (or immediately after
+    cursor, if given), onto the core.async channel ch in order, then
+    closes ch.  Returns ch.")
+  (-stream-commands-from [database position ch]
+    "Puts all commands after position (see ::position) onto the
+    core.async channel ch in order, then closes ch.  Returns ch.")
   (-fetch-command-by-id [database id]
     "Fetches and returns a single command from the given database component, identified by its UUID.")
   (-insert-commands! [database commands]
@@ -76,25 +329,69 @@
     - :commands a vector of command maps
     - :limit the limit passed to the query
     - :offset the offset passed to the query
-    - :total the total count of commands"
+    - :cursor an opaque cursor positioned after the last returned command
+    - :total the total count of commands, per total-mode (see ::total-mode)
+  If cursor is given, offset is ignored and the page starts
+  immediately after the position identified by cursor.  A limit of 0
+  means no limit, but see max-page-size."
   ([database]
    (fetch-commands database 0 0))
   ([database limit offset]
-   (log/debug ::fetch-commands [database limit offset])
-   (let [limit  (or limit 0)
-         offset (or offset 0)]
-     (-fetch-commands database limit offset))))
+   (fetch-commands database limit offset nil))
+  ([database limit offset cursor]
+   (fetch-commands database limit offset cursor :exact))
+  ([database limit offset cursor total-mode]
+   (log/debug ::fetch-commands [database limit offset cursor total-mode])
+   (let [limit      (or limit 0)
+         offset     (or offset 0)
+         total-mode (or total-mode :exact)]
+     (fetch-page #(-fetch-commands database % offset cursor total-mode) :commands limit))))
 
 (s/fdef fetch-commands
         :args (s/cat :database ::CommandDataAccess
+                     :limit  (s/int-in 0 Long/MAX_VALUE)
                      :offset (s/int-in 0 Long/MAX_VALUE)
-                     :limit  (s/int-in 0 Long/MAX_VALUE))
+                     :cursor (s/? ::cursor)
+                     :total-mode (s/? (s/nilable ::total-mode)))
         :ret (s/every ::commander/command)
         :fn #(let [limit (-> % :args :limit)]
                (if (pos? limit)
                  (= (-> % :ret count) limit)
                  true)))
 
+(defn stream-commands
+  "Puts all commands, starting at offset (or immediately after cursor,
+  if given), onto the core.async channel ch in order, then closes ch.
+  Rows are read through a server-side cursor and conveyed with blocking
+  puts, so memory use is bounded by ch's buffer regardless of the
+  number of commands.  If the query fails, the exception is put onto
+  ch before it is closed.  Returns ch."
+  [database offset cursor ch]
+  (log/debug ::stream-commands [database offset cursor ch])
+  (-stream-commands database (or offset 0) cursor ch))
+
+(s/fdef stream-commands
+        :args (s/cat :database ::CommandDataAccess
+                     :offset (s/nilable (s/int-in 0 Long/MAX_VALUE))
+                     :cursor ::cursor
+                     :ch any?)
+        :ret any?)
+
+(defn stream-commands-from
+  "Puts all commands after position (see ::position) onto the
+  core.async channel ch, ordered by (timestamp, id), then closes ch.
+  Rows are streamed as by stream-commands.  Throws ExceptionInfo if
+  position is after an id that is not indexed.  Returns ch."
+  [database position ch]
+  (log/debug ::stream-commands-from [database position ch])
+  (-stream-commands-from database position ch))
+
+(s/fdef stream-commands-from
+        :args (s/cat :database ::CommandDataAccess
+                     :position ::position
+                     :ch any?)
+        :ret any?)
+
 (defn fetch-command-by-id
   "Fetches and returns a single command from the given database
   component, identified by its UUID.  Includes all decendent events of
@@ -126,12 +423,22 @@
         :ret boolean?)
 
 (defprotocol EventDataAccess
-  (-fetch-events [database limit offset]
+  (-fetch-events [database limit offset cursor total-mode]
     "Fetches events from the given database component, returning a map of
       - :events a vector of event maps
       - :limit the limit passed to the query
       - :offset the offset passed to the query
-      - :total the total count of events")
+      - :cursor an opaque cursor positioned after the last returned event
+      - :total the total count of events, per total-mode
+    If cursor is given, offset is ignored and the page starts
+    immediately after the position identified by cursor.")
+  (-stream-events [database offset cursor ch]
+    "Puts all events, starting at offset (or immediately after cursor,
+    if given), onto the core.async channel ch in order, then closes ch.
+    Returns ch.")
+  (-stream-events-from [database position ch]
+    "Puts all events after position (see ::position) onto the
+    core.async channel ch in order, then closes ch.  Returns ch.")
   (-fetch-event-by-id [database id]
     "Fetches and returns a single event from the given database component, identified by its UUID.")
   (-insert-events! [database events]
@@ -145,25 +452,69 @@
     - :events a vector of event maps
     - :limit the limit passed to the query
     - :offset the offset passed to the query
-    - :total the total count of events"
+    - :cursor an opaque cursor positioned after the last returned event
+    - :total the total count of events, per total-mode (see ::total-mode)
+  If cursor is given, offset is ignored and the page starts
+  immediately after the position identified by cursor.  A limit of 0
+  means no limit, but see max-page-size."
   ([database]
    (fetch-events database nil nil))
   ([database limit offset]
-   (log/debug ::fetch-events [database limit offset])
-   (let [limit  (or limit 0)
-         offset (or offset 0)]
-     (-fetch-events database limit offset))))
+   (fetch-events database limit offset nil))
+  ([database limit offset cursor]
+   (fetch-events database limit offset cursor :exact))
+  ([database limit offset cursor total-mode]
+   (log/debug ::fetch-events [database limit offset cursor total-mode])
+   (let [limit      (or limit 0)
+         offset     (or offset 0)
+         total-mode (or total-mode :exact)]
+     (fetch-page #(-fetch-events database % offset cursor total-mode) :events limit))))
 
 (s/fdef fetch-events
         :args (s/cat :database ::EventDataAccess
+                     :limit  (s/int-in 0 Long/MAX_VALUE)
                      :offset (s/int-in 0 Long/MAX_VALUE)
-                     :limit  (s/int-in 0 Long/MAX_VALUE))
+                     :cursor (s/? ::cursor)
+                     :total-mode (s/? (s/nilable ::total-mode)))
         :ret (s/every ::commander/event)
         :fn #(let [limit (-> % :args :limit)]
                (if (pos? limit)
                  (= (-> % :ret count) limit)
                  true)))
 
+(defn stream-events
+  "Puts all events, starting at offset (or immediately after cursor,
+  if given), onto the core.async channel ch in order, then closes ch.
+  Rows are read through a server-side cursor and conveyed with blocking
+  puts, so memory use is bounded by ch's buffer regardless of the
+  number of events.  If the query fails, the exception is put onto ch
+  before it is closed.  Returns ch."
+  [database offset cursor ch]
+  (log/debug ::stream-events [database offset cursor ch])
+  (-stream-events database (or offset 0) cursor ch))
+
+(s/fdef stream-events
+        :args (s/cat :database ::EventDataAccess
+                     :offset (s/nilable (s/int-in 0 Long/MAX_VALUE))
+                     :cursor ::cursor
+                     :ch any?)
+        :ret any?)
+
+(defn stream-events-from
+  "Puts all events after position (see ::position) onto the
+  core.async channel ch, ordered by (timestamp, id), then closes ch.
+  Rows are streamed as by stream-events.  Throws ExceptionInfo if
+  position is after an id that is not indexed.  Returns ch."
+  [database position ch]
+  (log/debug ::stream-events-from [database position ch])
+  (-stream-events-from database position ch))
+
+(s/fdef stream-events-from
+        :args (s/cat :database ::EventDataAccess
+                     :position ::position
+                     :ch any?)
+        :ret any?)
+
 (defn fetch-event-by-id
   "Fetches and returns a single event from the given database
   component, identified by its UUID.  Includes all decendent events of
@@ -196,9 +547,7 @@
   [event]
   (-> event
       (update-in [:action] util/keyword->string)
-      (update-in [:data] #(-> %
-                              (fressian/write :footer? true)
-                              util/buf->bytes))))
+      (update-in [:data] codec/encode)))
 
 (defn- command-for-insert
   [command]
@@ -206,74 +555,272 @@
       event-for-insert
       (assoc :command true)))
 
-(defrecord JdbcDatabase [db-spec connection init-fn]
+(def ^:private insert-columns
+  [:id :parent :command :action :data :timestamp :topic :partition :offset])
+
+;; Stays well below the 32767 bind parameters PostgreSQL allows per
+;; statement.
+(def ^:private insert-chunk-size 1000)
+
+(defn- insert-rows!
+  "Inserts rows (as prepared by command-for-insert or
+  event-for-insert) into the commander table, using one multi-row
+  INSERT statement per chunk of insert-chunk-size rows."
+  [db rows]
+  (doseq [chunk (partition-all insert-chunk-size rows)]
+    (j/execute! db
+                (into [(str "INSERT INTO commander (id, parent, command, action, data, timestamp, topic, partition, \"offset\") VALUES "
+                            (string/join ", " (repeat (count chunk) "(?, ?, ?, ?, ?, ?, ?, ?, ?)")))]
+                      (mapcat (apply juxt insert-columns))
+                      chunk))))
+
+(def ^:private copy-binary-header
+  "PostgreSQL binary COPY signature, flags field and header extension length."
+  (byte-array (concat (.getBytes "PGCOPY\n" "US-ASCII") [-1 13 10 0]
+                      [0 0 0 0]
+                      [0 0 0 0])))
+
+(def ^:private copy-flush-bytes 65536)
+
+(defn- write-copy-bytes!
+  [^DataOutputStream out ^bytes bs]
+  (if bs
+    (doto out (.writeInt (alength bs)) (.write bs))
+    (.writeInt out -1)))
+
+(defn- write-copy-uuid!
+  [^DataOutputStream out ^UUID uuid]
+  (if uuid
+    (doto out
+      (.writeInt 16)
+      (.writeLong (.getMostSignificantBits uuid))
+      (.writeLong (.getLeastSignificantBits uuid)))
+    (.writeInt out -1)))
+
+(defn- write-copy-long!
+  [^DataOutputStream out n]
+  (if n
+    (doto out (.writeInt 8) (.writeLong (long n)))
+    (.writeInt out -1)))
+
+(defn- write-copy-row!
+  "Writes row in PostgreSQL's binary COPY tuple format, with fields in
+  the order of insert-columns."
+  [^DataOutputStream out {:keys [id parent command action data timestamp topic partition offset]}]
+  (.writeShort out (count insert-columns))
+  (write-copy-uuid! out id)
+  (write-copy-uuid! out parent)
+  (doto out (.writeInt 1) (.writeBoolean (boolean command)))
+  (write-copy-bytes! out (.getBytes ^String action "UTF-8"))
+  (write-copy-bytes! out data)
+  (write-copy-long! out timestamp)
+  (write-copy-bytes! out (.getBytes ^String topic "UTF-8"))
+  (doto out (.writeInt 2) (.writeShort (int partition)))
+  (write-copy-long! out offset))
+
+(defn- copy-rows!
+  "Streams rows (as prepared by command-for-insert or
+  event-for-insert) into the commander table via COPY FROM STDIN in
+  PostgreSQL's binary format, flushing every copy-flush-bytes."
+  [db rows]
+  (let [^Connection conn (j/db-connection db)
+        copy-in          (-> ^PGConnection (.unwrap conn PGConnection)
+                             .getCopyAPI
+                             (.copyIn "COPY commander (id, parent, command, action, data, timestamp, topic, partition, \"offset\") FROM STDIN (FORMAT binary)"))
+        buf              (ByteArrayOutputStream. (* 2 copy-flush-bytes))
+        out              (DataOutputStream. buf)
+        flush!           #(do (.writeToCopy copy-in (.toByteArray buf) 0 (.size buf))
+                              (.reset buf))]
+    (try
+      (.write out ^bytes copy-binary-header)
+      (doseq [row rows]
+        (write-copy-row! out row)
+        (when (>= (.size buf) copy-flush-bytes)
+          (flush!)))
+      (.writeShort out -1)
+      (flush!)
+      (.endCopy copy-in)
+      (catch Throwable t
+        (when (.isActive copy-in)
+          (.cancelCopy copy-in))
+        (throw t)))))
+
+(defn- insert-commands-and-events-tx!
+  "Writes commands, then events, with write-rows! and updates their
+  partition totals and checkpoints, all in one transaction."
+  [database write-rows! commands events]
+  (j/with-db-transaction [tx database]
+    (write-rows! tx (concat (map command-for-insert commands)
+                            (map #(assoc (event-for-insert %) :command false) events)))
+    (update-partitions! tx true commands)
+    (update-partitions! tx false events)
+    true))
+
+;;;; Connection Pool
+
+(def ^:private pool-defaults
+  {:pool-name                   "commander"
+   :minimum-idle                2
+   :maximum-pool-size           10
+   :connection-timeout-ms       30000
+   :validation-timeout-ms       5000
+   :leak-detection-threshold-ms 60000})
+
+(defn- pool-metrics-tracker-factory
+  "Returns a MetricsTrackerFactory that keeps the pool's PoolStats and
+  accumulates connection checkout counts and wait times in the
+  metrics atom."
+  [metrics]
+  (reify MetricsTrackerFactory
+    (create [_ _ pool-stats]
+      (swap! metrics assoc :pool-stats pool-stats)
+      (proxy [MetricsTracker] []
+        (recordConnectionAcquiredNanos [nanos]
+          (swap! metrics #(-> %
+                              (update :checkouts inc)
+                              (update :wait-nanos + nanos)
+                              (update :max-wait-nanos max nanos))))
+        (recordConnectionUsageMillis [millis]
+          (swap! metrics update :usage-millis + millis))
+        (recordConnectionTimeout []
+          (swap! metrics update :timeouts inc))))))
+
+(defn- pooled-datasource
+  "Returns a HikariDataSource for the :connection-uri of db-spec,
+  configured by its :pool map (see pool-defaults)."
+  [{:keys [connection-uri pool] :as db-spec} metrics]
+  (let [{:keys [pool-name minimum-idle maximum-pool-size connection-timeout-ms
+                validation-timeout-ms leak-detection-threshold-ms]}
+        (merge pool-defaults (into {} (remove (comp nil? val)) pool))]
+    (log/info ::pooled-datasource [pool-name minimum-idle maximum-pool-size])
+    (HikariDataSource.
+     (doto (HikariConfig.)
+       (.setJdbcUrl connection-uri)
+       (.setPoolName pool-name)
+       (.setMinimumIdle minimum-idle)
+       (.setMaximumPoolSize maximum-pool-size)
+       (.setConnectionTimeout connection-timeout-ms)
+       (.setValidationTimeout validation-timeout-ms)
+       (.setLeakDetectionThreshold leak-detection-threshold-ms)
+       (.setRegisterMbeans true)
+       (.setMetricsTrackerFactory (pool-metrics-tracker-factory metrics))))))
+
+(defn pool-metrics
+  "Returns a map of connection pool saturation metrics for the given
+  database component, or nil if it is not pooled:
+    - :total, :active and :idle the current connection counts
+    - :waiting the number of threads waiting for a connection
+    - :checkouts the number of connections checked out so far
+    - :mean-wait-ms and :max-wait-ms the time spent waiting for checkouts
+    - :timeouts the number of checkouts that timed out"
+  [database]
+  (when-let [metrics (:metrics database)]
+    (let [{:keys [^PoolStats pool-stats checkouts wait-nanos max-wait-nanos timeouts]}
+          @metrics]
+      {:total        (some-> pool-stats .getTotalConnections)
+       :active       (some-> pool-stats .getActiveConnections)
+       :idle         (some-> pool-stats .getIdleConnections)
+       :waiting      (some-> pool-stats .getPendingThreads)
+       :checkouts    checkouts
+       :mean-wait-ms (if (pos? checkouts) (/ wait-nanos checkouts 1e6) 0.0)
+       :max-wait-ms  (/ max-wait-nanos 1e6)
+       :timeouts     timeouts})))
+
+;; When started without a :connection, every query and insert checks
+;; out its own connection from the pooled :datasource.
+(defrecord JdbcDatabase [db-spec connection datasource metrics init-fn]
   component/Lifecycle
   (start [component]
-    (let [conn (or connection (j/get-connection db-spec))
-          _    (when init-fn (init-fn db-spec))]
-      (assoc component :connection conn)))
+    (let [metrics (atom {:checkouts      0
+                         :wait-nanos     0
+                         :max-wait-nanos 0
+                         :usage-millis   0
+                         :timeouts       0})
+          ds      (when-not (or connection datasource)
+                    (pooled-datasource db-spec metrics))
+          _       (when init-fn (init-fn db-spec))]
+      (cond-> component
+        ds (assoc :datasource ds :metrics metrics))))
   (stop [component]
     (when connection (.close ^java.lang.AutoCloseable connection))
-    (assoc component :connection nil))
+    (when metrics (.close ^HikariDataSource datasource))
+    (cond-> (assoc component :connection nil)
+      metrics (assoc :datasource nil :metrics nil)))
 
   CommonDataAccess
   (-find-latest-partition-offset [database topic part]
     (first (j/query database
-                    ["SELECT max(commander.offset) FROM commander WHERE topic = ? AND partition = ?" topic part]
-                    {:row-fn :max})))
+                    ["SELECT \"offset\" FROM commander_partitions WHERE topic = ? AND partition = ?" topic part]
+                    {:row-fn :offset})))
+  (-insert-commands-and-events! [database commands events]
+    (insert-commands-and-events-tx! database insert-rows! commands events))
+  (-bulk-insert-commands-and-events! [database commands events]
+    (insert-commands-and-events-tx! database copy-rows! commands events))
 
 
   CommandDataAccess
-  (-fetch-commands [database limit offset]
-    (let [commands-query (if (pos? limit)
-                           ["SELECT id, action, data, timestamp, topic, partition, \"offset\" FROM commander WHERE command = true ORDER BY timestamp ASC LIMIT ? OFFSET ?"
-                            limit
-                            offset]
-                           ["SELECT id, action, data, timestamp, topic, partition, \"offset\" FROM commander WHERE command = true ORDER BY timestamp ASC OFFSET ?"
-                            offset])]
+  (-fetch-commands [database limit offset cursor total-mode]
+    (let [commands-query (page-query "id, action, data, timestamp, topic, partition, \"offset\""
+                                     true limit offset cursor)]
       (j/with-db-transaction [tx database {:read-only? true}]
-        {:commands (map command-from-select (j/query database commands-query))
-         :offset   offset
-         :limit    limit
-         :total    (first (j/query database
-                                   ["SELECT count(id) FROM commander WHERE command = true"]
-                                   {:row-fn :count}))})))
+        (let [commands (mapv command-from-select (j/query tx commands-query))
+              total    (fetch-total tx true total-mode)]
+          (cond-> {:commands commands
+                   :offset   offset
+                   :limit    limit
+                   :cursor   (or (encode-cursor (peek commands)) cursor)}
+            total (assoc :total total))))))
+  (-stream-commands [database offset cursor ch]
+    (stream-rows! database
+                  (page-query "id, action, data, timestamp, topic, partition, \"offset\""
+                              true 0 offset cursor)
+                  command-from-select
+                  ch))
+  (-stream-commands-from [database position ch]
+    (stream-rows! database
+                  (position-query database "id, action, data, timestamp, topic, partition, \"offset\""
+                                  true position)
+                  command-from-select
+                  ch))
   (-fetch-command-by-id [database id]
     (some-> (j/query database
                      ["SELECT id, action, data, timestamp, topic, partition, \"offset\" FROM commander WHERE command = true AND id = ?" id])
             first
             command-from-select))
   (-insert-commands! [database commands]
-    (j/insert-multi! database :commander
-                     (map command-for-insert commands)
-                     {:entities     (j/quoted \")
-                      :transaction? false}))
+    (insert-commands-and-events-tx! database insert-rows! commands []))
 
   EventDataAccess
-  (-fetch-events [database limit offset]
-    (let [events-query (if (pos? limit)
-                         ["SELECT id, parent, action, data, timestamp, topic, partition, \"offset\" FROM commander WHERE command = false ORDER BY timestamp ASC LIMIT ? OFFSET ?"
-                          limit
-                          offset]
-                         ["SELECT id, parent, action, data, timestamp, topic, partition, \"offset\" FROM commander WHERE command = false ORDER BY timestamp ASC OFFSET ?"
-                          offset])]
+  (-fetch-events [database limit offset cursor total-mode]
+    (let [events-query (page-query "id, parent, action, data, timestamp, topic, partition, \"offset\""
+                                   false limit offset cursor)]
       (j/with-db-transaction [tx database {:read-only? true}]
-        {:events (map event-from-select (j/query database events-query))
-         :offset offset
-         :limit  limit
-         :total  (first (j/query database
-                                 ["SELECT count(id) FROM commander WHERE command = false"]
-                                 {:row-fn :count}))})))
+        (let [events (mapv event-from-select (j/query tx events-query))
+              total  (fetch-total tx false total-mode)]
+          (cond-> {:events events
+                   :offset offset
+                   :limit  limit
+                   :cursor (or (encode-cursor (peek events)) cursor)}
+            total (assoc :total total))))))
+  (-stream-events [database offset cursor ch]
+    (stream-rows! database
+                  (page-query "id, parent, action, data, timestamp, topic, partition, \"offset\""
+                              false 0 offset cursor)
+                  event-from-select
+                  ch))
+  (-stream-events-from [database position ch]
+    (stream-rows! database
+                  (position-query database "id, parent, action, data, timestamp, topic, partition, \"offset\""
+                                  false position)
+                  event-from-select
+                  ch))
   (-fetch-event-by-id [database id]
     (some-> (j/query database
                      ["SELECT id, parent, action, data, timestamp, topic, partition, \"offset\" FROM commander WHERE command = false AND id = ?" id])
             first
             event-from-select))
   (-insert-events! [database events]
-    (j/insert-multi! database :commander
-                     (map event-for-insert events)
-                     {:entities (j/quoted \")
-                      :transaction? false})))
+    (insert-commands-and-events-tx! database insert-rows! [] events)))
 
 (defn construct-jdbc-db
   ([db-spec]
@@ -283,10 +830,39 @@
 
 ;;;; Database Bootstrap & Migrations
 
+;; ragtime runs each statement of a SQL migration in its own
+;; transaction, but PostgreSQL refuses CREATE INDEX CONCURRENTLY (and
+;; DROP INDEX CONCURRENTLY) inside a transaction block.  The statements
+;; of these migrations are run with auto-commit instead.  As with
+;; ragtime's own SQL migrations, a failure part way through leaves the
+;; earlier statements applied.
+(def ^:private non-transactional-migrations
+  #{"002-commander-keyset" "004-commander-indexes" "005-commander-partition-offsets"})
+
+(defn- execute-non-transactional!
+  [db-spec statements]
+  (doseq [statement statements]
+    (j/execute! db-spec [statement] {:transaction? false})))
+
+(defrecord NonTransactionalMigration [id up down]
+  ragtime.protocols/Migration
+  (id [_] id)
+  (run-up! [_ datastore]
+    (execute-non-transactional! (:db-spec datastore) up))
+  (run-down! [_ datastore]
+    (execute-non-transactional! (:db-spec datastore) down)))
+
+(defn- load-migrations
+  []
+  (for [migration (ragtime.jdbc/load-resources "migrations")]
+    (if (contains? non-transactional-migrations (:id migration))
+      (map->NonTransactionalMigration (into {} migration))
+      migration)))
+
 (defn ragtime-config
   [database]
   {:datastore  (ragtime.jdbc/sql-database database)
-   :migrations (ragtime.jdbc/load-resources "migrations")})
+   :migrations (load-migrations)})
 
 (defn ensure-user!
   [database username password]
@@ -0,0 +1,129 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.executor
+  (:require [clojure.core.async :as a]
+            [com.stuartsierra.component :as component]
+            [io.pedestal.log :as log])
+  (:import [java.util.concurrent ExecutorService LinkedBlockingQueue ThreadFactory ThreadPoolExecutor TimeUnit]
+           [java.util.concurrent.atomic AtomicLong]))
+
+(set! *warn-on-reflection* true)
+
+;; Blocking I/O (JDBC in particular) must never run inside a go block:
+;; core.async dispatches every go block on a small fixed pool, so one
+;; slow database round trip stalls unrelated channels and streams.
+;; Go blocks hand such work to an Executor with `run`, and park on the
+;; returned channel until it completes.
+
+(defn- ^ThreadFactory thread-factory
+  [pool-name]
+  (let [n (AtomicLong.)]
+    (reify ThreadFactory
+      (newThread [_ runnable]
+        (doto (Thread. ^Runnable runnable (str pool-name "-" (.incrementAndGet n)))
+          (.setDaemon true))))))
+
+(defn- record-task!
+  [metrics queued-nanos started-nanos finished-nanos failed?]
+  (swap! metrics (fn [m]
+                   (let [wait (- started-nanos queued-nanos)
+                         run  (- finished-nanos started-nanos)]
+                     (-> m
+                         (update (if failed? :failed :completed) inc)
+                         (update :wait-nanos + wait)
+                         (update :max-wait-nanos max wait)
+                         (update :run-nanos + run)
+                         (update :max-run-nanos max run))))))
+
+(defn run
+  "Runs f, a function of no arguments, on executor's threads.  Returns
+  a promise channel that will convey f's return value, or the
+  exception it threw.  The channel is closed without a value if f
+  returns nil."
+  [{:keys [^ExecutorService executor metrics] :as executor-component} f]
+  (let [ch     (a/promise-chan)
+        queued (System/nanoTime)]
+    (swap! metrics update :submitted inc)
+    (.execute executor
+              (fn []
+                (let [started (System/nanoTime)
+                      [ret failed?] (try
+                                      [(f) false]
+                                      (catch Throwable t
+                                        [t true]))]
+                  (record-task! metrics queued started (System/nanoTime) failed?)
+                  (if (some? ret)
+                    (a/put! ch ret)
+                    (a/close! ch)))))
+    ch))
+
+(defn executor-metrics
+  "Returns a map of saturation metrics for the given executor
+  component:
+    - :threads the size of the pool
+    - :active the number of tasks running, :queued the number waiting
+    - :submitted, :completed and :failed task counts
+    - :mean-wait-ms and :max-wait-ms the time tasks spent queued
+    - :mean-run-ms and :max-run-ms the time tasks spent running"
+  [{:keys [^ThreadPoolExecutor executor metrics threads]}]
+  (when metrics
+    (let [{:keys [submitted completed failed wait-nanos max-wait-nanos run-nanos max-run-nanos]}
+          @metrics
+          finished (+ completed failed)]
+      {:threads      threads
+       :active       (.getActiveCount executor)
+       :queued       (.size (.getQueue executor))
+       :submitted    submitted
+       :completed    completed
+       :failed       failed
+       :mean-wait-ms (if (pos? finished) (/ wait-nanos finished 1e6) 0.0)
+       :max-wait-ms  (/ max-wait-nanos 1e6)
+       :mean-run-ms  (if (pos? finished) (/ run-nanos finished 1e6) 0.0)
+       :max-run-ms   (/ max-run-nanos 1e6)})))
+
+(defrecord Executor [pool-name threads executor metrics]
+  component/Lifecycle
+  (start [this]
+    (log/info ::Executor :start :pool-name pool-name :threads threads)
+    (assoc this
+           :executor (ThreadPoolExecutor. (int threads) (int threads)
+                                          0 TimeUnit/MILLISECONDS
+                                          (LinkedBlockingQueue.)
+                                          (thread-factory pool-name))
+           :metrics  (atom {:submitted      0
+                            :completed      0
+                            :failed         0
+                            :wait-nanos     0
+                            :max-wait-nanos 0
+                            :run-nanos      0
+                            :max-run-nanos  0})))
+  (stop [this]
+    (when executor
+      (log/info ::Executor :stop :pool-name pool-name :metrics (executor-metrics this))
+      (.shutdown ^ExecutorService executor)
+      (.awaitTermination ^ExecutorService executor 30 TimeUnit/SECONDS))
+    (assoc this :executor nil :metrics nil)))
+
+(def defaults
+  {:pool-name "commander-blocking"
+   :threads   4})
+
+(defn construct-executor
+  [config]
+  (map->Executor (merge defaults (into {} (remove (comp nil? val)) config))))
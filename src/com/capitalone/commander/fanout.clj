@@ -0,0 +1,201 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.fanout
+  (:require [clojure.spec :as s]
+            [clojure.core.async :as a]
+            [io.pedestal.log :as log]
+            [com.capitalone.commander.filter :as filter]
+            [com.capitalone.commander.util :as util])
+  (:import [java.util.concurrent ConcurrentHashMap]
+           [java.util.function Function]))
+
+(set! *warn-on-reflection* true)
+
+;; A fan-out delivers every value from a source channel to any number
+;; of subscribers.  Unlike a core.async mult, it never waits for a
+;; subscriber: each one has its own bounded queue, and when a queue is
+;; full the subscriber's overflow policy decides what gives.
+;;
+;;   - :drop-oldest discards the oldest queued value to make room
+;;   - :drop-newest discards the value being delivered
+;;   - :disconnect  closes the subscriber's channel
+;;
+;; so one slow consumer can only fall behind itself.
+;;
+;; Subscribers may give a filter (see com.capitalone.commander.filter)
+;; to receive only some values.  Filters are kept in an index that is
+;; consulted once per value, so values a subscriber doesn't want are
+;; never queued for (or transformed by) it.
+;;
+;; Every subscriber of a value receives the same object, carrying (in
+;; its metadata) a memo of representations derived from it (see
+;; memoized).  A value is converted or encoded for the wire once per
+;; format, however many subscribers share that format.
+;;
+;; A fan-out also tracks the offset of the last value it delivered
+;; from each topic partition (see positions), so that a stream can
+;; replay history up to that point and then tail the fan-out.
+
+(s/def ::buffer-size pos-int?)
+(s/def ::overflow #{:drop-oldest :drop-newest :disconnect})
+
+(def defaults
+  {:buffer-size 100
+   :overflow    :drop-oldest})
+
+(defn unsubscribe!
+  "Removes the subscriber with the given id from fanout.  Its channel
+  is closed once any values already queued for it are delivered."
+  [{:keys [subscribers]} id]
+  (when-let [{:keys [queue]} (get @subscribers id)]
+    (swap! subscribers dissoc id)
+    (a/close! queue)))
+
+(defn- shared
+  "Returns v with an empty memo for memoized, if it supports metadata."
+  [v]
+  (if (instance? clojure.lang.IObj v)
+    (vary-meta v assoc ::memo (ConcurrentHashMap.))
+    v))
+
+(defn memoized
+  "Returns (f v), computed only once per key k for a value delivered by
+  a fan-out (and shared by all its subscribers), or every call for any
+  other value.  A map returned by f is memoized in turn, so that its
+  own representations are shared too."
+  [v k f]
+  (if-some [^ConcurrentHashMap memo (::memo (meta v))]
+    (.computeIfAbsent memo k (reify Function
+                               (apply [_ _] (shared (f v)))))
+    (f v)))
+
+(defn- offer!
+  "Queues v for the given subscriber without waiting, applying its
+  overflow policy if its queue is full."
+  [fanout {:keys [id queue overflow on-disconnect delivered dropped]} v]
+  (if (a/offer! queue v)
+    (swap! delivered inc)
+    (case overflow
+      :drop-newest (swap! dropped inc)
+      :drop-oldest (do (a/poll! queue)
+                       (swap! dropped inc)
+                       (when (a/offer! queue v)
+                         (swap! delivered inc)))
+      :disconnect  (do (log/warn ::offer! "Subscriber queue full, disconnecting" :id id)
+                       (swap! (:disconnected fanout) inc)
+                       (when on-disconnect (on-disconnect))
+                       (unsubscribe! fanout id)))))
+
+(defn fanout
+  "Returns a fan-out delivering every value arriving on src-ch to its
+  subscribers (see subscribe!), until src-ch closes.  config may give
+  the default :buffer-size and :overflow policy of subscribers (see
+  defaults)."
+  ([src-ch] (fanout src-ch {}))
+  ([src-ch config]
+   (let [fanout {:config       (merge defaults (into {} (remove (comp nil? val)) config))
+                 :subscribers  (atom {})
+                 :positions    (atom {})
+                 :next-id      (atom 0)
+                 :disconnected (atom 0)}]
+     (a/go-loop [indexed nil
+                 idx     nil]
+       (if-some [v (a/<! src-ch)]
+         (let [_           (when-some [offset (:offset v)]
+                             (swap! (:positions fanout) assoc [(:topic v) (:partition v)] offset))
+               subscribers @(:subscribers fanout)
+               idx         (if (identical? subscribers indexed)
+                             idx
+                             (filter/index (vals subscribers)))]
+           (when-some [matching (not-empty (filter/matching idx v))]
+             (let [v (shared v)]
+               (run! #(offer! fanout % v) matching)))
+           (recur subscribers idx))
+         (run! #(unsubscribe! fanout %) (keys @(:subscribers fanout)))))
+     fanout)))
+
+(defn subscribe!
+  "Subscribes ch to fanout, and returns ch.  Values satisfying the
+  :filter, if given (see com.capitalone.commander.filter), are queued
+  for ch in a buffer of :buffer-size, transformed by the transducer :xf
+  if given, and moved onto ch as fast as it accepts them.  A full queue is
+  handled per the :overflow policy.  :buffer-size and :overflow default
+  to those of the fanout.  The subscription ends, closing ch, when the
+  fan-out's source closes or the subscriber is disconnected (which
+  first calls the no-arg fn :on-disconnect, if given); closing ch ends
+  the subscription."
+  ([fanout ch] (subscribe! fanout ch {}))
+  ([fanout ch {:keys [xf filter on-disconnect] :as opts}]
+   (let [{:keys [buffer-size overflow]} (merge (:config fanout)
+                                               (into {} (remove (comp nil? val))
+                                                     (select-keys opts [:buffer-size :overflow])))
+         id     (swap! (:next-id fanout) inc)
+         buffer (a/buffer buffer-size)
+         queue  (if xf (a/chan buffer xf) (a/chan buffer))]
+     (swap! (:subscribers fanout) assoc id {:id            id
+                                            :ch            ch
+                                            :queue         queue
+                                            :buffer        buffer
+                                            :buffer-size   buffer-size
+                                            :overflow      overflow
+                                            :filter        filter
+                                            :on-disconnect on-disconnect
+                                            :delivered     (atom 0)
+                                            :dropped       (atom 0)})
+     (a/go-loop []
+       (if-some [v (a/<! queue)]
+         (if (util/>!-until-closed ch v)
+           (recur)
+           (unsubscribe! fanout id))
+         (a/close! ch)))
+     ch)))
+
+(defn unsubscribe-ch!
+  "Removes the subscription of ch from fanout, as unsubscribe!: unlike
+  closing ch, values already queued for it are still delivered before
+  ch is closed."
+  [{:keys [subscribers] :as fanout} ch]
+  (when-some [{:keys [id]} (some #(when (identical? ch (:ch %)) %) (vals @subscribers))]
+    (unsubscribe! fanout id)))
+
+(defn positions
+  "Returns a map of [topic partition] to the offset of the last value
+  fanout has delivered (or is delivering) from that topic partition.
+  Any value from a later offset will be delivered to every subscriber
+  present when this is called."
+  [fanout]
+  @(:positions fanout))
+
+(defn fanout-metrics
+  "Returns a map of the number of current :subscribers, the number
+  :disconnected for falling behind, and for each current subscriber
+  its :lag (values queued but not yet taken), and the number of values
+  :delivered to and :dropped from its queue."
+  [{:keys [subscribers disconnected]}]
+  (let [subscribers @subscribers]
+    {:subscribers  (count subscribers)
+     :disconnected @disconnected
+     :queues       (mapv (fn [{:keys [id buffer buffer-size overflow delivered dropped]}]
+                           {:id          id
+                            :overflow    overflow
+                            :buffer-size buffer-size
+                            :lag         (count buffer)
+                            :delivered   @delivered
+                            :dropped     @dropped})
+                         (vals subscribers))}))
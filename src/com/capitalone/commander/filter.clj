@@ -0,0 +1,101 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+(ns com.capitalone.commander.filter
+  (:require [clojure.spec :as s]
+            [clojure.string :as string]
+            [com.capitalone.commander.util :as util]))
+
+(set! *warn-on-reflection* true)
+
+;; A filter selects which command or event records a stream subscriber
+;; receives.  It is a map of predicates, all of which a record must
+;; satisfy:
+;;
+;;   - :action        the record's action is exactly this keyword
+;;   - :action-prefix the record's action, as a string, starts with this
+;;   - :parent        the record's parent (command) id is this uuid
+;;   - :topic         the record was read from this topic
+;;   - :partitions    the record was read from one of these partitions
+;;   - :fields        a map of paths into the record's data to the
+;;                    value each must hold
+;;
+;; An empty filter matches every record.
+
+(s/def ::action keyword?)
+(s/def ::action-prefix string?)
+(s/def ::parent uuid?)
+(s/def ::topic string?)
+(s/def ::partitions (s/coll-of int? :kind set?))
+(s/def ::fields (s/map-of (s/coll-of keyword? :kind vector?) any?))
+(s/def ::filter (s/keys :opt-un [::action ::action-prefix ::parent ::topic ::partitions ::fields]))
+
+(defn path
+  "Returns the data path named by s, a dot-separated string of keys
+  (e.g. \"address.city\")."
+  [^String s]
+  (mapv keyword (string/split s #"\.")))
+
+(defn- same-value?
+  [actual expected]
+  (if (and (number? actual) (number? expected))
+    (== actual expected)
+    (= actual expected)))
+
+(defn matches?
+  "Returns true if record, a map with the :topic, :partition and
+  :value of a command or event, satisfies every predicate of filter."
+  [{:keys [action action-prefix parent topic partitions fields]} {:keys [value] :as record}]
+  (and (or (nil? action) (= action (:action value)))
+       (or (nil? action-prefix) (when-some [action (:action value)]
+                                  (.startsWith ^String (util/keyword->string action) ^String action-prefix)))
+       (or (nil? parent) (= parent (:parent value)))
+       (or (nil? topic) (= topic (:topic record)))
+       (or (empty? partitions) (contains? partitions (:partition record)))
+       (or (empty? fields) (let [data (:data value)]
+                             (every? (fn [[path v]] (same-value? (get-in data path) v)) fields)))))
+
+(defn index
+  "Returns an index of subscribers, maps each with an optional
+  :filter, for use with matching.  Subscribers are grouped by
+  distinct filter, and filters naming an exact :action are keyed by
+  it, so that each record is only tested against the filters that
+  could match it, and each such filter only once."
+  [subscribers]
+  (reduce (fn [idx {:keys [filter] :as subscriber}]
+            (let [filter (or filter {})]
+              (update-in idx
+                         (if-some [action (:action filter)]
+                           [:by-action action filter]
+                           [:other filter])
+                         (fnil conj [])
+                         subscriber)))
+          {:by-action {}
+           :other     {}}
+          subscribers))
+
+(defn matching
+  "Returns the subscribers in idx (see index) whose filters record
+  satisfies."
+  [idx record]
+  (let [add-matching (fn [acc filter subscribers]
+                       (if (matches? filter record)
+                         (into acc subscribers)
+                         acc))]
+    (as-> [] acc
+      (reduce-kv add-matching acc (get-in idx [:by-action (get-in record [:value :action])]))
+      (reduce-kv add-matching acc (:other idx)))))
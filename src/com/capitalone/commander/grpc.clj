@@ -21,8 +21,12 @@
             [io.pedestal.log :as log]
             [com.stuartsierra.component :as c]
             [com.capitalone.commander.util :as util]
-            [com.capitalone.commander.api :as api])
+            [com.capitalone.commander.api :as api]
+            [com.capitalone.commander.database :as d]
+            [com.capitalone.commander.fanout :as fanout]
+            [com.capitalone.commander.filter :as filter])
   (:import java.util.UUID
+           clojure.lang.ExceptionInfo
            [com.capitalone.commander.grpc
             CommanderProtos
             CommanderProtos$UUID
@@ -32,9 +36,13 @@
             CommanderProtos$Event
             CommanderProtos$PagedEvents
             CommanderProtos$PagingInfo
-            CommanderProtos$StreamRequest]
-           [io.grpc Server ServerBuilder]
-           io.grpc.stub.StreamObserver
+            CommanderProtos$TotalMode
+            CommanderProtos$StreamRequest
+            CommanderProtos$StreamRequest$FromCase
+            CommanderProtos$FieldMatch
+            CommanderProtos$PartitionOffset]
+           [io.grpc Server ServerBuilder Status]
+           [io.grpc.stub StreamObserver ServerCallStreamObserver]
            [com.google.protobuf Struct Value Value$KindCase ListValue NullValue]))
 
 (set! *warn-on-reflection* true)
@@ -94,6 +102,61 @@
            (Struct/newBuilder)
            m)))
 
+(defn proto->total-mode
+  [^CommanderProtos$TotalMode total-mode]
+  (condp = total-mode
+    CommanderProtos$TotalMode/APPROXIMATE :approximate
+    CommanderProtos$TotalMode/NONE        :none
+    :exact))
+
+(defn proto->filter
+  "Returns the filter (see com.capitalone.commander.filter) selected
+  by the given StreamRequest."
+  [^CommanderProtos$StreamRequest request]
+  (cond-> {}
+    (not-empty (.getAction request))
+    (assoc :action (keyword (.getAction request)))
+
+    (not-empty (.getActionPrefix request))
+    (assoc :action-prefix (.getActionPrefix request))
+
+    (.hasParent request)
+    (assoc :parent (-> request .getParent .getValue UUID/fromString))
+
+    (not-empty (.getTopic request))
+    (assoc :topic (.getTopic request))
+
+    (pos? (.getPartitionsCount request))
+    (assoc :partitions (into #{} (map long) (.getPartitionsList request)))
+
+    (pos? (.getFieldsCount request))
+    (assoc :fields (into {}
+                         (map (fn [^CommanderProtos$FieldMatch field]
+                                [(filter/path (.getPath field))
+                                 (proto->value (.getValue field))]))
+                         (.getFieldsList request)))))
+
+(defn proto->position
+  "Returns the position (see :com.capitalone.commander.database/position)
+  a stream should resume from per the given StreamRequest, or nil if
+  the request gives none."
+  [^CommanderProtos$StreamRequest request]
+  (condp = (.getFromCase request)
+    CommanderProtos$StreamRequest$FromCase/AFTER_OFFSETS
+    {:offsets (into {}
+                    (map (fn [^CommanderProtos$PartitionOffset offset]
+                           [[(.getTopic offset) (long (.getPartition offset))]
+                            (.getOffset offset)]))
+                    (-> request .getAfterOffsets .getOffsetsList))}
+
+    CommanderProtos$StreamRequest$FromCase/SINCE_TIMESTAMP
+    {:timestamp (.getSinceTimestamp request)}
+
+    CommanderProtos$StreamRequest$FromCase/AFTER_ID
+    {:after-id (-> request .getAfterId .getValue UUID/fromString)}
+
+    nil))
+
 (defn ^CommanderProtos$Command command->proto
   [command]
   (log/debug ::command->proto [command])
@@ -123,34 +186,160 @@
       (.setOffset    (-> event :offset))
       .build))
 
+(defn- internal-status
+  [^Throwable e]
+  (-> Status/INTERNAL
+      (.withDescription (.getMessage e))
+      (.withCause e)))
+
+(defn- invalid-cursor-status
+  "Returns an INVALID_ARGUMENT status if cursor is given but is not a
+  valid cursor (see com.capitalone.commander.database/decode-cursor),
+  otherwise nil."
+  [^String cursor]
+  (when (seq cursor)
+    (try
+      (d/decode-cursor cursor)
+      nil
+      (catch ExceptionInfo e
+        (.withDescription Status/INVALID_ARGUMENT (.getMessage e))))))
+
+(defn- page-too-large-status
+  "Returns an INVALID_ARGUMENT status for e if it reports a page larger
+  than com.capitalone.commander.database/max-page-size, or rethrows e."
+  [^ExceptionInfo e]
+  (if (= ::d/page-too-large (:type (ex-data e)))
+    (.withDescription Status/INVALID_ARGUMENT (.getMessage e))
+    (throw e)))
+
+(defn- stream-to-client!
+  "Streams the values conveyed by the channel returned from (subscribe
+  fail!) to the client of response, transformed by ->proto.  A value
+  is only taken from the channel once the call's transport is ready
+  for another message, so a slow client leaves values queued upstream
+  (where the subscription's overflow policy governs them) rather than
+  in gRPC's unbounded outbound buffer.  The call completes when the
+  channel closes, or fails with an INTERNAL status if the channel
+  conveys an exception, or with the io.grpc.Status given to fail!
+  (which the subscription must follow by closing the channel).  The
+  channel is closed, ending its subscription, if the client cancels
+  the call."
+  [^ServerCallStreamObserver response ->proto subscribe]
+  (let [wake   (a/chan (a/sliding-buffer 1))
+        failed (atom nil)
+        ch     (subscribe (fn [status]
+                            (reset! failed status)
+                            (a/offer! wake true)))]
+    (.setOnReadyHandler response #(a/offer! wake true))
+    (.setOnCancelHandler response #(do (a/close! ch)
+                                       (a/offer! wake true)))
+    (a/go-loop [pending nil]
+      (cond
+        (.isCancelled response)
+        (do (a/close! ch)
+            :cancelled)
+
+        @failed
+        (do (a/close! ch)
+            (.onError response (.asRuntimeException ^Status @failed))
+            :error)
+
+        (nil? pending)
+        (let [v (a/<! ch)]
+          (cond
+            (instance? Throwable v)
+            (do (reset! failed (internal-status v))
+                (recur nil))
+
+            (some? v)
+            (recur v)
+
+            (or @failed (.isCancelled response))
+            (recur nil)
+
+            :else
+            (do (.onCompleted response)
+                :done)))
+
+        (.isReady response)
+        (if (try (.onNext response (->proto pending))
+                 true
+                 (catch Exception e
+                   (log/error ::stream-to-client! "Failed to send message" :exception e)
+                   false))
+          (recur nil)
+          (do (a/close! ch)
+              :error))
+
+        :else
+        (do (a/<! wake)
+            (recur pending))))))
+
+(defn- shared-command-proto
+  "Returns the Command message for command, built only once for all
+  the subscribers of the fan-out that delivered it."
+  [command]
+  (fanout/memoized command ::command command->proto))
+
+(defn- shared-event-proto
+  "Returns the Event message for event, built only once for all the
+  subscribers of the fan-out that delivered it."
+  [event]
+  (fanout/memoized event ::event event->proto))
+
+(defn- disconnected-status
+  [kind]
+  (.withDescription Status/RESOURCE_EXHAUSTED
+                    (str "Client fell too far behind the " kind " stream")))
+
 (defn make-service
-  [api]
+  [api stream-config]
   (proxy [com.capitalone.commander.grpc.CommanderGrpc$CommanderImplBase] []
     (createCommand [^CommanderProtos$CommandParams request
                     ^StreamObserver response]
-      (let [action  (.getAction request)
-            data    (.getData request)
-            sync    (.getSync request)
-            command (api/create-command api
-                                        {:action (keyword action)
-                                         :data   (struct->map data)}
-                                        sync)
-            builder (CommanderProtos$Command/newBuilder)]
-        (.onNext response (command->proto command))
-        (.onCompleted response)))
+      (let [action (.getAction request)
+            data   (.getData request)
+            sync   (.getSync request)]
+        (a/take! (api/create-command-async api
+                                           {:action (keyword action)
+                                            :data   (struct->map data)}
+                                           sync)
+                 (fn [command]
+                   (if (instance? Throwable command)
+                     (.onError response (-> Status/INTERNAL
+                                            (.withDescription (.getMessage ^Throwable command))
+                                            (.withCause command)
+                                            .asRuntimeException))
+                     (do (.onNext response (command->proto command))
+                         (.onCompleted response)))))))
     (listCommands [^CommanderProtos$PagingInfo request
                    ^StreamObserver response]
-      (let [limit          (.getLimit request)
-            offset         (.getOffset request)
-            paged-commands (api/list-commands api limit offset)
-            builder        (-> (CommanderProtos$PagedCommands/newBuilder)
-                               (.setLimit (:limit paged-commands))
-                               (.setOffset (:offset paged-commands))
-                               (.setTotal (:total paged-commands)))]
-        (doseq [command (:commands paged-commands)]
-          (.addCommands builder (command->proto command)))
-        (.onNext response (.build builder))
-        (.onCompleted response)))
+      (if-let [^Status status (invalid-cursor-status (.getCursor request))]
+        (.onError response (.asRuntimeException status))
+        (try
+          (let [limit          (.getLimit request)
+                offset         (.getOffset request)
+                cursor         (.getCursor request)
+                total-mode     (proto->total-mode (.getTotalMode request))
+                paged-commands (api/list-commands api offset limit cursor total-mode)
+                builder        (-> (CommanderProtos$PagedCommands/newBuilder)
+                                   (.setLimit (:limit paged-commands))
+                                   (.setOffset (:offset paged-commands))
+                                   (.setTotal (:total paged-commands -1))
+                                   (.setCursor (str (:cursor paged-commands))))]
+            (doseq [command (:commands paged-commands)]
+              (.addCommands builder (command->proto command)))
+            (.onNext response (.build builder))
+            (.onCompleted response))
+          (catch ExceptionInfo e
+            (.onError response (.asRuntimeException ^Status (page-too-large-status e)))))))
+    (listAllCommands [^CommanderProtos$PagingInfo request
+                      ^StreamObserver response]
+      (if-let [^Status status (invalid-cursor-status (.getCursor request))]
+        (.onError response (.asRuntimeException status))
+        (stream-to-client! response
+                           command->proto
+                           (fn [_] (api/stream-commands api (.getOffset request) (.getCursor request))))))
     (commandById [^CommanderProtos$UUID request
                   ^StreamObserver response]
       (some->> request
@@ -162,27 +351,42 @@
       (.onCompleted response))
     (commandStream [^CommanderProtos$StreamRequest request
                     ^StreamObserver response]
-      (let [ch (api/commands-ch api)]
-        (a/go-loop []
-          (if-some [command (a/<! ch)]
-            (do (.onNext response (command->proto command))
-                (recur))
-            (do (.onCompleted response)
-                :done)))))
+      (stream-to-client! response
+                         shared-command-proto
+                         (fn [fail!]
+                           (api/commands-ch api (a/chan) (assoc stream-config
+                                                                :filter        (proto->filter request)
+                                                                :from          (proto->position request)
+                                                                :on-disconnect #(fail! (disconnected-status "command")))))))
 
     (listEvents [^CommanderProtos$PagingInfo request
                  ^StreamObserver response]
-      (let [limit          (.getLimit request)
-            offset         (.getOffset request)
-            paged-events (api/list-events api limit offset)
-            builder        (-> (CommanderProtos$PagedEvents/newBuilder)
-                               (.setLimit (:limit paged-events))
-                               (.setOffset (:offset paged-events))
-                               (.setTotal (:total paged-events)))]
-        (doseq [event (:events paged-events)]
-          (.addEvents builder (event->proto event)))
-        (.onNext response (.build builder))
-        (.onCompleted response)))
+      (if-let [^Status status (invalid-cursor-status (.getCursor request))]
+        (.onError response (.asRuntimeException status))
+        (try
+          (let [limit          (.getLimit request)
+                offset         (.getOffset request)
+                cursor         (.getCursor request)
+                total-mode     (proto->total-mode (.getTotalMode request))
+                paged-events (api/list-events api offset limit cursor total-mode)
+                builder        (-> (CommanderProtos$PagedEvents/newBuilder)
+                                   (.setLimit (:limit paged-events))
+                                   (.setOffset (:offset paged-events))
+                                   (.setTotal (:total paged-events -1))
+                                   (.setCursor (str (:cursor paged-events))))]
+            (doseq [event (:events paged-events)]
+              (.addEvents builder (event->proto event)))
+            (.onNext response (.build builder))
+            (.onCompleted response))
+          (catch ExceptionInfo e
+            (.onError response (.asRuntimeException ^Status (page-too-large-status e)))))))
+    (listAllEvents [^CommanderProtos$PagingInfo request
+                    ^StreamObserver response]
+      (if-let [^Status status (invalid-cursor-status (.getCursor request))]
+        (.onError response (.asRuntimeException status))
+        (stream-to-client! response
+                           event->proto
+                           (fn [_] (api/stream-events api (.getOffset request) (.getCursor request))))))
     (eventById [^CommanderProtos$UUID request
                 ^StreamObserver response]
       (some->> request
@@ -193,20 +397,20 @@
                (.onNext response)))
     (eventStream [^CommanderProtos$StreamRequest request
                   ^StreamObserver response]
-      (let [ch (api/events-ch api)]
-        (a/go-loop []
-          (if-some [event (a/<! ch)]
-            (do (.onNext response (event->proto event))
-                (recur))
-            (do (.onCompleted response)
-                :done)))))))
+      (stream-to-client! response
+                         shared-event-proto
+                         (fn [fail!]
+                           (api/events-ch api (a/chan) (assoc stream-config
+                                                              :filter        (proto->filter request)
+                                                              :from          (proto->position request)
+                                                              :on-disconnect #(fail! (disconnected-status "event")))))))))
 
-(defrecord GrpcServer [api port ^Server server]
+(defrecord GrpcServer [api port stream ^Server server]
   c/Lifecycle
   (start [this]
     (log/info ::GrpcServer :start :args [this])
     (let [builder (ServerBuilder/forPort port)
-          service (make-service api)
+          service (make-service api stream)
           _       (.addService builder service)
           server  (.build builder)]
       (.start server)
@@ -217,8 +421,13 @@
     (dissoc this :server)))
 
 (defn construct-grpc-server
-  [{:keys [port] :as config}]
-  (map->GrpcServer {:port port}))
+  "Returns a gRPC server for the given :port.  :stream may give the
+  :buffer-size and :overflow policy of each CommandStream and
+  EventStream call's subscription (see com.capitalone.commander.fanout),
+  overriding those of the api's fan-out."
+  [{:keys [port stream] :as config}]
+  (map->GrpcServer {:port   port
+                    :stream (into {} (remove (comp nil? val)) stream)}))
 
 (comment
 
@@ -244,6 +453,10 @@
                             (.setLimit 10)
                             .build))
 
+  (def all-commands
+    (.listAllCommands client (-> (com.capitalone.commander.grpc.CommanderProtos$PagingInfo/newBuilder)
+                                 .build)))
+
   (.commandById client (-> (com.capitalone.commander.grpc.CommanderProtos$UUID/newBuilder)
                            (.setValue "8f599a70-821f-11e6-8fff-2063287b86c9")
                            .build))
@@ -18,40 +18,368 @@
 
 (ns com.capitalone.commander.indexer.component.indexer
   (:require [clojure.core.async :as a]
+            [clojure.core.async.impl.protocols :as p]
             [com.stuartsierra.component :as component]
             [io.pedestal.log :as log]
             [clojure.java.jdbc :as j]
             [com.capitalone.commander.api :as api]
             [com.capitalone.commander.database :as d]
+            [com.capitalone.commander.executor :as executor]
             [com.capitalone.commander.kafka :as k])
-  (:import [org.apache.kafka.clients.consumer Consumer ConsumerRebalanceListener]
+  (:import [java.sql SQLException]
+           [org.apache.kafka.clients.consumer Consumer ConsumerRebalanceListener]
            [org.apache.kafka.common TopicPartition]))
 
 (set! *warn-on-reflection* true)
 
+(defn batches
+  "Returns a channel that will convey vectors of up to max-size values
+  taken from ch.  Each batch is put when it is full, or max-ms after
+  its first value arrived, whichever comes first.  The returned
+  channel closes once ch is closed and the last batch has been put."
+  [ch max-size max-ms]
+  (let [out (a/chan 1)]
+    (a/go-loop [batch [] deadline nil]
+      (let [[v port] (a/alts! (if deadline [ch deadline] [ch]))]
+        (cond
+          (= port deadline) (do (a/>! out batch)
+                                (recur [] nil))
+          (nil? v)          (do (when (seq batch) (a/>! out batch))
+                                (a/close! out))
+          :else             (let [batch (conj batch v)]
+                              (if (>= (count batch) max-size)
+                                (do (a/>! out batch)
+                                    (recur [] nil))
+                                (recur batch (or deadline (a/timeout max-ms))))))))
+    out))
+
+(def ^:private min-retry-ms 100)
+(def ^:private max-retry-ms 5000)
+
+(defn- failure
+  "Classifies an exception thrown while writing commands and events by
+  the SQLState of the first SQLException in its cause chain:
+    - :missing-parent a foreign key violation, i.e. an event whose
+      parent is not indexed yet
+    - :data any other integrity constraint violation or data
+      exception (classes 23 and 22), or an exception not from the
+      database at all: the messages can never be written as they are
+    - :transient anything else, such as a lost connection"
+  [^Throwable e]
+  (if-let [^SQLException sql-e (->> (iterate #(.getCause ^Throwable %) e)
+                                    (take-while some?)
+                                    (some #(when (instance? SQLException %) %)))]
+    (let [state (str (.getSQLState sql-e))]
+      (cond
+        (= "23503" state)         :missing-parent
+        (re-find #"^2[23]" state) :data
+        :else                     :transient))
+    :data))
+
+(defn- write-until-done!
+  "Calls write! until it returns, waiting between attempts (starting
+  at min-retry-ms and doubling up to max-retry-ms) while it throws
+  an exception whose failure is :missing-parent or :transient.
+  Rethrows any other exception.  Returns true once write! returns, or
+  false if closed? returns true before it does."
+  [write! closed?]
+  (loop [retry-ms min-retry-ms]
+    (let [e (try
+              (write!)
+              nil
+              (catch Exception e
+                (if (= :data (failure e))
+                  (throw e)
+                  e)))]
+      (cond
+        (nil? e)   true
+        (closed?)  (do (log/warn ::write-until-done! "Input closed, abandoning unwritten messages"
+                                 :exception e)
+                       false)
+        :else      (do (log/warn ::write-until-done! (if (= :missing-parent (failure e))
+                                                       "Parent not indexed yet, retrying"
+                                                       "Error indexing, retrying")
+                                 :retry-ms retry-ms
+                                 :exception e)
+                       (Thread/sleep retry-ms)
+                       (recur (min max-retry-ms (* 2 retry-ms))))))))
+
+(defn- record-one!
+  "Records msg, with its partition's total and checkpoint, in its own
+  transaction (see write-until-done!).  If msg's data can never be
+  written, logs and skips it.  Returns false if closed? returned true
+  before msg was written."
+  [database commands-topic msg closed?]
+  (try
+    (write-until-done! #(if (= commands-topic (:topic msg))
+                          (d/insert-commands-and-events! database [(api/command-map msg)] [])
+                          (d/insert-commands-and-events! database [] [(api/event-map msg)]))
+                       closed?)
+    (catch Exception e
+      (log/error ::record-one! "Error indexing message, skipping it" :msg msg :exception e)
+      true)))
+
+(defn- record-batch!
+  "Records a batch of messages in a single transaction, via the bulk
+  loading path if bulk? is true.  Waits and retries while the batch
+  fails because a parent is not indexed yet, or for a reason other
+  than its data (see write-until-done!), so a partition's checkpoint
+  never moves past a message that was not written.  If the data is at
+  fault, falls back to recording each message on its own (see
+  record-one!), so that one bad message does not prevent the rest of
+  the batch from being indexed.  Returns false if closed? returned
+  true before the batch was written."
+  [database commands-topic events-topic batch bulk? closed?]
+  (let [{commands commands-topic events events-topic} (group-by :topic batch)
+        unexpected (remove (comp #{commands-topic events-topic} :topic) batch)]
+    (doseq [msg unexpected]
+      (log/warn ::record-commands-and-events! "Unexpected topic and message"
+                :topic (:topic msg)
+                :msg msg))
+    (try
+      (write-until-done! #((if bulk? d/bulk-insert-commands-and-events! d/insert-commands-and-events!)
+                           database
+                           (mapv api/command-map commands)
+                           (mapv api/event-map events))
+                         closed?)
+      (catch Exception e
+        (log/warn ::record-batch! "Error indexing batch, retrying one message at a time"
+                  :count (count batch)
+                  :exception e)
+        (every? #(record-one! database commands-topic % closed?)
+                (concat commands events))))))
+
+(defn- drain-batches
+  "Returns batch combined with any further batches already waiting on
+  batch-ch, up to max-size messages."
+  [batch batch-ch max-size]
+  (loop [batch batch]
+    (if-let [more (and (< (count batch) max-size) (a/poll! batch-ch))]
+      (recur (into batch more))
+      batch)))
+
+(defn- run-blocking
+  "Runs f on executor (see executor/run), or on a new thread if
+  executor is nil, returning a channel that closes when f is done."
+  [executor f]
+  (if executor
+    (executor/run executor f)
+    (a/thread (f))))
+
+(def record-defaults
+  {:batch-size      500
+   :batch-ms        100
+   :bulk-lag        100000
+   :caught-up-lag   1000
+   :bulk-batch-size 20000})
+
 (defn record-commands-and-events!
   "Records all commands and events arriving on ch to the given database
-  component. Returns the go-loop channel that will convey :done when ch is closed."
-  [database commands-topic events-topic ch]
-  (log/debug ::record-events! [database commands-topic events-topic ch])
+  component.  Returns the go-loop channel that will convey :done when
+  ch is closed.  Options (see record-defaults):
+
+    - :executor an executor component on which database writes are
+      run, so they never block a core.async dispatch thread (each
+      write is run on a new thread if not given)
+    - :batch-size, :batch-ms messages are written in batches of up to
+      batch-size, each at most batch-ms after its first message arrived
+    - :lag-fn a 0-arity fn returning how many records the indexer is
+      behind the log end (or nil if unknown), called before each batch
+    - :bulk-lag, :caught-up-lag once lag exceeds bulk-lag, batches are
+      combined (up to :bulk-batch-size messages) and bulk loaded until
+      lag falls below caught-up-lag
+
+  Stops, leaving any further messages on ch unwritten, if ch is
+  closed while a batch is being retried (see record-batch!)."
+  ([database commands-topic events-topic ch]
+   (record-commands-and-events! database commands-topic events-topic ch {}))
+  ([database commands-topic events-topic ch opts]
+   (log/debug ::record-events! [database commands-topic events-topic ch opts])
+   (let [{:keys [executor batch-size batch-ms lag-fn bulk-lag caught-up-lag bulk-batch-size]}
+         (merge record-defaults opts)
+         batch-ch (batches ch batch-size batch-ms)]
+     (a/go-loop [bulk? false]
+       (if-some [batch (a/<! batch-ch)]
+         (let [lag        (when lag-fn (lag-fn))
+               next-bulk? (cond
+                            (nil? lag)            false
+                            (> lag bulk-lag)      true
+                            (< lag caught-up-lag) false
+                            :else                 bulk?)
+               batch      (cond-> batch
+                            next-bulk? (drain-batches batch-ch bulk-batch-size))]
+           (when (not= bulk? next-bulk?)
+             (log/info ::record-commands-and-events! (if next-bulk?
+                                                       "Far behind log end, switching to bulk loading"
+                                                       "Caught up with log end, switching to inserts")
+                       :lag lag))
+           (log/debug ::record-events! :batch :count (count batch) :bulk? next-bulk?)
+           (let [ret (a/<! (run-blocking executor
+                                         #(record-batch! database commands-topic events-topic batch next-bulk?
+                                                         (fn [] (p/closed? ch)))))]
+             (cond
+               (instance? Throwable ret)
+               (do (log/error ::record-commands-and-events! "Error recording batch, stopping"
+                              :count (count batch)
+                              :exception ret)
+                   :done)
+
+               (false? ret)
+               :done
+
+               :else
+               (recur next-bulk?))))
+         :done)))))
+
+;;;; Partition lanes
+
+;; Each assigned topic partition gets its own writer lane: a channel
+;; feeding its own record-commands-and-events! loop.  Records within a
+;; partition are written in order, while lanes for different partitions
+;; write concurrently, up to the number of executor threads.  Lanes are
+;; opened and closed by the consumer's rebalance listener.
+;;
+;; A lane may wait a long time for its next write: an event's parent
+;; command can be on any commands partition, so an events lane retries
+;; until that partition's lane has indexed it.  A lane that can't keep
+;; up must therefore never hold up routing to the others.  Instead the
+;; router holds the record the lane did not take, and drops the
+;; partition's later records while the consumer pauses fetching it.
+;; Once the lane takes the held record, the consumer seeks back to the
+;; lane's next offset and resumes the partition.
+
+(def ^:private poll-ms
+  "How long the indexer's consumer waits for records in each poll,
+  which bounds how long a lane that took its held record waits for its
+  partition to be resumed."
+  1000)
+
+(defn- partition-key
+  [^TopicPartition tp]
+  [(.topic tp) (.partition tp)])
+
+(defn- close-lane!
+  "Removes the lane for topic partition tp from lanes, and waits until
+  it has written every record already routed to it."
+  [lanes tp]
+  (when-let [{:keys [ch done]} (get @lanes (partition-key tp))]
+    (swap! lanes dissoc (partition-key tp))
+    (a/close! ch)
+    (a/<!! done)))
+
+(defn- open-lane!
+  "Starts a writer lane for topic partition tp, whose next record is at
+  offset, and adds it to lanes.  See record-commands-and-events! for
+  opts."
+  [lanes database commands-topic events-topic opts tp offset]
+  (close-lane! lanes tp)
+  (let [ch (a/chan (:batch-size opts))]
+    (swap! lanes assoc (partition-key tp)
+           {:ch          ch
+            :done        (record-commands-and-events! database commands-topic events-topic ch opts)
+            :next-offset (atom offset)
+            :held        (atom nil)
+            :fetch       (atom nil)})))
+
+(defn- release-held!
+  "Puts each record held for a lane onto the lane's channel if it can
+  take it right away, in which case the lane's partition is marked to
+  be resumed from the lane's next offset (see sync-fetching!).
+  Returns true if any lane still holds a record."
+  [lanes]
+  (reduce (fn [held? {lane-ch :ch :keys [held next-offset fetch]}]
+            (if-some [record @held]
+              (if (a/offer! lane-ch record)
+                (do (reset! held nil)
+                    (reset! next-offset (inc (:offset record)))
+                    (reset! fetch :resume)
+                    held?)
+                true)
+              held?))
+          false
+          (vals @lanes)))
+
+(defn route-to-lanes
+  "Routes each record arriving on ch to the lane for its topic
+  partition.  Drops records of partitions without a lane (no longer
+  assigned), and records at any offset other than the lane's next
+  offset: those were polled before the partition was reassigned or
+  paused, and are still buffered in ch.  Routing only contiguous
+  offsets means a stale record can never advance a lane past a gap;
+  the consumer's seek to the lane's next offset delivers them again
+  in order.
+
+  If a lane doesn't take its next record within wait-ms, the record is
+  held (see release-held!) and the lane's partition is marked to be
+  paused (see sync-fetching!), so a slow lane never holds up the
+  others.  Returns the go-loop channel that will convey :done when ch
+  is closed."
+  [ch lanes wait-ms]
   (a/go-loop []
-    (when-some [msg (a/<! ch)]
-      (try
-        (log/debug ::record-events! :msg :msg msg)
-        (condp = (:topic msg)
-          events-topic   (d/insert-events! database (api/event-map msg))
-          commands-topic (d/insert-commands! database (api/command-map msg))
-          (log/warn ::record-commands-and-events! "Unexpected topic and message"
-                    :topic (:topic msg)
-                    :msg msg))
-        (catch Exception e
-          (log/error :msg "Error indexing event" :msg msg :exception e)))
-      (recur))))
-
-(defrecord Indexer [database kafka-consumer commands-topic events-topic ch]
+    (let [[record port] (if (release-held! lanes)
+                          (a/alts! [ch (a/timeout wait-ms)])
+                          [(a/<! ch) ch])]
+      (if (and (= port ch) (nil? record))
+        :done
+        (let [{:keys [topic partition offset]} record
+              {lane-ch :ch :keys [next-offset held fetch]} (get @lanes [topic partition])]
+          (cond
+            (nil? record)
+            nil
+
+            (nil? lane-ch)
+            (log/debug ::route-to-lanes :unassigned
+                       :topic topic :partition partition :offset offset)
+
+            (and (nil? @held) (= offset @next-offset))
+            (let [[_ port] (a/alts! [[lane-ch record] (a/timeout wait-ms)])]
+              (if (= port lane-ch)
+                (reset! next-offset (inc offset))
+                (do (log/debug ::route-to-lanes :lane-backed-up
+                               :topic topic :partition partition :offset offset)
+                    (reset! held record)
+                    (reset! fetch :pause)))))
+          (recur))))))
+
+(defn- sync-fetching!
+  "Pauses fetching each assigned partition whose lane is marked to be
+  paused, and seeks each one marked to be resumed to its lane's next
+  offset before resuming it.  Must be called on consumer's thread."
+  [^Consumer consumer lanes]
+  (let [assigned (.assignment consumer)
+        paused   (.paused consumer)]
+    (doseq [[[topic partition] {:keys [next-offset fetch]}] @lanes
+            :let [tp (TopicPartition. topic partition)]
+            :when (.contains assigned tp)]
+      (cond
+        (and (= :pause @fetch) (not (.contains paused tp)))
+        (.pause consumer ^java.util.Collection [tp])
+
+        (compare-and-set! fetch :resume nil)
+        (do (.seek consumer tp (long @next-offset))
+            (.resume consumer ^java.util.Collection [tp]))))))
+
+(defrecord Indexer [database kafka-consumer executor commands-topic events-topic
+                    batch-size batch-ms bulk-lag caught-up-lag bulk-batch-size ch lanes]
   component/Lifecycle
   (start [this]
-    (let [ch (a/chan 1)
+    (let [ch    (a/chan batch-size cat)
+          lanes (atom {})
+          opts  {:executor        executor
+                 :batch-size      batch-size
+                 :batch-ms        batch-ms
+                 :bulk-lag        bulk-lag
+                 :caught-up-lag   caught-up-lag
+                 :bulk-batch-size bulk-batch-size
+                 ;; The 0.10.0 consumer has no per-partition lag
+                 ;; metric, nor end offsets to compute one from, so
+                 ;; every lane shares the consumer-wide maximum: all
+                 ;; lanes switch to and from bulk loading together,
+                 ;; following the partition furthest behind.  That
+                 ;; only changes how a caught-up lane writes (it
+                 ;; combines whatever batches are waiting, usually
+                 ;; none, and COPYs them), not what it writes.
+                 :lag-fn          #(k/records-lag-max kafka-consumer)}
           ^Consumer consumer (:consumer kafka-consumer)
           ^java.util.Collection topics [commands-topic events-topic]]
       (.subscribe consumer
@@ -61,23 +389,33 @@
                       (log/info ::ConsumerRebalanceListener :onPartitionsAssigned
                                 :partitions partitions)
                       (doseq [^TopicPartition partition partitions]
-                        (let [offset (or (d/find-latest-partition-offset database
-                                                                         (.topic partition)
-                                                                         (.partition partition))
-                                         -1)]
-                          (.seek consumer partition (inc offset)))))
+                        (let [offset (inc (or (d/find-latest-partition-offset database
+                                                                              (.topic partition)
+                                                                              (.partition partition))
+                                              -1))]
+                          (open-lane! lanes database commands-topic events-topic opts partition offset)
+                          (.seek consumer partition offset))))
                     (onPartitionsRevoked  [_ partitions]
                       (log/info ::ConsumerRebalanceListener :onPartitionsRevoked
-                                :partitions partitions))))
+                                :partitions partitions)
+                      (doseq [^TopicPartition partition partitions]
+                        (close-lane! lanes partition)))))
 
-      (k/kafka-consumer-onto-ch! kafka-consumer ch)
-      (record-commands-and-events! database commands-topic events-topic ch)
-      (assoc this :ch ch)))
+      (k/kafka-consumer-batches-onto-ch! kafka-consumer ch poll-ms #(sync-fetching! % lanes))
+      (route-to-lanes ch lanes batch-ms)
+      (assoc this :ch ch :lanes lanes)))
   (stop [this]
     (when ch (a/close! ch))
-    (dissoc this :ch)))
+    (when lanes
+      (doseq [[topic partition] (keys @lanes)]
+        (close-lane! lanes (TopicPartition. topic partition))))
+    (dissoc this :ch :lanes)))
 
 (defn construct-indexer
   [config]
   (map->Indexer
-   (select-keys config [:kafka-consumer-config :commands-topic :events-topic])))
+   (merge record-defaults
+          (into {}
+                (remove (comp nil? val))
+                (select-keys config (into [:kafka-consumer-config :commands-topic :events-topic]
+                                          (keys record-defaults)))))))
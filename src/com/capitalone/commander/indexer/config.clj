@@ -23,12 +23,29 @@
 
 (def defaults
   {:indexer        {:commands-topic "commands"
-                    :events-topic   "events"}
-   :kafka-consumer {:client-id "commander-indexer-consumer"}})
+                    :events-topic   "events"
+                    :batch-size     500
+                    :batch-ms       100
+                    :bulk-lag       100000
+                    :caught-up-lag  1000}
+   :kafka-consumer {:client-id "commander-indexer-consumer"}
+   :executor       {:pool-name "commander-indexer-io"
+                    :threads   4}
+   :database       {:pool {:pool-name         "commander-indexer"
+                           :minimum-idle      1
+                           :maximum-pool-size 4}}})
 
 (def environ
   {:indexer        {:commands-topic (:commands-topic env)
-                    :events-topic   (:events-topic env)}
+                    :events-topic   (:events-topic env)
+                    :batch-size     (some-> env ^String (:indexer-batch-size) Integer.)
+                    :batch-ms       (some-> env ^String (:indexer-batch-ms) Integer.)
+                    :bulk-lag       (some-> env ^String (:indexer-bulk-lag) Long.)
+                    :caught-up-lag  (some-> env ^String (:indexer-caught-up-lag) Long.)}
    :kafka-consumer {:servers  (:kafka-servers env)
                     :group-id (:indexer-group-id env)}
-   :database       {:connection-uri (:database-uri env)}})
+   :executor       {:threads (some-> env ^String (:indexer-io-threads) Integer.)}
+   :database       {:connection-uri (:database-uri env)
+                    :pool           {:minimum-idle          (some-> env ^String (:database-pool-min-idle) Integer.)
+                                     :maximum-pool-size     (some-> env ^String (:database-pool-max-size) Integer.)
+                                     :connection-timeout-ms (some-> env ^String (:database-pool-timeout-ms) Long.)}}})
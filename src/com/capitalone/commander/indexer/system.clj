@@ -22,6 +22,7 @@
             [io.pedestal.log :as log]
             [com.capitalone.commander.database :refer [construct-jdbc-db]]
             [com.capitalone.commander.kafka :refer [construct-consumer]]
+            [com.capitalone.commander.executor :refer [construct-executor]]
             [com.capitalone.commander.indexer.component.indexer :refer [construct-indexer]]))
 
 (set! *warn-on-reflection* true)
@@ -35,7 +36,9 @@
     (-> (component/system-map
          :consumer (construct-consumer (:kafka-consumer config))
          :database (construct-jdbc-db (:database config))
+         :executor (construct-executor (:executor config))
          :indexer  (construct-indexer (:indexer config)))
         (component/system-using
           {:indexer {:database       :database
-                     :kafka-consumer :consumer}}))))
+                     :kafka-consumer :consumer
+                     :executor       :executor}}))))
@@ -24,14 +24,14 @@
             [clojure.data.fressian :as fressian]
             [com.stuartsierra.component :as c]
             [io.pedestal.log :as log]
-            [com.capitalone.commander.util :as util]
+            [com.capitalone.commander.codec :as codec]
             [com.capitalone.commander.database :as d]
             [com.capitalone.commander :as commander])
   (:import [org.apache.kafka.clients.producer Producer MockProducer KafkaProducer ProducerRecord Callback RecordMetadata]
            [org.apache.kafka.clients.consumer Consumer MockConsumer KafkaConsumer ConsumerRecord OffsetResetStrategy]
            [org.apache.kafka.common.serialization Serializer Deserializer]
            [org.apache.kafka.common.errors WakeupException]
-           [org.apache.kafka.common TopicPartition]))
+           [org.apache.kafka.common Metric MetricName TopicPartition]))
 
 (set! *warn-on-reflection* true)
 
@@ -39,12 +39,12 @@
 (s/def ::WritePort #(satisfies? p/WritePort %))
 (s/def ::Channel   #(satisfies? p/Channel %))
 
-(deftype FressianSerializer []
+(deftype FressianSerializer [opts]
   Serializer
   (close [_])
   (configure [_ _ _])
   (serialize [_ _ data]
-    (util/buf->bytes (fressian/write data :footer? true))))
+    (codec/encode data opts)))
 
 (deftype FressianDeserializer []
   Deserializer
@@ -64,21 +64,29 @@
 (defn construct-producer
   "Constructs and returns a Producer according to config map (See
   https://kafka.apache.org/documentation.html#producerconfigs for
-  details)."
+  details).  :compression-type is one of \"none\", \"gzip\" (the
+  default), \"snappy\" or \"lz4\", and applies to every record the
+  producer sends; to store a topic compressed differently, set the
+  topic's compression.type on the broker.  :cache-keys? (off by
+  default) encodes values with repeated keyword keys cached (see
+  codec/encode)."
   [producer-config]
-  (let [{:keys [servers timeout-ms client-id config key-serializer value-serializer]
+  (let [{:keys [servers timeout-ms client-id config compression-type cache-keys?
+                key-serializer value-serializer]
          :or {config           {}
-              key-serializer   (FressianSerializer.)
-              value-serializer (FressianSerializer.)
+              compression-type "gzip"
+              cache-keys?      false
+              key-serializer   (FressianSerializer. nil)
+              value-serializer (FressianSerializer. {:cache-keys? cache-keys?})
               client-id        "commander-rest-producer"}}
-        producer-config]
+        (into {} (remove (comp nil? val)) producer-config)]
     (map->ProducerComponent
      {:ctor #(KafkaProducer. ^java.util.Map
                              (assoc config
                                     "request.timeout.ms" (str timeout-ms)
                                     "bootstrap.servers" servers
                                     "client.id" client-id
-                                    "compression.type" "gzip"
+                                    "compression.type" compression-type
                                     "acks" "all")
                              ^Serializer key-serializer
                              ^Serializer value-serializer)})))
@@ -87,7 +95,7 @@
   "Returns a MockProducer, useful for testing, etc."
   []
   (map->ProducerComponent
-   {:ctor #(MockProducer. true (FressianSerializer.) (FressianSerializer.))}))
+   {:ctor #(MockProducer. true (FressianSerializer. nil) (FressianSerializer. nil))}))
 
 (s/def ::key ::commander/id)
 (s/def ::value any?)
@@ -176,6 +184,30 @@
 (defn mock-consumer []
   (map->ConsumerComponent {:ctor #(MockConsumer. OffsetResetStrategy/LATEST)}))
 
+(defn records-lag-max
+  "Returns the maximum lag, in number of records, of any partition
+  assigned to the consumer of consumer-component over the consumer's
+  recent metrics window, or nil if not known.  Safe to call from any
+  thread."
+  [consumer-component]
+  (let [^Consumer consumer (:consumer consumer-component)]
+    (some (fn [[^MetricName metric-name ^Metric metric]]
+            (when (and (= "records-lag-max" (.name metric-name))
+                       (= "consumer-fetch-manager-metrics" (.group metric-name)))
+              (let [lag (.value metric)]
+                (when-not (or (Double/isNaN lag) (Double/isInfinite lag))
+                  (long lag)))))
+          (.metrics consumer))))
+
+(defn- record-map
+  [^ConsumerRecord record]
+  {:key       (.key record)
+   :value     (.value record)
+   :topic     (.topic record)
+   :partition (.partition record)
+   :offset    (.offset record)
+   :timestamp (.timestamp record)})
+
 (defn kafka-consumer-onto-ch!
   "On a new thread, polls on a loop the given a KafkaConsumer created
   by zero-arity fn consumer-ctor, putting onto ch a map
@@ -200,13 +232,8 @@
            (if (p/closed? ch)
              :done
              (let [records (.poll consumer timeout)]
-               (doseq [^ConsumerRecord record records]
-                 (let [record-map {:key       (.key record)
-                                   :value     (.value record)
-                                   :topic     (.topic record)
-                                   :partition (.partition record)
-                                   :offset    (.offset record)
-                                   :timestamp (.timestamp record)}]
+               (doseq [record records]
+                 (let [record-map (record-map record)]
                    (log/debug ::kafka-consumer-onto-ch! :record-received :record-map record-map)
                    (when-not (a/>!! ch record-map)
                      (log/debug ::kafka-consumer-onto-ch! :destination-closed :ch ch))))
@@ -222,3 +249,78 @@
            (log/info ::kafka-consumer-onto-ch! "Cleaning up Kafka consumer and closing.")
            (.close consumer)
            :done))))))
+
+(def ^:private paused-poll-ms
+  "How long to wait for a backed-up channel to take a batch before
+  polling the (paused) consumer again."
+  100)
+
+(defn kafka-consumer-batches-onto-ch!
+  "Like kafka-consumer-onto-ch!, but puts onto ch one vector of record
+  maps per poll rather than one put per record.  Give ch a cat
+  transducer, e.g. (a/chan 1 cat), to take individual records from it.
+
+  If ch can't take a batch right away, the consumer's partitions are
+  paused, and the consumer keeps polling (returning no records) so it
+  stays in its group until ch takes the batch; then its partitions are
+  resumed.  Records from partitions assigned while paused are added to
+  the pending batch.
+
+  If given, before-poll is called with the Consumer on the polling
+  thread before every poll, e.g. to pause, resume or seek individual
+  partitions."
+  ([consumer-component ch]
+   (kafka-consumer-batches-onto-ch! consumer-component ch 10000))
+  ([consumer-component ch timeout]
+   (kafka-consumer-batches-onto-ch! consumer-component ch timeout nil))
+  ([consumer-component ch timeout before-poll]
+   (log/debug ::kafka-consumer-batches-onto-ch! [consumer-component ch timeout])
+   (let [^Consumer consumer (:consumer consumer-component)
+         batch              (fn [records] (into [] (map record-map) records))]
+     (a/thread
+       (try
+         (loop [pending nil]
+           (cond
+             (p/closed? ch)
+             :done
+
+             pending
+             (let [[v port] (a/alts!! [[ch pending] (a/timeout paused-poll-ms)])]
+               (if (= port ch)
+                 (do (log/info ::kafka-consumer-batches-onto-ch! "Downstream drained, resuming partitions."
+                               :paused (.paused consumer))
+                     (.resume consumer (.paused consumer))
+                     (if v
+                       (recur nil)
+                       (log/debug ::kafka-consumer-batches-onto-ch! :destination-closed :ch ch)))
+                 (let [records (do (when before-poll (before-poll consumer))
+                                   (.poll consumer 0))]
+                   (if (.isEmpty records)
+                     (recur pending)
+                     (do (.pause consumer (.assignment consumer))
+                         (recur (into pending (batch records))))))))
+
+             :else
+             (let [records (do (when before-poll (before-poll consumer))
+                               (.poll consumer timeout))]
+               (log/trace ::kafka-consumer-batches-onto-ch! :poll :count (.count records))
+               (if (.isEmpty records)
+                 (recur nil)
+                 (let [b (batch records)]
+                   (if (a/offer! ch b)
+                     (recur nil)
+                     (do (log/info ::kafka-consumer-batches-onto-ch! "Downstream backed up, pausing partitions."
+                                   :assignment (.assignment consumer))
+                         (.pause consumer (.assignment consumer))
+                         (recur b))))))))
+         (catch WakeupException e
+           (log/error ::kafka-consumer-batches-onto-ch! "Wakeup received from another thread, closing."
+                      :exception e))
+         (catch Exception e
+           (log/error ::kafka-consumer-batches-onto-ch! "Exception while polling Kafka, and re-throwing."
+                      :exception e)
+           (throw e))
+         (finally
+           (log/info ::kafka-consumer-batches-onto-ch! "Cleaning up Kafka consumer and closing.")
+           (.close consumer)
+           :done))))))
@@ -18,7 +18,8 @@
 
 (ns com.capitalone.commander.rest.component.pedestal
   (:require [com.stuartsierra.component :as component]
-            [io.pedestal.http :as pedestal]))
+            [io.pedestal.http :as pedestal]
+            [com.capitalone.commander.rest.websocket :as websocket]))
 
 (set! *warn-on-reflection* true)
 
@@ -28,17 +29,20 @@
         (for [[k v] config]
           [(keyword "io.pedestal.http" (name k)) v])))
 
-(defrecord PedestalServer [routes]
+(defrecord PedestalServer [routes rest-endpoints]
   component/Lifecycle
   (start [component]
     (if (:server component)
       component
-      (let [options (assoc (dissoc component :routes) :join? false)
-            server (-> options
-                       (assoc :routes (:routes routes))
-                       pedestal-config
-                       pedestal/create-server
-                       pedestal/start)]
+      (let [ws-routes (:websocket-routes rest-endpoints)
+            options   (cond-> (assoc (dissoc component :routes :rest-endpoints) :join? false)
+                        (seq ws-routes) (assoc-in [:container-options :context-configurator]
+                                                  #(websocket/add-endpoints % ws-routes)))
+            server    (-> options
+                          (assoc :routes (:routes routes))
+                          pedestal-config
+                          pedestal/create-server
+                          pedestal/start)]
         (assoc component :server server))))
   (stop [component]
     (if-let [server (:server component)]
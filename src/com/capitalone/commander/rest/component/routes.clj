@@ -36,7 +36,9 @@
           {:name         "events"
            :description  "Inspect events (in the CQRS sense) created by business logic command handlers."
            :externalDocs {:description "See the Commander source code"
-                          :url         "https://github.kdc.capitalone.com/commander/commander"}}]})
+                          :url         "https://github.kdc.capitalone.com/commander/commander"}}
+          {:name         "metrics"
+           :description  "Inspect operational metrics, e.g. database connection pool saturation."}]})
 
 (def health-check
   (handler
@@ -25,19 +25,50 @@
   {:http           {:port          3000
                     :resource-path "/public"}
    :grpc           {:port 8980}
-   :api            {:commands-topic  "commands"
-                    :events-topic    "events"
-                    :sync-timeout-ms 5000}
+   :websocket      {:max-pending-frames 16}
+   :api            {:commands-topic     "commands"
+                    :events-topic       "events"
+                    :sync-timeout-ms    5000
+                    :replay-timeout-ms  10000
+                    :replay-buffer-size 10000
+                    :cache              {:max-bytes         67108864
+                                         :ttl-ms            600000
+                                         :negative-max-size 10000
+                                         :negative-ttl-ms   1000}
+                    :fanout             {:buffer-size 100
+                                         :overflow    :drop-oldest}}
    :kafka-producer {:timeout-ms 2000}
-   :kafka-consumer {:client-id "commander-rest-consumer"}})
+   :kafka-consumer {:client-id "commander-rest-consumer"}
+   :database       {:pool {:pool-name         "commander-rest"
+                           :minimum-idle      2
+                           :maximum-pool-size 10}}})
 
 (def environ
   {:http           {:port (some-> env ^String (:port) Integer.)}
-   :grpc           {:port (some-> env ^String (:grpc-port) Integer.)}
-   :api            {:commands-topic  (:commands-topic env)
-                    :events-topic    (:events-topic env)
-                    :sync-timeout-ms (some-> env ^String (:sync-timeout-ms) Integer.)}
+   :grpc           {:port   (some-> env ^String (:grpc-port) Integer.)
+                    :stream {:buffer-size (some-> env ^String (:grpc-stream-buffer-size) Integer.)
+                             :overflow    (some-> env :grpc-stream-overflow keyword)}}
+   :websocket      {:max-pending-frames (some-> env ^String (:websocket-max-pending-frames) Integer.)
+                    :stream             {:buffer-size (some-> env ^String (:websocket-stream-buffer-size) Integer.)
+                                         :overflow    (some-> env :websocket-stream-overflow keyword)}}
+   :api            {:commands-topic     (:commands-topic env)
+                    :events-topic       (:events-topic env)
+                    :sync-timeout-ms    (some-> env ^String (:sync-timeout-ms) Integer.)
+                    :replay-timeout-ms  (some-> env ^String (:replay-timeout-ms) Integer.)
+                    :replay-buffer-size (some-> env ^String (:replay-buffer-size) Integer.)
+                    :cache              {:max-bytes         (some-> env ^String (:cache-max-bytes) Long.)
+                                         :ttl-ms            (some-> env ^String (:cache-ttl-ms) Long.)
+                                         :negative-max-size (some-> env ^String (:cache-negative-max-size) Long.)
+                                         :negative-ttl-ms   (some-> env ^String (:cache-negative-ttl-ms) Long.)}
+                    :fanout             {:buffer-size (some-> env ^String (:stream-buffer-size) Integer.)
+                                         :overflow    (some-> env :stream-overflow keyword)}}
    :kafka-consumer {:servers  (:kafka-servers env)
                     :group-id (:rest-group-id env)}
-   :database       {:connection-uri (:database-uri env)}
-   :kafka-producer {:servers (:kafka-servers env)}})
+   :database       {:connection-uri (:database-uri env)
+                    :fetch-size     (some-> env ^String (:database-fetch-size) Integer.)
+                    :pool           {:minimum-idle          (some-> env ^String (:database-pool-min-idle) Integer.)
+                                     :maximum-pool-size     (some-> env ^String (:database-pool-max-size) Integer.)
+                                     :connection-timeout-ms (some-> env ^String (:database-pool-timeout-ms) Long.)}}
+   :kafka-producer {:servers          (:kafka-servers env)
+                    :compression-type (:kafka-compression-type env)
+                    :cache-keys?      (some-> env ^String (:kafka-cache-keys) Boolean/valueOf)}})
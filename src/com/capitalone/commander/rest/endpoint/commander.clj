@@ -19,6 +19,7 @@
 (ns com.capitalone.commander.rest.endpoint.commander
   (:require [clojure.core.async :as a]
             [clojure.set :as set]
+            [clojure.string :as string]
             [com.stuartsierra.component :as component]
             [clj-uuid :as uuid]
             [schema.core :as s]
@@ -27,14 +28,19 @@
             [io.pedestal.interceptor :refer [interceptor]]
             [io.pedestal.interceptor.helpers :refer [before]]
             [io.pedestal.http.route :refer [url-for]]
-            #_[io.pedestal.http.jetty.websockets :as ws]
             [io.pedestal.http.sse :as sse]
             [pedestal-api
              [core :as papi]
-             [helpers :refer [defhandler]]]
+             [helpers :refer [defbefore defhandler]]]
             [ring.util.response :as ring-resp]
             [com.capitalone.commander.api :as api]
-            [com.capitalone.commander.rest.hiccup :as h]))
+            [com.capitalone.commander.database :as d]
+            [com.capitalone.commander.fanout :as fanout]
+            [com.capitalone.commander.filter :as f]
+            [com.capitalone.commander.rest.hiccup :as h]
+            [com.capitalone.commander.rest.websocket :as websocket])
+  (:import java.util.UUID
+           clojure.lang.ExceptionInfo))
 
 (set! *warn-on-reflection* true)
 
@@ -64,6 +70,21 @@
             schema (action->schema action)]
         (s/check schema data))))
 
+(def max-batch-size 1000)
+
+(defn validate-batch-body-params
+  "Returns truthy if given parsed body is not a valid batch of
+  commands: a vector of errors (nil for each valid command) if any
+  command is invalid."
+  [body]
+  (cond
+    (not (sequential? body))              "Expected an array of commands."
+    (empty? body)                         "Expected at least one command."
+    (< max-batch-size (count body))       (str "Expected at most " max-batch-size " commands.")
+    :else (let [errors (mapv validate-body-params body)]
+            (when (some some? errors)
+              errors))))
+
 (s/defschema Command
   (assoc CommandParams
          :id s/Uuid
@@ -77,62 +98,170 @@
 (s/defschema Event
   (assoc Command :parent s/Uuid))
 
+(s/defschema BatchItemResult
+  (s/conditional
+   :id (assoc Command
+              :status                 s/Int
+              (s/optional-key :error) s/Str)
+   :else {:status s/Int
+          :error  s/Str}))
+
+(s/defschema BatchResult
+  {:commands [BatchItemResult]})
+
+(s/defschema TotalMode
+  (s/enum :exact :approximate :none))
+
 ;; TODO: hypermedia
 (defn display-command
   [c]
   c)
 
+(defn- page-too-large
+  "Returns a 400 response for e if it reports a page larger than
+  com.capitalone.commander.database/max-page-size, or rethrows e."
+  [^ExceptionInfo e]
+  (if (= ::d/page-too-large (:type (ex-data e)))
+    {:status  400
+     :headers {}
+     :body    {:error (.getMessage e)}}
+    (throw e)))
+
 ;;; TODO: authorization
 (defhandler all-commands
   {:summary    "Get all commands"
    :parameters {:query-params {(s/optional-key :sync)   s/Bool
                                (s/optional-key :limit)  s/Int
-                               (s/optional-key :offset) s/Int}}
-   :responses  {200 {:body {:commands [Command]
-                            :limit    s/Int
-                            :offset   s/Int
-                            :total    s/Int}}}}
+                               (s/optional-key :offset) s/Int
+                               (s/optional-key :cursor) s/Str
+                               (s/optional-key :total)  TotalMode}}
+   :responses  {200 {:body {:commands                 [Command]
+                            :limit                    s/Int
+                            :offset                   s/Int
+                            (s/optional-key :cursor) (s/maybe s/Str)
+                            (s/optional-key :total)  s/Int}}
+                400 {:body RequestError}}}
   [{:keys [component] :as request}]
-  (let [limit           (get-in request [:query-params :limit])
-        offset          (get-in request [:query-params :offset])
-        commands-result (-> component
-                            :api
-                            (api/list-commands offset limit)
-                            (update-in [:commands] #(mapv display-command %)))
-        sync            (get-in request [:query-params :sync])
-
-        ;; TODO: fix content negotiation
-        media-type      (get-in request [:headers "accept"])]
-    {:status 200
-     :body   (if (= media-type "text/html")
-               (h/commands-hiccup commands-result sync)
-               commands-result)}))
+  (try
+    (let [limit           (get-in request [:query-params :limit])
+          offset          (get-in request [:query-params :offset])
+          cursor          (get-in request [:query-params :cursor])
+          total-mode      (get-in request [:query-params :total])
+          commands-result (-> component
+                              :api
+                              (api/list-commands offset limit cursor total-mode)
+                              (update-in [:commands] #(mapv display-command %)))
+          sync            (get-in request [:query-params :sync])
+
+          ;; TODO: fix content negotiation
+          media-type      (get-in request [:headers "accept"])]
+      {:status 200
+       :body   (if (= media-type "text/html")
+                 (h/commands-hiccup commands-result sync)
+                 commands-result)})
+    (catch ExceptionInfo e
+      (page-too-large e))))
 
 ;;; TODO: authorization
 (defhandler all-events
   {:summary    "Get all events"
    :parameters {:query-params {(s/optional-key :sync)   s/Bool
                                (s/optional-key :limit)  s/Int
-                               (s/optional-key :offset) s/Int}}
-   :responses  {200 {:body {:events [Event]
-                            :limit  s/Int
-                            :offset s/Int
-                            :total  s/Int}}}}
+                               (s/optional-key :offset) s/Int
+                               (s/optional-key :cursor) s/Str
+                               (s/optional-key :total)  TotalMode}}
+   :responses  {200 {:body {:events                   [Event]
+                            :limit                    s/Int
+                            :offset                   s/Int
+                            (s/optional-key :cursor) (s/maybe s/Str)
+                            (s/optional-key :total)  s/Int}}
+                400 {:body RequestError}}}
   [{:keys [component] :as request}]
-  (let [limit         (get-in request [:query-params :limit])
-        offset        (get-in request [:query-params :offset])
-        events-result (-> component
-                          :api
-                          (api/list-events offset limit)
-                          (update-in [:events] #(mapv display-command %)))
-        sync          (get-in request [:query-params :sync])
+  (try
+    (let [limit         (get-in request [:query-params :limit])
+          offset        (get-in request [:query-params :offset])
+          cursor        (get-in request [:query-params :cursor])
+          total-mode    (get-in request [:query-params :total])
+          events-result (-> component
+                            :api
+                            (api/list-events offset limit cursor total-mode)
+                            (update-in [:events] #(mapv display-command %)))
+          sync          (get-in request [:query-params :sync])
 
-        ;; TODO: fix content negotiation
-        media-type    (get-in request [:headers "accept"])]
-    {:status 200
-     :body   (if (= media-type "text/html")
-               (h/events-hiccup events-result sync)
-               events-result)}))
+          ;; TODO: fix content negotiation
+          media-type    (get-in request [:headers "accept"])]
+      {:status 200
+       :body   (if (= media-type "text/html")
+                 (h/events-hiccup events-result sync)
+                 events-result)})
+    (catch ExceptionInfo e
+      (page-too-large e))))
+
+(defn- ndjson-line
+  [x]
+  (str (json/generate-string x) "\n"))
+
+(defn- ndjson-xf
+  "Encodes each command or event as a line of JSON.  The first
+  exception (already logged by the database component) ends the stream
+  with a line of {\"error\": message}, so that clients can tell a
+  failed listing from a complete one."
+  [rf]
+  (fn
+    ([] (rf))
+    ([result] (rf result))
+    ([result x]
+     (if (instance? Throwable x)
+       (ensure-reduced (rf result (ndjson-line {:error (.getMessage ^Throwable x)})))
+       (rf result (ndjson-line (display-command x)))))))
+
+;;; TODO: authorization
+(defhandler stream-all-commands
+  {:summary     "Stream all commands"
+   :description "Streams every indexed command, starting at offset (or
+                 immediately after cursor), as newline-delimited JSON in a
+                 chunked response.  Commands are read from the database as
+                 the client consumes them, so the result is never held in
+                 memory.  If reading fails part way, the stream ends with
+                 a line of {\"error\": message}."
+   :parameters  {:query-params {(s/optional-key :offset) s/Int
+                                (s/optional-key :cursor) s/Str}}}
+  [{:keys [component] :as request}]
+  (let [offset (get-in request [:query-params :offset])
+        cursor (get-in request [:query-params :cursor])]
+    {:status  200
+     :headers {"Content-Type" "application/x-ndjson"}
+     :body    (api/stream-commands (:api component) offset cursor (a/chan 10 ndjson-xf))}))
+
+;;; TODO: authorization
+(defhandler stream-all-events
+  {:summary     "Stream all events"
+   :description "Streams every indexed event, starting at offset (or
+                 immediately after cursor), as newline-delimited JSON in a
+                 chunked response.  Events are read from the database as
+                 the client consumes them, so the result is never held in
+                 memory.  If reading fails part way, the stream ends with
+                 a line of {\"error\": message}."
+   :parameters  {:query-params {(s/optional-key :offset) s/Int
+                                (s/optional-key :cursor) s/Str}}}
+  [{:keys [component] :as request}]
+  (let [offset (get-in request [:query-params :offset])
+        cursor (get-in request [:query-params :cursor])]
+    {:status  200
+     :headers {"Content-Type" "application/x-ndjson"}
+     :body    (api/stream-events (:api component) offset cursor (a/chan 10 ndjson-xf))}))
+
+(defhandler metrics
+  {:summary   "Get operational metrics"
+   :responses {200 {:body {s/Keyword s/Any}}}}
+  [{:keys [component] :as request}]
+  {:status 200
+   :body   (api/metrics (:api component))})
+
+(defn- command-status
+  "Returns the response status for a created command."
+  [command sync?]
+  (if sync? (if (:error command) 409 201) 202))
 
 (def ensure-processable
   (before
@@ -140,9 +269,10 @@
    (fn [{:keys [request] :as context}]
      (log/debug ::ensure-processable (:body-params request))
      (if (= :post (:request-method request))
-       (if-let [errors (-> request
-                           :body-params
-                           validate-body-params)]
+       (if-let [errors (let [body (:body-params request)]
+                         (if (sequential? body)
+                           (validate-batch-body-params body)
+                           (validate-body-params body)))]
          (assoc context :response {:status  422
                                    :headers {}
                                    :body    errors})
@@ -150,29 +280,69 @@
        context))))
 
 ;;; TODO: authorization
-(defhandler create-command
+;;; Asynchronous: returns a channel, so no request thread waits on the
+;;; write to the Log or, for sync requests, on the completion event.
+(defbefore create-command
   {:summary    "Create a command"
    :parameters {:body-params  CommandParams
                 :query-params {(s/optional-key :sync) s/Bool}}
    :responses  {201 {:body Command}
                 202 {:body Command}
                 409 {:body RequestError}
-                422 {:body RequestError}}}
-  [{:keys [component] :as request}]
-  (let [sync?          (get-in request [:query-params :sync])
+                422 {:body RequestError}
+                500 {:body RequestError}}}
+  [{:keys [request] :as context}]
+  (let [component      (:component request)
+        sync?          (get-in request [:query-params :sync])
         command-params (:body-params request)
-        command        (-> component
-                           :api
-                           (api/create-command command-params sync?)
-                           display-command)
 
         ;; TODO: fix content negotiation
         media-type     (get-in request [:headers "accept"])]
-    {:status  (if sync? (if (:error command) 409 201) 202)
-     :headers {"Location" (url-for ::get-command :params {:id (:id command)} :absolute? true)}
-     :body    (if (= media-type "text/html")
-                (h/command-hiccup command)
-                command)}))
+    (a/go
+      (let [command (a/<! (api/create-command-async (:api component) command-params sync?))]
+        (assoc context :response
+               (if (instance? Throwable command)
+                 (do (log/error ::create-command "Error creating command" :exception command)
+                     {:status 500
+                      :body   (.getMessage ^Throwable command)})
+                 (let [command (display-command command)]
+                   {:status  (command-status command sync?)
+                    :headers {"Location" (url-for ::get-command :params {:id (:id command)} :absolute? true)}
+                    :body    (if (= media-type "text/html")
+                               (h/command-hiccup command)
+                               command)})))))))
+
+;;; TODO: authorization
+;;; Asynchronous, like create-command.  Every command is written to the
+;;; Log without waiting on the others, and (for sync requests) all wait
+;;; for their completion events at once.
+(defbefore create-commands
+  {:summary    "Create a batch of commands"
+   :parameters {:body-params  [CommandParams]
+                :query-params {(s/optional-key :sync) s/Bool}}
+   :responses  {201 {:body BatchResult}
+                202 {:body BatchResult}
+                207 {:body BatchResult}
+                409 {:body BatchResult}
+                422 {:body RequestError}
+                500 {:body BatchResult}}}
+  [{:keys [request] :as context}]
+  (let [component       (:component request)
+        sync?           (get-in request [:query-params :sync])
+        commands-params (:body-params request)]
+    (a/go
+      (let [results (mapv (fn [command]
+                            (if (instance? Throwable command)
+                              (do (log/error ::create-commands "Error creating command" :exception command)
+                                  {:status 500
+                                   :error  (.getMessage ^Throwable command)})
+                              (let [command (display-command command)]
+                                (assoc command :status (command-status command sync?)))))
+                          (a/<! (api/create-commands-async (:api component) commands-params sync?)))
+            statuses (into #{} (map :status) results)]
+        (assoc context :response
+               {:status (if (= 1 (count statuses)) (first statuses) 207)
+                :body   {:commands results}})))))
 
 (defhandler get-command
   {:summary    "Get a command by id"
@@ -226,51 +396,152 @@
                          (log/debug :interceptor ::authentication-interceptor :phase :enter)
                          context)}))
 
-;; TODO Websocket sub-protocols for commands as JSON, transit, edn, etc.
-#_(defn build-websocket-routes
-    [component]
-    {"/updates/commands" {:on-connect (ws/start-ws-connection new-ws-client)
-                          :on-text (fn [msg] (log/info :msg (str "A client sent - " msg)))
-                          :on-binary (fn [payload offset length] (log/info :msg "Binary Message!" :bytes payload))
-                          :on-error (fn [t] (log/error :msg "WS Error happened" :exception t))
-                          :on-close (fn [num-code reason-text]
-                                      (log/info :msg "WS Closed:" :reason reason-text))}
-     "/updates/events"  {:on-connect (ws/start-ws-connection new-ws-client)
-                         :on-text    (fn [msg] (log/info :msg (str "A client sent - " msg)))
-                         :on-binary  (fn [payload offset length] (log/info :msg "Binary Message!" :bytes payload))
-                         :on-error   (fn [t] (log/error :msg "WS Error happened" :exception t))
-                         :on-close   (fn [num-code reason-text]
-                                       (log/info :msg "WS Closed:" :reason reason-text))}})
+(defn build-websocket-routes
+  "Returns the WebSocket stream endpoints of component, by path (see
+  com.capitalone.commander.rest.websocket)."
+  [{:keys [api websocket-config]}]
+  {"/updates/commands" (websocket/stream-endpoint #(api/commands-ch api %1 %2) websocket-config)
+   "/updates/events"   (websocket/stream-endpoint #(api/events-ch api %1 %2) websocket-config)})
+
+(defn- query-value
+  "Returns the JSON value in s, or s itself if it isn't JSON (so that
+  data.name=foo matches the string \"foo\")."
+  [s]
+  (try (json/parse-string s true)
+       (catch Exception _ s)))
+
+(defn query-filter
+  "Returns the stream filter (see com.capitalone.commander.filter)
+  selected by the given query params: action, action_prefix, parent,
+  topic, partition (which may repeat), and data.<path> for each data
+  field to match (e.g. data.address.city=Anytown).  Throws
+  IllegalArgumentException if a param is malformed."
+  [query-params]
+  (reduce-kv (fn [filter k v]
+               (let [k (name k)
+                     v (if (sequential? v) v [v])]
+                 (case k
+                   "action"        (assoc filter :action (keyword (first v)))
+                   "action_prefix" (assoc filter :action-prefix (first v))
+                   "parent"        (assoc filter :parent (UUID/fromString (first v)))
+                   "topic"         (assoc filter :topic (first v))
+                   "partition"     (assoc filter :partitions (into #{} (map #(Long/parseLong %)) v))
+                   (if (.startsWith ^String k "data.")
+                     (assoc-in filter [:fields (f/path (subs k 5))] (query-value (first v)))
+                     filter))))
+             {}
+             query-params))
+
+(defn- partition-offset
+  "Returns the [[topic partition] offset] named by s, of the form
+  topic:partition:offset."
+  [^String s]
+  (let [[topic partition offset :as parts] (string/split s #":")]
+    (when-not (= 3 (count parts))
+      (throw (IllegalArgumentException. (str "Invalid partition offset: " s))))
+    [[topic (Long/parseLong partition)] (Long/parseLong offset)]))
+
+(defn stream-position
+  "Returns the position (see :com.capitalone.commander.database/position)
+  a stream should resume from, given a request's headers and query
+  params, or nil if they give none.  A Last-Event-ID header (sent by
+  reconnecting EventSource clients) or last_event_id param resumes
+  after that id; otherwise after_offset params (topic:partition:offset,
+  which may repeat) resume after those offsets, and a since param
+  (ms) from that timestamp.  Throws IllegalArgumentException if a
+  param is malformed."
+  [headers {:keys [last_event_id after_offset since]}]
+  (let [last-event-id (or (get headers "last-event-id") last_event_id)]
+    (cond
+      (not-empty last-event-id) {:after-id (UUID/fromString last-event-id)}
+      after_offset              {:offsets (into {}
+                                                (map partition-offset)
+                                                (if (sequential? after_offset) after_offset [after_offset]))}
+      since                     {:timestamp (Long/parseLong since)})))
+
+(def cursor-param
+  "Responds 400 if the request's cursor query parameter is given but is
+  not a valid cursor (see com.capitalone.commander.database/decode-cursor)."
+  (before
+   ::cursor-param
+   (fn [{:keys [request] :as context}]
+     (try
+       (some-> request :query-params :cursor not-empty d/decode-cursor)
+       context
+       (catch ExceptionInfo e
+         (assoc context :response {:status  400
+                                   :headers {}
+                                   :body    {:error (.getMessage e)}}))))))
+
+(def stream-params
+  "Parses the stream filter (see query-filter) and resume position (see
+  stream-position) selected by the request into :stream-filter and
+  :stream-from of the request.  Responds 400 if either is malformed."
+  (before
+   ::stream-params
+   (fn [{:keys [request] :as context}]
+     (try
+       (-> context
+           (assoc-in [:request :stream-filter] (query-filter (:query-params request)))
+           (assoc-in [:request :stream-from] (stream-position (:headers request) (:query-params request))))
+       (catch IllegalArgumentException e
+         (assoc context :response {:status  400
+                                   :headers {}
+                                   :body    {:error (.getMessage e)}}))))))
+
+(defn- sse-event
+  "Returns the SSE event for a command or event map: its id as the
+  event id, and as data, its value as recorded to the Log (:action,
+  :data and any :parent), so the data is the same whether the command
+  or event was delivered live or replayed from the index."
+  [event-type event]
+  {:id   (-> event :id str)
+   :name (-> event-type name str)
+   :data (json/generate-string (cond-> (select-keys event [:action :data])
+                                 (:parent event) (assoc :parent (:parent event))))})
 
 (defn sse-xf
+  "Returns a transducer of commands or events to SSE events.  Each is
+  encoded only once for all the subscribers of the fan-out that
+  delivered it (see com.capitalone.commander.fanout/memoized)."
   [event-type user-id]
-  (comp (filter (constantly true)) ;; TODO filter for user-id authorization here
-        (map (fn [event]
-               (log/spy {:id   (-> event :key str)
-                         :name (-> event-type name str)
-                         :data (some-> event :value json/generate-string)})))))
+  ;; TODO filter for user-id authorization here
+  (comp (remove #(instance? Throwable %)) ;; a failed replay ends the stream; the client resumes
+        (map #(fanout/memoized % [::sse event-type] (partial sse-event event-type)))))
+
+(defn- stream-opts
+  "Returns the subscription opts for the stream requested by ctx."
+  [ctx]
+  {:filter (get-in ctx [:request :stream-filter])
+   :from   (get-in ctx [:request :stream-from])})
 
 (defn pipeline-to-sse
-  [ctx event-type src-ch dest-ch]
-  (let [user-id       (get-in ctx [:request :headers "user-id"])
-        last-event-id (get-in ctx [:request :headers "last-event-id"])
-
-        ;; TODO: based on last-event-id (if present), find the next event id
-        start-value   0]
-    (log/debug ::pipeline-to-sse {:src-ch        src-ch
-                                  :dest-ch       dest-ch
-                                  :event-type    event-type
-                                  :user-id       user-id
-                                  :last-event-id last-event-id
-                                  :start-value   start-value})
-    (a/pipeline 10 dest-ch (sse-xf event-type user-id) src-ch)))
+  "Moves the SSE events of each value conveyed by the channel returned
+  from (subscribe ch) onto dest-ch, given ch, a channel transforming
+  values by sse-xf.  Closes dest-ch when the subscription ends, and
+  ends the subscription when dest-ch is closed (i.e. the client has
+  gone away)."
+  [ctx event-type subscribe dest-ch]
+  (let [user-id (get-in ctx [:request :headers "user-id"])
+        src-ch  (subscribe (a/chan 1 (sse-xf event-type user-id)))]
+    (log/debug ::pipeline-to-sse {:src-ch     src-ch
+                                  :dest-ch    dest-ch
+                                  :event-type event-type
+                                  :user-id    user-id
+                                  :from       (get-in ctx [:request :stream-from])})
+    (a/go-loop []
+      (if-some [event (a/<! src-ch)]
+        (if (a/>! dest-ch event)
+          (recur)
+          (a/close! src-ch))
+        (a/close! dest-ch)))))
 
 (defn commands-stream-ready
   "Starts sending user-filtered command updates to client."
   [event-ch ctx]
   (pipeline-to-sse ctx
                    :command
-                   (api/commands-ch (get-in ctx [:request :component :api]))
+                   #(api/commands-ch (get-in ctx [:request :component :api]) % (stream-opts ctx))
                    event-ch))
 
 (defn events-stream-ready
@@ -278,7 +549,7 @@
   [event-ch ctx]
   (pipeline-to-sse ctx
                    :result
-                   (api/events-ch (get-in ctx [:request :component :api]))
+                   #(api/events-ch (get-in ctx [:request :component :api]) % (stream-opts ctx))
                    event-ch))
 
 (defn build-routes
@@ -292,10 +563,14 @@
                                 (papi/validate-response)
                                 (papi/doc {:tags ["commands"]})
                                 authentication-interceptor
-                                ensure-processable]
+                                ensure-processable
+                                cursor-param]
     {:get  all-commands
      :post create-command}
-    ["/updates" {:get [::command-updates (sse/start-event-stream commands-stream-ready)]}]
+    ["/updates" ^:interceptors [stream-params]
+     {:get [::command-updates (sse/start-event-stream commands-stream-ready)]}]
+    ["/stream" {:get stream-all-commands}]
+    ["/batch" {:post create-commands}]
     ["/:id" {:get get-command}]]
    ["/events" ^:interceptors [papi/error-responses
                               (papi/negotiate-response)
@@ -305,17 +580,29 @@
                               (papi/validate-response)
                               (papi/doc {:tags ["events"]})
                               authentication-interceptor
-                              ensure-processable]
+                              ensure-processable
+                              cursor-param]
     {:get  all-events}
-    ["/events/updates" {:get [::event-updates (sse/start-event-stream events-stream-ready)]}]
-
-    ["/:id" {:get get-event}]]])
-
-(defrecord Endpoints [api routes websocket-routes]
+    ["/events/updates" ^:interceptors [stream-params]
+     {:get [::event-updates (sse/start-event-stream events-stream-ready)]}]
+    ["/stream" {:get stream-all-events}]
+
+    ["/:id" {:get get-event}]]
+   ["/metrics" ^:interceptors [papi/error-responses
+                               (papi/negotiate-response)
+                               (papi/validate-response)
+                               (papi/doc {:tags ["metrics"]})]
+    {:get metrics}]])
+
+(defrecord Endpoints [api websocket-config routes websocket-routes]
   component/Lifecycle
-  (start [this] (assoc this :routes (build-routes this)))
-  (stop [this] (dissoc this :routes)))
+  (start [this] (assoc this
+                       :routes           (build-routes this)
+                       :websocket-routes (build-websocket-routes this)))
+  (stop [this] (dissoc this :routes :websocket-routes)))
 
 (defn construct-commander-rest-endpoints
-  []
-  (map->Endpoints {}))
+  ([]
+   (construct-commander-rest-endpoints {}))
+  ([websocket-config]
+   (map->Endpoints {:websocket-config websocket-config})))
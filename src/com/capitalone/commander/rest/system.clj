@@ -26,6 +26,7 @@
             [com.capitalone.commander.grpc :refer [construct-grpc-server]]
             [com.capitalone.commander.database :refer [construct-jdbc-db]]
             [com.capitalone.commander.kafka :refer [construct-producer construct-consumer]]
+            [com.capitalone.commander.codec :refer [->LazyFressianDeserializer]]
             [com.capitalone.commander.api :refer [construct-commander-api]]))
 
 (set! *warn-on-reflection* true)
@@ -39,16 +40,19 @@
   (let [config (meta-merge config base-config)]
     (log/info :msg "Creating system" :config config)
     (-> (component/system-map
-         :rest-endpoints (construct-commander-rest-endpoints)
+         :rest-endpoints (construct-commander-rest-endpoints (:websocket config))
          :grpc-server    (construct-grpc-server (:grpc config))
          :http           (construct-pedestal-server (:http config))
          :routes         (construct-routes)
          :database       (construct-jdbc-db  (:database config))
-         :kafka-consumer (construct-consumer (:kafka-consumer config))
+         ;; the API routes most records by :parent alone, so values
+         ;; are only decoded in full when something reads them
+         :kafka-consumer (construct-consumer (assoc (:kafka-consumer config)
+                                                    :value-deserializer (->LazyFressianDeserializer)))
          :kafka-producer (construct-producer (:kafka-producer config))
          :api            (construct-commander-api (:api config)))
         (component/system-using
-         {:http           [:routes]
+         {:http           [:routes :rest-endpoints]
           :routes         [:rest-endpoints]
           :rest-endpoints [:api]
           :grpc-server    [:api]
@@ -0,0 +1,312 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+(ns com.capitalone.commander.rest.websocket
+  (:require [clojure.core.async :as a]
+            [clojure.data.fressian :as fressian]
+            [cheshire.core :as json]
+            [cognitect.transit :as transit]
+            [io.pedestal.log :as log]
+            [com.capitalone.commander.codec :as codec]
+            [com.capitalone.commander.fanout :as fanout]
+            [com.capitalone.commander.filter :as f])
+  (:import [java.io ByteArrayInputStream ByteArrayOutputStream]
+           [java.nio ByteBuffer]
+           [java.nio.charset StandardCharsets]
+           [java.util Arrays UUID]
+           [org.eclipse.jetty.servlet ServletContextHandler ServletHolder]
+           [org.eclipse.jetty.websocket.api RemoteEndpoint Session WebSocketListener WriteCallback]
+           [org.eclipse.jetty.websocket.servlet ServletUpgradeRequest ServletUpgradeResponse
+            WebSocketCreator WebSocketServlet WebSocketServletFactory]))
+
+(set! *warn-on-reflection* true)
+
+;; A WebSocket stream endpoint conveys commands or events to a client
+;; in the format of the subprotocol negotiated for the connection:
+;;
+;;   - json            text frames
+;;   - transit+json    text frames
+;;   - transit+msgpack binary frames
+;;   - fressian        binary frames
+;;
+;; (json if the client asks for none).  The client sends messages in
+;; the same format to manage any number of subscriptions on the one
+;; connection:
+;;
+;;   {"type": "subscribe", "id": "s1", "filter": {...}, "from": {...}}
+;;   {"type": "unsubscribe", "id": "s1"}
+;;
+;; where filter may give action, action_prefix, parent, topic,
+;; partitions and fields (a map of dot-separated data paths to
+;; values), and from one of after_id, since (ms) or after_offsets
+;; (a list of topic, partition and offset maps).  Each record a
+;; subscription selects is sent as a frame of its own:
+;;
+;;   {"type": "record", "id": "s1", "record": {...}}
+;;
+;; tagged with the id of the subscription, and encoded only once for
+;; all subscriptions with that id using the same format (see
+;; com.capitalone.commander.fanout/memoized).  Replies (subscribed,
+;; unsubscribed and error) likewise carry a "type" and the "id".
+;;
+;; At most :max-pending-frames frames are written to a connection's
+;; socket at a time.  When the socket can't keep up, records back up
+;; into the connection's fan-out queues, where the :overflow policy
+;; governs them; if that policy is :disconnect, the socket is closed
+;; with status 1013 (try again later).
+
+(def defaults
+  {:max-pending-frames 16})
+
+(defn- transit-bytes
+  ^bytes [type v]
+  (let [out (ByteArrayOutputStream. 512)]
+    (transit/write (transit/writer out type) v)
+    (.toByteArray out)))
+
+(defn- utf-8
+  ^String [^bytes bs]
+  (String. bs StandardCharsets/UTF_8))
+
+(def formats
+  "Subprotocol name to the :frame type (:text or :binary) of, and the
+  fns to :encode values to and :decode values from (given bytes), its
+  frames."
+  {"json"            {:frame  :text
+                      :encode json/generate-string
+                      :decode #(json/parse-string (utf-8 %) true)}
+   "transit+json"    {:frame  :text
+                      :encode #(utf-8 (transit-bytes :json %))
+                      :decode #(transit/read (transit/reader (ByteArrayInputStream. %) :json))}
+   "transit+msgpack" {:frame  :binary
+                      :encode #(transit-bytes :msgpack %)
+                      :decode #(transit/read (transit/reader (ByteArrayInputStream. %) :msgpack))}
+   "fressian"        {:frame  :binary
+                      :encode codec/encode
+                      :decode #(fressian/read %)}})
+
+(defn- as-string
+  ^String [x]
+  (if (keyword? x) (subs (str x) 1) (str x)))
+
+(defn- as-uuid
+  [x]
+  (if (uuid? x) x (UUID/fromString (as-string x))))
+
+(defn- keywordize
+  [m]
+  (into {} (map (fn [[k v]] [(keyword (as-string k)) v])) m))
+
+(defn message-filter
+  "Returns the stream filter (see com.capitalone.commander.filter)
+  given by the filter map of a subscribe message."
+  [m]
+  (let [{:keys [action action_prefix parent topic partitions fields]} (keywordize m)]
+    (cond-> {}
+      action           (assoc :action (keyword (as-string action)))
+      action_prefix    (assoc :action-prefix (as-string action_prefix))
+      parent           (assoc :parent (as-uuid parent))
+      topic            (assoc :topic (as-string topic))
+      (seq partitions) (assoc :partitions (into #{} (map long) partitions))
+      (seq fields)     (assoc :fields (into {}
+                                            (map (fn [[k v]] [(f/path (as-string k)) v]))
+                                            fields)))))
+
+(defn message-position
+  "Returns the position (see :com.capitalone.commander.database/position)
+  given by the from map of a subscribe message, or nil if none."
+  [m]
+  (let [{:keys [after_id since after_offsets]} (keywordize m)]
+    (cond
+      after_id      {:after-id (as-uuid after_id)}
+      after_offsets {:offsets (into {}
+                                    (map (fn [o]
+                                           (let [{:keys [topic partition offset]} (keywordize o)]
+                                             [[(as-string topic) (long partition)] (long offset)])))
+                                    after_offsets)}
+      since         {:timestamp (long since)})))
+
+(defn- write-callback
+  "Returns a WriteCallback putting true, or the exception the write
+  failed with, onto ch."
+  [ch]
+  (reify WriteCallback
+    (writeSuccess [_] (a/put! ch true))
+    (writeFailed [_ e] (a/put! ch e))))
+
+(defn- send-frame!
+  [^RemoteEndpoint remote frame data callback]
+  (case frame
+    :text   (.sendString remote ^String data ^WriteCallback callback)
+    :binary (.sendBytes remote (ByteBuffer/wrap ^bytes data) ^WriteCallback callback)))
+
+(defn- frame-data
+  "Returns v, a reply or a record frame, encoded with encode.  A record
+  frame is encoded only once for all subscriptions with the same id
+  using protocol."
+  [protocol encode {:keys [type id record] :as v}]
+  (if (= "record" type)
+    (fanout/memoized record [::frame protocol id] (fn [_] (encode v)))
+    (encode v)))
+
+(defn- send-loop
+  "Sends each value conveyed by out to session as a frame, with at most
+  max-pending-frames writes outstanding, until out closes (then closes
+  session once the outstanding writes complete) or a write fails
+  (then closes out and session)."
+  [^Session session protocol out max-pending-frames]
+  (let [{:keys [frame encode]} (formats protocol)
+        remote                 (.getRemote session)
+        done                   (a/chan max-pending-frames)
+        callback               (write-callback done)
+        fail!                  (fn [msg e]
+                                 (log/warn ::send-loop msg :exception e)
+                                 (a/close! out)
+                                 (.close session))]
+    (a/go-loop [pending 0
+                open?   true]
+      (if (and (not open?) (zero? pending))
+        (when (.isOpen session)
+          (.close session))
+        (let [[v port] (a/alts! (if (and open? (< pending max-pending-frames)) [done out] [done])
+                                :priority true)]
+          (cond
+            (instance? Throwable v)
+            (fail! "Write failed, closing connection" v)
+
+            (= port done)
+            (recur (dec pending) open?)
+
+            (nil? v)
+            (recur pending false)
+
+            :else
+            (if-some [e (try (send-frame! remote frame (frame-data protocol encode v) callback)
+                             nil
+                             (catch Exception e e))]
+              (fail! "Send failed, closing connection" e)
+              (recur (inc pending) open?))))))))
+
+(defn- subscribe!
+  "Subscribes the connection to the records selected by message,
+  replacing any subscription with the same id, and forwards them to
+  out."
+  [{:keys [subscribe stream out subscriptions ^Session session] :as conn} {:keys [id filter from]}]
+  (when-some [ch (get @subscriptions id)]
+    (a/close! ch))
+  (let [ch (subscribe (a/chan)
+                      (assoc stream
+                             :filter        (message-filter filter)
+                             :from          (some-> from message-position)
+                             :on-disconnect #(.close session 1013 "Client fell too far behind the stream")))]
+    (swap! subscriptions assoc id ch)
+    (a/put! out {:type "subscribed" :id id})
+    (a/go-loop []
+      (when-some [v (a/<! ch)]
+        (if (instance? Throwable v)
+          (a/>! out {:type "error" :id id :message (.getMessage ^Throwable v)})
+          (when (a/>! out {:type "record" :id id :record v})
+            (recur)))))))
+
+(defn- unsubscribe!
+  [{:keys [out subscriptions]} {:keys [id]}]
+  (when-some [ch (get @subscriptions id)]
+    (a/close! ch)
+    (swap! subscriptions dissoc id)
+    (a/put! out {:type "unsubscribed" :id id})))
+
+(defn- on-message!
+  [{:keys [protocol out] :as conn} ^bytes bs]
+  (try
+    (let [message ((:decode (formats protocol)) bs)
+          message (update (keywordize message) :id as-string)]
+      (case (as-string (:type message))
+        "subscribe"   (subscribe! conn message)
+        "unsubscribe" (unsubscribe! conn message)
+        (a/put! out {:type "error" :id (:id message) :message "Unknown message type"})))
+    (catch Exception e
+      (log/debug ::on-message! "Invalid message" :exception e)
+      (a/put! out {:type "error" :message (str "Invalid message: " (.getMessage e))}))))
+
+(defn- close-connection!
+  [{:keys [out subscriptions]}]
+  (run! a/close! (vals @subscriptions))
+  (reset! subscriptions {})
+  (a/close! out))
+
+(defn- listener
+  "Returns a WebSocketListener for one connection to endpoint, speaking
+  protocol."
+  [{:keys [subscribe config]} protocol]
+  (let [{:keys [max-pending-frames stream]} (merge defaults (into {} (remove (comp nil? val)) config))
+        conn (atom {:subscribe     subscribe
+                    :stream        (into {} (remove (comp nil? val)) stream)
+                    :protocol      protocol
+                    :out           (a/chan max-pending-frames)
+                    :subscriptions (atom {})})]
+    (reify WebSocketListener
+      (onWebSocketConnect [_ session]
+        (swap! conn assoc :session session)
+        (send-loop session protocol (:out @conn) max-pending-frames))
+      (onWebSocketText [_ message]
+        (on-message! @conn (.getBytes message StandardCharsets/UTF_8)))
+      (onWebSocketBinary [_ payload offset length]
+        (on-message! @conn (Arrays/copyOfRange payload offset (int (+ offset length)))))
+      (onWebSocketClose [_ status reason]
+        (log/debug ::listener "Connection closed" :status status :reason reason)
+        (close-connection! @conn))
+      (onWebSocketError [_ e]
+        (log/warn ::listener "Connection error" :exception e)
+        (close-connection! @conn)))))
+
+(defn- creator
+  "Returns a WebSocketCreator negotiating the connection's subprotocol
+  (the first of the client's that is supported, json if it asks for
+  none) and creating its listener."
+  [endpoint]
+  (reify WebSocketCreator
+    (createWebSocket [_ request response]
+      (let [offered  (.getSubProtocols ^ServletUpgradeRequest request)
+            protocol (if (empty? offered)
+                       "json"
+                       (some #(when (contains? formats %) %) offered))]
+        (if protocol
+          (do (when (seq offered)
+                (.setAcceptedSubProtocol ^ServletUpgradeResponse response protocol))
+              (listener endpoint protocol))
+          (do (.sendForbidden ^ServletUpgradeResponse response "Unsupported subprotocol")
+              nil))))))
+
+(defn stream-endpoint
+  "Returns a stream endpoint whose subscriptions are made by (subscribe
+  ch opts), as com.capitalone.commander.api/commands-ch.  config may
+  give :max-pending-frames and the :stream :buffer-size and :overflow
+  policy of subscriptions (see defaults)."
+  [subscribe config]
+  {:subscribe subscribe
+   :config    config})
+
+(defn add-endpoints
+  "Adds a WebSocket servlet to the servlet context ctx for each path
+  and stream endpoint of ws-routes.  Returns ctx."
+  [^ServletContextHandler ctx ws-routes]
+  (doseq [[^String path endpoint] ws-routes]
+    (let [servlet (proxy [WebSocketServlet] []
+                    (configure [^WebSocketServletFactory factory]
+                      (.setCreator factory (creator endpoint))))]
+      (.addServlet ctx (ServletHolder. ^javax.servlet.Servlet servlet) path)))
+  ctx)
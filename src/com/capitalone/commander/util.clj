@@ -17,7 +17,9 @@
 ;
 
 (ns com.capitalone.commander.util
-  (:require [com.stuartsierra.component :as component]
+  (:require [clojure.core.async :as a]
+            [clojure.core.async.impl.protocols :as impl]
+            [com.stuartsierra.component :as component]
             [io.pedestal.log :as log]
             [com.capitalone.clojure.runtime :as runtime])
   (:import [java.nio ByteBuffer]))
@@ -49,6 +51,36 @@
       (doto buf .mark (.get ary) .reset)
       ary)))
 
+;; A put waiting on a channel is not released when the channel is
+;; closed, so a producer whose consumer closes the channel would wait
+;; forever.  These puts check every closed-poll-ms whether the channel
+;; has closed while they wait.
+(def closed-poll-ms 1000)
+
+(defn >!!-until-closed
+  "Like a/>!!, but stops waiting and returns false if ch is closed
+  while v waits on it."
+  [ch v]
+  (loop []
+    (let [[ok? port] (a/alts!! [[ch v] (a/timeout closed-poll-ms)])]
+      (cond
+        (identical? port ch) ok?
+        (impl/closed? ch)    false
+        :else                (recur)))))
+
+(defmacro >!-until-closed
+  "Like a/>!, and like it usable only in a go block, but stops waiting
+  and returns false if ch is closed while v waits on it."
+  [ch v]
+  `(let [ch# ~ch
+         v#  ~v]
+     (loop []
+       (let [[ok# port#] (a/alts! [[ch# v#] (a/timeout closed-poll-ms)])]
+         (cond
+           (identical? port# ch#) ok#
+           (impl/closed? ch#)     false
+           :else                  (recur))))))
+
 (defn run-system!
   [system]
   (runtime/set-default-uncaught-exception-handler!
@@ -0,0 +1,97 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.codec-test
+  (:require [clojure.test :refer :all]
+            [clojure.data.fressian :as fressian]
+            [com.capitalone.commander.codec :as codec])
+  (:import [java.util Random UUID]))
+
+(defn- lazy-matches-full?
+  "True if the lazy value of bs reads the same as decoding bs in
+  full, routing fields included."
+  [bs]
+  (let [full (fressian/read bs)
+        lazy (codec/lazy-value bs)]
+    (and (= (:action full) (:action lazy))
+         (= (:parent full) (:parent lazy))
+         (= full lazy)
+         (= lazy full))))
+
+(deftest lazy-values-read-as-decoded
+  (let [parent (UUID/randomUUID)
+        item   {:action :line :data {:sku "a" :qty 1}}]
+    (doseq [value [{:action :create-customer :data {:name "x"}}
+                   {:action :customer/created :parent parent :data {}}
+                   {:action "create-customer" :data {}}
+                   {:action 42 :data {}}
+                   {:action nil :parent parent}
+                   {:action [:create] :parent parent}
+                   {:parent "not-a-uuid" :action :created}
+                   {"action" :create :action :created}
+                   {:data {:action :nested :parent parent}}
+                   {:action :order :data {:items (repeat 3 item) :action :inner}}
+                   {}]
+            cache-keys? [false true]]
+      (is (lazy-matches-full? (codec/encode value {:cache-keys? cache-keys?}))
+          (pr-str value :cache-keys? cache-keys?)))))
+
+;; Random values mixing the shapes above: keyword, string and
+;; namespaced keys, nested maps and vectors, and :action and :parent
+;; of every kind, or missing.
+
+(defn- random-scalar
+  [^Random r]
+  (case (.nextInt r 7)
+    0 (.nextInt r)
+    1 (str "s" (.nextInt r 100))
+    2 (keyword (str "k" (.nextInt r 10)))
+    3 (keyword (str "ns" (.nextInt r 3)) (str "k" (.nextInt r 10)))
+    4 (UUID/randomUUID)
+    5 (.nextBoolean r)
+    6 nil))
+
+(defn- random-key
+  [^Random r]
+  (case (.nextInt r 4)
+    0 (str "k" (.nextInt r 10))
+    1 (keyword (str "ns" (.nextInt r 3)) (str "k" (.nextInt r 10)))
+    (keyword (rand-nth [(str "k" (.nextInt r 10)) "action" "parent"]))))
+
+(defn- random-value
+  [^Random r depth]
+  (if (or (zero? depth) (.nextBoolean r))
+    (random-scalar r)
+    (let [n (.nextInt r 6)]
+      (if (.nextBoolean r)
+        (vec (repeatedly n #(random-value r (dec depth))))
+        (into {} (repeatedly n #(vector (random-key r) (random-value r (dec depth)))))))))
+
+(defn- random-record-value
+  [^Random r]
+  (cond-> (into {} (repeatedly (.nextInt r 8) #(vector (random-key r) (random-value r 3))))
+    (.nextBoolean r) (assoc :action (if (.nextBoolean r) (random-key r) (random-scalar r)))
+    (.nextBoolean r) (assoc :parent (if (.nextBoolean r) (UUID/randomUUID) (random-scalar r)))))
+
+(deftest random-lazy-values-read-as-decoded
+  (let [r (Random. 42)]
+    (dotimes [_ 2000]
+      (let [value       (random-record-value r)
+            cache-keys? (.nextBoolean r)]
+        (is (lazy-matches-full? (codec/encode value {:cache-keys? cache-keys?}))
+            (pr-str value :cache-keys? cache-keys?))))))
@@ -0,0 +1,136 @@
+;
+; Copyright 2016 Capital One Services, LLC
+;
+; Licensed under the Apache License, Version 2.0 (the "License")
+; you may not use this file except in compliance with the License.
+; You may obtain a copy of the License at
+;
+;     http://www.apache.org/licenses/LICENSE-2.0
+;
+; Unless required by applicable law or agreed to in writing, software
+; distributed under the License is distributed on an "AS IS" BASIS,
+; WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+; See the License for the specific language governing permissions and limitations under the License.
+;
+; SPDX-Copyright: Copyright (c) Capital One Services, LLC
+; SPDX-License-Identifier: Apache-2.0
+;
+
+(ns com.capitalone.commander.indexer.component.indexer-test
+  (:require [clojure.test :refer :all]
+            [clojure.core.async :as a]
+            [com.stuartsierra.component :as component]
+            [com.capitalone.commander.database :as d]
+            [com.capitalone.commander.executor :as executor]
+            [com.capitalone.commander.indexer.component.indexer :as indexer])
+  (:import [java.sql SQLException]
+           [java.util UUID]
+           [org.apache.kafka.common TopicPartition]))
+
+(def ^:private dispatch-threads
+  "The size of core.async's dispatch pool."
+  (or (Long/getLong "clojure.core.async.pool-size") 8))
+
+(defn- slow-database
+  "Returns a database whose every write blocks for write-ms."
+  [write-ms]
+  (reify d/CommonDataAccess
+    (-find-latest-partition-offset [_ _ _] nil)
+    (-insert-commands-and-events! [_ _ _] (Thread/sleep write-ms) true)
+    (-bulk-insert-commands-and-events! [_ _ _] (Thread/sleep write-ms) true)))
+
+(defn- checked-database
+  "Returns a database that appends the commands and events it writes
+  to the written atom, and rejects events whose parent is not written
+  yet, as the commander table's foreign key does."
+  [written]
+  (let [write! (fn [commands events]
+                 (locking written
+                   (let [ids (into (set (map :id @written)) (map :id) commands)]
+                     (when-not (every? (comp ids :parent) events)
+                       (throw (SQLException. "parent not found" "23503")))
+                     (swap! written into (concat commands events))
+                     true)))]
+    (reify d/CommonDataAccess
+      (-find-latest-partition-offset [_ _ _] nil)
+      (-insert-commands-and-events! [_ commands events] (write! commands events))
+      (-bulk-insert-commands-and-events! [_ commands events] (write! commands events)))))
+
+(defn- command-record
+  [offset]
+  {:topic     "commands"
+   :partition 0
+   :offset    offset
+   :timestamp 0
+   :key       (UUID/randomUUID)
+   :value     {:action :test :data {}}})
+
+(defn- event-record
+  [offset parent]
+  {:topic     "events"
+   :partition 0
+   :offset    offset
+   :timestamp 0
+   :key       (UUID/randomUUID)
+   :value     {:action :tested :data {} :parent parent}})
+
+(deftest database-writes-leave-dispatch-threads-free
+  (testing "with more indexer loops writing at once than there are dispatch threads"
+    (let [loops    (* 2 dispatch-threads)
+          exec     (component/start (executor/construct-executor {:pool-name "indexer-test"
+                                                                  :threads   loops}))
+          database (slow-database 2000)
+          chs      (vec (repeatedly loops a/chan))]
+      (try
+        (doseq [ch chs]
+          (indexer/record-commands-and-events! database "commands" "events" ch
+                                               {:executor   exec
+                                                :batch-size 1
+                                                :batch-ms   1})
+          (a/>!! ch (command-record 0)))
+        (Thread/sleep 200)
+        (is (= loops (:active (executor/executor-metrics exec)))
+            "every write is running")
+        ;; Waiting on a promise rather than a channel: taking from a
+        ;; channel would itself need a free dispatch thread.
+        (let [done (promise)]
+          (a/go (deliver done :ran))
+          (is (= :ran (deref done 500 :timed-out))
+              "an unrelated go block still runs promptly"))
+        (finally
+          (run! a/close! chs)
+          (component/stop exec))))))
+
+(deftest events-wait-for-their-parent-command
+  (testing "with events routed before their parent command"
+    (let [written  (atom [])
+          database (checked-database written)
+          lanes    (atom {})
+          ch       (a/chan 100)
+          opts     {:batch-size 1 :batch-ms 1}
+          command  (command-record 0)
+          events   (mapv #(event-record % (:key command)) (range 10))]
+      (try
+        (doseq [topic ["commands" "events"]]
+          (#'indexer/open-lane! lanes database "commands" "events" opts (TopicPartition. topic 0) 0))
+        (indexer/route-to-lanes ch lanes 10)
+        (a/onto-chan ch (conj events command) false)
+        (let [deadline (+ (System/currentTimeMillis) 5000)]
+          (while (and (< (count @written) 2) (< (System/currentTimeMillis) deadline))
+            (Thread/sleep 10)))
+        (Thread/sleep 500)
+        (let [[first-written & written-events] @written
+              {:keys [next-offset fetch]} (get @lanes ["events" 0])]
+          (is (= (:key command) (:id first-written))
+              "the command is routed and written past the waiting events lane")
+          (is (seq written-events) "the waiting event is written once its parent is")
+          (is (= (range (count written-events)) (map :offset written-events))
+              "events are written in order, without gaps")
+          (is (= (count written-events) @next-offset)
+              "the events lane takes up from its first unwritten event")
+          (is (= :resume @fetch)
+              "the events partition is to be fetched again from there"))
+        (finally
+          (a/close! ch)
+          (doseq [topic ["commands" "events"]]
+            (#'indexer/close-lane! lanes (TopicPartition. topic 0))))))))